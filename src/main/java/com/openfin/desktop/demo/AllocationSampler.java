@@ -0,0 +1,183 @@
+package com.openfin.desktop.demo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Samples heap usage, GC and bytes allocated per thread, and splits the allocation rate between threads of the adapter
+ * and threads of the application, so allocation per message can be measured without attaching a profiler.
+ *
+ * Turned on in PubSubTest, ChannelExample and OpenFinDesktopDemo with
+ *      -Dcom.openfin.demo.allocation.sampler=10        (log every 10 seconds)
+ * Threads whose names match the following pattern are counted as adapter threads
+ *      -Dcom.openfin.demo.allocation.adapterThreads=(WebSocketClient|HttpClient|qtp|Scheduler|OpenFinMsgIn|OpenFinMsgOut|ForkJoinPool).*
+ *
+ * The adapter hands messages from Runtime to its OpenFinMsgIn pool and, unless
+ * com.openfin.desktop.threads.message.out is set, sends them from ForkJoinPool.commonPool.  Listeners registered with
+ * the adapter run on those threads, so allocations of application code in listeners, and of any other application
+ * work on the common pool, are counted as adapter allocations.  Allocations of threads that end between two samples are not counted.
+ * Requires a JVM whose ThreadMXBean supports com.sun.management.ThreadMXBean, such as HotSpot.
+ */
+public class AllocationSampler {
+    private final static Logger logger = LoggerFactory.getLogger(AllocationSampler.class.getName());
+
+    public static final String PROPERTY = "com.openfin.demo.allocation.sampler";
+    private static final String THREAD_NAME = "AllocationSampler";
+
+    private final String name;
+    private final Pattern adapterThreads;
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final AtomicLong messagesReceived = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final Map<Long, Long> lastAllocated = new HashMap<>();
+    private long adapterBytes, applicationBytes;
+    private long lastSampleNanos, lastMessages, lastGcCount;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param name name of the workload, used in the log
+     * @param adapterThreads pattern of names of adapter threads
+     */
+    public AllocationSampler(String name, Pattern adapterThreads) {
+        this.name = name;
+        this.adapterThreads = adapterThreads;
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threadBean.isThreadAllocatedMemoryEnabled()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * Start a sampler if turned on with com.openfin.demo.allocation.sampler
+     *
+     * @param name name of the workload, used in the log
+     * @return the started sampler, or null if it is not turned on or not supported by this JVM
+     */
+    public static AllocationSampler startIfEnabled(String name) {
+        Long interval = Long.getLong(PROPERTY);
+        if (interval == null) {
+            return null;
+        }
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).isThreadAllocatedMemorySupported()) {
+            logger.warn("Per thread allocation is not supported by this JVM, allocation sampler is not started");
+            return null;
+        }
+        String pattern = java.lang.System.getProperty("com.openfin.demo.allocation.adapterThreads",
+                "(WebSocketClient|HttpClient|qtp|Scheduler|OpenFinMsgIn|OpenFinMsgOut|ForkJoinPool).*");
+        AllocationSampler sampler = new AllocationSampler(name, Pattern.compile(pattern));
+        sampler.start(interval);
+        return sampler;
+    }
+
+    /**
+     * Count a message received from Runtime, usually called from DesktopStateListener.onMessage
+     */
+    public void messageReceived() {
+        messagesReceived.incrementAndGet();
+    }
+
+    /**
+     * Count a message sent to Runtime, usually called from DesktopStateListener.onOutgoingMessage
+     */
+    public void messageSent() {
+        messagesSent.incrementAndGet();
+    }
+
+    /**
+     * Add allocations of each thread since the previous sample to the adapter or application totals, and log rates
+     */
+    public synchronized void sample() {
+        long now = java.lang.System.nanoTime();
+        long[] ids = threadBean.getAllThreadIds();
+        long[] allocated = threadBean.getThreadAllocatedBytes(ids);
+        ThreadInfo[] infos = threadBean.getThreadInfo(ids);
+        long adapterDelta = 0, applicationDelta = 0;
+        Map<Long, Long> current = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (infos[i] == null || allocated[i] < 0 || THREAD_NAME.equals(infos[i].getThreadName())) {
+                continue;
+            }
+            current.put(ids[i], allocated[i]);
+            long delta = allocated[i] - lastAllocated.getOrDefault(ids[i], 0L);
+            if (adapterThreads.matcher(infos[i].getThreadName()).matches()) {
+                adapterDelta += delta;
+            } else {
+                applicationDelta += delta;
+            }
+        }
+        lastAllocated.clear();
+        lastAllocated.putAll(current);
+
+        long gcCount = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+        }
+        long messages = messagesReceived.get() + messagesSent.get();
+        if (lastSampleNanos != 0) {
+            adapterBytes += adapterDelta;
+            applicationBytes += applicationDelta;
+            double seconds = (now - lastSampleNanos) / 1e9;
+            long messageDelta = messages - lastMessages;
+            logger.info(String.format("%s allocation adapter=%.1fKB/s application=%.1fKB/s messages=%.1f/s " +
+                            "perMessage=%s heap used=%dKB gc=%d",
+                    name, adapterDelta / 1024.0 / seconds, applicationDelta / 1024.0 / seconds, messageDelta / seconds,
+                    messageDelta > 0 ? String.format("%dB", (adapterDelta + applicationDelta) / messageDelta) : "n/a",
+                    memoryBean.getHeapMemoryUsage().getUsed() / 1024, gcCount - lastGcCount));
+        }
+        lastSampleNanos = now;
+        lastMessages = messages;
+        lastGcCount = gcCount;
+    }
+
+    public synchronized void start(long intervalSeconds) {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, THREAD_NAME);
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleAtFixedRate(this::sample, 0, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * @return bytes allocated by adapter threads since the first sample
+     */
+    public synchronized long getAdapterBytes() {
+        return adapterBytes;
+    }
+
+    /**
+     * @return bytes allocated by application threads since the first sample
+     */
+    public synchronized long getApplicationBytes() {
+        return applicationBytes;
+    }
+
+    public long getMessageCount() {
+        return messagesReceived.get() + messagesSent.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.openfin.desktop.demo;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for reconnect attempts.
+ *
+ * The ceiling starts at initialMillis and doubles on each attempt up to maxMillis; each delay is picked at random
+ * between half the ceiling and the ceiling, so many clients that lose Runtime at the same time do not all reconnect
+ * at the same moment.
+ */
+public class Backoff {
+    private final long initialMillis;
+    private final long maxMillis;
+    private long ceiling;
+    private int attempts;
+
+    /**
+     * @param initialMillis ceiling of the first delay
+     * @param maxMillis maximum ceiling
+     */
+    public Backoff(long initialMillis, long maxMillis) {
+        this.initialMillis = Math.max(1, initialMillis);
+        this.maxMillis = Math.max(this.initialMillis, maxMillis);
+        this.ceiling = this.initialMillis;
+    }
+
+    /**
+     * @return delay before the next attempt
+     */
+    public synchronized long nextDelayMillis() {
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling - ceiling / 2 + 1);
+        ceiling = Math.min(maxMillis, ceiling * 2);
+        attempts++;
+        return delay;
+    }
+
+    /**
+     * Start again from the initial delay, call after a successful attempt
+     */
+    public synchronized void reset() {
+        ceiling = initialMillis;
+        attempts = 0;
+    }
+
+    /**
+     * @return number of delays handed out since the last reset
+     */
+    public synchronized int getAttempts() {
+        return attempts;
+    }
+}
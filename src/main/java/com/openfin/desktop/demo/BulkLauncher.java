@@ -0,0 +1,260 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.Application;
+import com.openfin.desktop.ApplicationOptions;
+import com.openfin.desktop.DesktopConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches a set of applications concurrently, in dependency order.
+ *
+ * An application is started once all applications it depends on are running, and at most parallelism applications
+ * are starting at any time.  If an application fails to start, applications that depend on it are not started.
+ *
+ * <pre>
+ *     new BulkLauncher(desktopConnection, 8, true)
+ *             .add(marketData)
+ *             .add(blotter, marketData.getUUID())
+ *             .launch()
+ *             .thenAccept(BulkLauncher.Result::log);
+ * </pre>
+ */
+public class BulkLauncher {
+    private final static Logger logger = LoggerFactory.getLogger(BulkLauncher.class.getName());
+
+    private final int parallelism;
+    private final Starter starter;
+    private final Map<String, ApplicationOptions> options = new LinkedHashMap<>();
+    private final Map<String, List<String>> dependencies = new LinkedHashMap<>();
+
+    // launch state, guarded by this
+    private final Map<String, Integer> waitingOn = new HashMap<>();
+    private final Map<String, List<String>> dependents = new HashMap<>();
+    private final Deque<String> ready = new ArrayDeque<>();
+    private int starting;
+    private int remaining;
+    private long launchStart;
+    private Result result;
+    private CompletableFuture<Result> future;
+
+    /**
+     * Starts one application
+     */
+    public interface Starter {
+        /**
+         * @return future completed with the application once it counts as running
+         */
+        CompletableFuture<Application> start(ApplicationOptions options);
+    }
+
+    /**
+     * Startup time of each application, and failures
+     */
+    public static class Result {
+        private final Map<String, Application> applications = new LinkedHashMap<>();
+        private final Map<String, Long> startupMillis = new LinkedHashMap<>();
+        private final Map<String, Throwable> failures = new LinkedHashMap<>();
+        private final LatencyHistogram startupTimes = new LatencyHistogram("startup");
+        private long totalMillis;
+
+        public Map<String, Application> getApplications() {
+            return applications;
+        }
+
+        /**
+         * @return time from launch until each application was running, by uuid
+         */
+        public Map<String, Long> getStartupMillis() {
+            return startupMillis;
+        }
+
+        public Map<String, Throwable> getFailures() {
+            return failures;
+        }
+
+        public LatencyHistogram getStartupTimes() {
+            return startupTimes;
+        }
+
+        /**
+         * @return time from launch until the last application was running or had failed
+         */
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public void log() {
+            startupMillis.forEach((uuid, millis) -> logger.info(String.format("%s started after %dms", uuid, millis)));
+            failures.forEach((uuid, error) -> logger.warn(String.format("%s failed: %s", uuid, error.getMessage())));
+            logger.info(String.format("%d applications started, %d failed, total %dms, %s", startupMillis.size(),
+                    failures.size(), totalMillis, startupTimes));
+        }
+    }
+
+    /**
+     * @param desktopConnection connection to Runtime
+     * @param parallelism maximum number of applications starting at the same time
+     * @param checkAppConnected if true an application counts as running once its main window has connected to Runtime,
+     *                          otherwise once it has started
+     */
+    public BulkLauncher(DesktopConnection desktopConnection, int parallelism, boolean checkAppConnected) {
+        this(parallelism, options -> OpenFinFutures.runApplication(options, desktopConnection, checkAppConnected));
+    }
+
+    /**
+     * @param parallelism maximum number of applications starting at the same time
+     * @param starter starts each application
+     */
+    public BulkLauncher(int parallelism, Starter starter) {
+        this.parallelism = Math.max(1, parallelism);
+        this.starter = starter;
+    }
+
+    /**
+     * @param applicationOptions application to launch
+     * @param dependsOn uuids of applications that must be running before this one is started
+     */
+    public BulkLauncher add(ApplicationOptions applicationOptions, String... dependsOn) {
+        options.put(applicationOptions.getUUID(), applicationOptions);
+        dependencies.put(applicationOptions.getUUID(), Arrays.asList(dependsOn));
+        return this;
+    }
+
+    /**
+     * @return uuids in an order where every application comes after its dependencies
+     * @throws IllegalArgumentException if a dependency is unknown or dependencies form a cycle
+     */
+    public List<String> getLaunchOrder() {
+        Map<String, Integer> inDegree = new HashMap<>();
+        Map<String, List<String>> edges = new HashMap<>();
+        dependencies.forEach((uuid, deps) -> {
+            inDegree.putIfAbsent(uuid, 0);
+            for (String dependency : deps) {
+                if (!options.containsKey(dependency)) {
+                    throw new IllegalArgumentException(String.format("%s depends on unknown application %s", uuid, dependency));
+                }
+                edges.computeIfAbsent(dependency, key -> new ArrayList<>()).add(uuid);
+                inDegree.merge(uuid, 1, Integer::sum);
+            }
+        });
+        Deque<String> queue = new ArrayDeque<>();
+        inDegree.forEach((uuid, degree) -> {
+            if (degree == 0) {
+                queue.add(uuid);
+            }
+        });
+        List<String> order = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            String uuid = queue.poll();
+            order.add(uuid);
+            for (String dependent : edges.getOrDefault(uuid, Collections.emptyList())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        if (order.size() < options.size()) {
+            List<String> cycle = new ArrayList<>(options.keySet());
+            cycle.removeAll(order);
+            throw new IllegalArgumentException("dependency cycle between " + cycle);
+        }
+        return order;
+    }
+
+    /**
+     * Launch all applications
+     *
+     * @return future completed when every application is running or has failed
+     * @throws IllegalArgumentException if a dependency is unknown or dependencies form a cycle
+     */
+    public synchronized CompletableFuture<Result> launch() {
+        getLaunchOrder();
+        this.result = new Result();
+        this.future = new CompletableFuture<>();
+        this.launchStart = java.lang.System.nanoTime();
+        this.remaining = options.size();
+        this.starting = 0;
+        waitingOn.clear();
+        dependents.clear();
+        ready.clear();
+        dependencies.forEach((uuid, deps) -> {
+            waitingOn.put(uuid, deps.size());
+            deps.forEach(dependency -> dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(uuid));
+            if (deps.isEmpty()) {
+                ready.add(uuid);
+            }
+        });
+        logger.info(String.format("Launching %d applications with parallelism %d", remaining, parallelism));
+        CompletableFuture<Result> launched = this.future;
+        startReady();
+        return launched;
+    }
+
+    private synchronized void startReady() {
+        while (starting < parallelism && !ready.isEmpty()) {
+            String uuid = ready.poll();
+            starting++;
+            long start = java.lang.System.nanoTime();
+            starter.start(options.get(uuid))
+                    .whenComplete((application, error) -> {
+                        if (error != null) {
+                            failed(uuid, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                        } else {
+                            started(uuid, application, start);
+                        }
+                    });
+        }
+        if (remaining == 0 && !future.isDone()) {
+            result.totalMillis = TimeUnit.NANOSECONDS.toMillis(java.lang.System.nanoTime() - launchStart);
+            future.complete(result);
+        }
+    }
+
+    private synchronized void started(String uuid, Application application, long start) {
+        result.applications.put(uuid, application);
+        result.startupMillis.put(uuid, TimeUnit.NANOSECONDS.toMillis(java.lang.System.nanoTime() - start));
+        result.startupTimes.recordSince(start);
+        starting--;
+        remaining--;
+        for (String dependent : dependents.getOrDefault(uuid, Collections.emptyList())) {
+            if (waitingOn.merge(dependent, -1, Integer::sum) == 0) {
+                ready.add(dependent);
+            }
+        }
+        startReady();
+    }
+
+    private synchronized void failed(String uuid, Throwable error) {
+        starting--;
+        skip(uuid, error);
+        startReady();
+    }
+
+    /**
+     * Record a failure and skip everything that depends on the application, directly or not
+     */
+    private void skip(String uuid, Throwable error) {
+        if (result.failures.containsKey(uuid)) {
+            return;
+        }
+        result.failures.put(uuid, error);
+        remaining--;
+        for (String dependent : dependents.getOrDefault(uuid, Collections.emptyList())) {
+            skip(dependent, new IllegalStateException(String.format("not started, %s failed", uuid)));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.DesktopConnection;
+import com.openfin.desktop.channel.ChannelClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Shared, reference-counted channel clients per DesktopConnection.
+ *
+ * Components that talk to the same channel provider (e.g. every LayoutFrame talking to the layout service) acquire the
+ * client from here instead of calling getChannel(name).connect themselves, so a process with many windows holds one
+ * channel client per provider.  The client is disconnected when the last reference is released.
+ *
+ * The provider sees all holders of a shared client as one client, so a holder that needs to be told apart, such as the
+ * window a layout service request is about, has to say who it is in the payload.  Clients are kept only while acquired:
+ * getInstance doesn't keep anything for a connection, and nothing is left for it once all its clients are released.
+ */
+public class ChannelClientRegistry {
+    private final static Logger logger = LoggerFactory.getLogger(ChannelClientRegistry.class.getName());
+
+    // acquired clients of each connection by channel name, all registries of a connection share them
+    private static final Map<DesktopConnection, Map<String, Entry>> connections = new HashMap<>();
+
+    private static final AtomicLong connectCount = new AtomicLong();
+
+    private final DesktopConnection desktopConnection;
+
+    private static class Entry {
+        CompletableFuture<ChannelClient> client;
+        int references;
+    }
+
+    private ChannelClientRegistry(DesktopConnection desktopConnection) {
+        this.desktopConnection = desktopConnection;
+    }
+
+    /**
+     * @return registry of the channel clients of a connection
+     */
+    public static ChannelClientRegistry getInstance(DesktopConnection desktopConnection) {
+        return new ChannelClientRegistry(desktopConnection);
+    }
+
+    /**
+     * Get the shared client for a channel, connecting if this is the first reference.  Every call must be paired with
+     * a call to release.
+     *
+     * @param channelName name of the channel
+     * @return client shared by all holders of the channel
+     */
+    public CompletionStage<ChannelClient> acquire(String channelName) {
+        return acquire(channelName, null);
+    }
+
+    /**
+     * Get the shared client for a channel, connecting if this is the first reference.  Every call must be paired with
+     * a call to release.
+     *
+     * @param channelName name of the channel
+     * @param onConnect called once with a newly connected client before it is handed out, to register the actions the
+     *                  provider dispatches to the client.  Only the onConnect of the call that connects is used.
+     * @return client shared by all holders of the channel
+     */
+    public CompletionStage<ChannelClient> acquire(String channelName, Consumer<ChannelClient> onConnect) {
+        CompletableFuture<ChannelClient> future;
+        boolean connect = false;
+        synchronized (connections) {
+            Entry entry = connections.computeIfAbsent(desktopConnection, key -> new HashMap<>())
+                    .computeIfAbsent(channelName, key -> new Entry());
+            // a failed connect is tried again, holders of the failed client still hold a reference
+            if (entry.client == null || entry.client.isCompletedExceptionally()) {
+                entry.client = new CompletableFuture<>();
+                connect = true;
+            }
+            entry.references++;
+            future = entry.client;
+        }
+        if (connect) {
+            connect(channelName, future, onConnect);
+        }
+        return future;
+    }
+
+    private void connect(String channelName, CompletableFuture<ChannelClient> future, Consumer<ChannelClient> onConnect) {
+        connectCount.incrementAndGet();
+        logger.debug(String.format("connecting shared channel client %s", channelName));
+        desktopConnection.getChannel(channelName).connectAsync().whenComplete((client, ex) -> {
+            if (ex != null) {
+                logger.error(String.format("Error connecting channel %s", channelName), ex);
+                future.completeExceptionally(ex);
+                return;
+            }
+            try {
+                if (onConnect != null) {
+                    onConnect.accept(client);
+                }
+                future.complete(client);
+            } catch (RuntimeException e) {
+                logger.error(String.format("Error setting up channel client %s", channelName), e);
+                client.disconnect(null);
+                future.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Release one reference to the shared client, disconnecting it when no references are left
+     *
+     * @param channelName name of the channel
+     */
+    public void release(String channelName) {
+        CompletableFuture<ChannelClient> future;
+        synchronized (connections) {
+            Map<String, Entry> entries = connections.get(desktopConnection);
+            Entry entry = entries != null ? entries.get(channelName) : null;
+            if (entry == null || --entry.references > 0) {
+                return;
+            }
+            entries.remove(channelName);
+            if (entries.isEmpty()) {
+                connections.remove(desktopConnection);
+            }
+            future = entry.client;
+        }
+        future.thenAccept(client -> {
+            logger.debug(String.format("disconnecting shared channel client %s", channelName));
+            client.disconnect(null);
+        });
+    }
+
+    /**
+     * @return number of connections with clients acquired
+     */
+    public static int getRegistryCount() {
+        synchronized (connections) {
+            return connections.size();
+        }
+    }
+
+    public int getReferenceCount(String channelName) {
+        synchronized (connections) {
+            Map<String, Entry> entries = connections.get(desktopConnection);
+            Entry entry = entries != null ? entries.get(channelName) : null;
+            return entry != null ? entry.references : 0;
+        }
+    }
+
+    /**
+     * @return number of channel connects made by all registries
+     */
+    public static long getConnectCount() {
+        return connectCount.get();
+    }
+}
@@ -0,0 +1,183 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.channel.ChannelClientConnectEvent;
+import com.openfin.desktop.channel.ChannelProviderListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission pipeline for channel client connections.
+ *
+ * Wraps a ChannelProviderListener whose onClientConnect does the actual validation (throwing rejects the client, same as
+ * a plain listener) and runs that validation on a pool of configurable parallelism.  The adapter still needs a synchronous
+ * accept/reject, so each connect waits for its own validation, but a burst of connects (e.g. a workspace restore
+ * reconnecting 100+ windows) is validated concurrently instead of one after another.  Connects beyond maxPending are
+ * rejected immediately rather than queued, and validations that take longer than the timeout are rejected.
+ *
+ * The adapter calls onClientConnect on its inbound message threads and waits for it to return, and there is one such
+ * thread unless -Dcom.openfin.desktop.threads.message.in says otherwise.  With one thread connects still arrive one at
+ * a time, so neither the parallelism nor maxPending ever comes into play.  Create the provider's DesktopConnection with
+ * withInboundThreads and at least the parallelism.  More than one inbound thread means messages of that connection can
+ * be handled out of order, so the provider should have a connection of its own; withInboundThreads restores the
+ * property so connections created later keep handling their messages in order.
+ *
+ * onClientDisconnect is passed straight through to the delegate.
+ */
+public class ChannelConnectAdmission implements ChannelProviderListener {
+    private final static Logger logger = LoggerFactory.getLogger(ChannelConnectAdmission.class.getName());
+
+    /**
+     * Adapter property with the number of threads that handle inbound messages, read when a DesktopConnection is created
+     */
+    public static final String INBOUND_THREADS_PROPERTY = "com.openfin.desktop.threads.message.in";
+
+    private final ChannelProviderListener delegate;
+    private final ExecutorService validationPool;
+    private final Semaphore pending;
+    private final long timeoutMillis;
+
+    private final LatencyHistogram connectLatency = new LatencyHistogram("channel-connect");
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    /**
+     * @param delegate listener that validates connects and handles disconnects
+     * @param parallelism number of connect validations that can run at the same time
+     * @param maxPending maximum number of connects waiting or being validated, extra connects are rejected
+     * @param timeoutMillis maximum time for a single validation
+     */
+    public ChannelConnectAdmission(ChannelProviderListener delegate, int parallelism, int maxPending, long timeoutMillis) {
+        this.delegate = delegate;
+        this.pending = new Semaphore(maxPending);
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.validationPool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "ChannelConnectAdmission-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Create a DesktopConnection whose adapter handles up to threads inbound messages, and so connects, at the same
+     * time.  The adapter reads the property when a DesktopConnection is created, so it is raised only while create runs
+     * and restored afterwards.  Never lowers a count set on the command line.
+     *
+     * <pre>
+     *     DesktopConnection providerConnection = ChannelConnectAdmission.withInboundThreads(8,
+     *             () -&gt; new DesktopConnection("provider"));
+     * </pre>
+     *
+     * @param threads number of inbound message threads
+     * @param create creates the connection
+     * @return whatever create returns
+     */
+    public static synchronized <T> T withInboundThreads(int threads, Callable<T> create) throws Exception {
+        String previous = java.lang.System.getProperty(INBOUND_THREADS_PROPERTY);
+        if (getInboundThreads() < threads) {
+            java.lang.System.setProperty(INBOUND_THREADS_PROPERTY, String.valueOf(threads));
+        }
+        try {
+            return create.call();
+        } finally {
+            if (previous == null) {
+                java.lang.System.clearProperty(INBOUND_THREADS_PROPERTY);
+            } else {
+                java.lang.System.setProperty(INBOUND_THREADS_PROPERTY, previous);
+            }
+        }
+    }
+
+    /**
+     * @return number of inbound message threads of DesktopConnections created now
+     */
+    public static int getInboundThreads() {
+        return Integer.getInteger(INBOUND_THREADS_PROPERTY, 1);
+    }
+
+    @Override
+    public void onClientConnect(ChannelClientConnectEvent connectionEvent) throws Exception {
+        long start = java.lang.System.nanoTime();
+        if (!pending.tryAcquire()) {
+            shed.incrementAndGet();
+            rejected.incrementAndGet();
+            logger.warn(String.format("rejecting connect from %s, too many pending connects", connectionEvent.getUuid()));
+            throw new Exception("too many pending connects");
+        }
+        try {
+            Future<?> validation = validationPool.submit(() -> {
+                delegate.onClientConnect(connectionEvent);
+                return null;
+            });
+            try {
+                validation.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                admitted.incrementAndGet();
+            } catch (TimeoutException e) {
+                validation.cancel(true);
+                timedOut.incrementAndGet();
+                rejected.incrementAndGet();
+                throw new Exception("connect validation timed out");
+            } catch (ExecutionException e) {
+                rejected.incrementAndGet();
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : new Exception(cause);
+            }
+        } finally {
+            pending.release();
+            connectLatency.recordSince(start);
+        }
+    }
+
+    @Override
+    public void onClientDisconnect(ChannelClientConnectEvent connectionEvent) {
+        delegate.onClientDisconnect(connectionEvent);
+    }
+
+    public LatencyHistogram getConnectLatency() {
+        return connectLatency;
+    }
+
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * @return number of connects rejected because maxPending was reached, included in getRejectedCount
+     */
+    public long getShedCount() {
+        return shed.get();
+    }
+
+    /**
+     * @return number of connects rejected because validation timed out, included in getRejectedCount
+     */
+    public long getTimedOutCount() {
+        return timedOut.get();
+    }
+
+    public String getStats() {
+        return String.format("admitted=%d rejected=%d shed=%d timedOut=%d %s", getAdmittedCount(), getRejectedCount(),
+                getShedCount(), getTimedOutCount(), connectLatency);
+    }
+
+    public void shutdown() {
+        validationPool.shutdownNow();
+    }
+}
@@ -2,6 +2,7 @@ package com.openfin.desktop.demo;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import com.openfin.desktop.channel.*;
 import org.json.JSONObject;
@@ -12,31 +13,74 @@ import com.openfin.desktop.Ack;
 import com.openfin.desktop.AckListener;
 import com.openfin.desktop.AsyncCallback;
 import com.openfin.desktop.DesktopConnection;
-import com.openfin.desktop.DesktopException;
 import com.openfin.desktop.DesktopStateListener;
 import com.openfin.desktop.RuntimeConfiguration;
 
-public class ChannelExample implements DesktopStateListener {
+/**
+ * Example of Channel API, can be run as channel provider, client or both
+ *
+ *  1. to specify version OpenFin Runtime
+ *      -Dcom.openfin.demo.runtime.version=stable
+ *  2. to specify number of client connects the provider validates in parallel.  Connects reach the provider on the
+ *     adapter's inbound message threads, so the provider runs on a DesktopConnection of its own with that many of
+ *     them.  Messages of that connection can then be handled out of order, which the provider's actions, stream credits
+ *     included, don't depend on.  The client keeps a connection with one inbound thread, so it gets stream chunks and
+ *     channel events in the order they were sent.
+ *      -Dcom.openfin.demo.channel.connect.parallelism=4
+ *  3. to specify number of pending client connects before new ones are rejected
+ *      -Dcom.openfin.demo.channel.connect.maxPending=500
+ *  4. to specify timeout in milliseconds for validating a client connect
+ *      -Dcom.openfin.demo.channel.connect.timeout=5000
+ *  5. to specify threshold in milliseconds for logging slow channel actions
+ *      -Dcom.openfin.demo.channel.slowAction=100
+ *  6. to log allocation rate of adapter and application threads, and allocation per message, every 10 seconds
+ *      -Dcom.openfin.demo.allocation.sampler=10
+ *
+ * The client's connection is kept by a WarmConnectionManager, which reconnects, and connects the channel client
+ * again, if the connection is lost before the client is done.
+ */
+public class ChannelExample {
 
     private static Logger logger = LoggerFactory.getLogger(ChannelExample.class.getName());
     private static CountDownLatch latch = new CountDownLatch(1);
     private static String CHANNEL_NAME="ChannelExample";
 
-    private DesktopConnection desktopConnection;
+    private WarmConnectionManager clientConnectionManager;
+    private DesktopConnection providerConnection;
 
     private static String channelType;  // client or provider, if not set, both
 
+    private ChannelConnectAdmission connectAdmission;
+    private final int connectParallelism = Integer.getInteger("com.openfin.demo.channel.connect.parallelism", 4);
+    private final int connectMaxPending = Integer.getInteger("com.openfin.demo.channel.connect.maxPending", 500);
+    private final long connectTimeout = Long.getLong("com.openfin.demo.channel.connect.timeout", 5000L);
+
+    private final ChannelMiddlewares.TimingInterceptor actionTiming = new ChannelMiddlewares.TimingInterceptor();
+    private final ChannelMiddlewares.PayloadSizeInterceptor payloadSizes = new ChannelMiddlewares.PayloadSizeInterceptor();
+    private final long slowActionThreshold = Long.getLong("com.openfin.demo.channel.slowAction", 100L);
+
+    private final AllocationSampler allocationSampler = AllocationSampler.startIfEnabled("ChannelExample");
+
     public ChannelExample() {
         try {
-            StringBuilder sb = new StringBuilder("ChannelExample");
-            if (channelType != null) {
-                sb.append(channelType);
-            }
-            desktopConnection = new DesktopConnection(sb.toString());
             String desktopVersion = java.lang.System.getProperty("com.openfin.demo.runtime.version", "stable");
             RuntimeConfiguration configuration = new RuntimeConfiguration();
             configuration.setRuntimeVersion(desktopVersion);
-            desktopConnection.connect(configuration, this, 60);
+            if (!"client".equals(channelType)) {
+                // connects are validated on the adapter's inbound threads, one unless raised for this connection
+                providerConnection = ChannelConnectAdmission.withInboundThreads(connectParallelism,
+                        () -> new DesktopConnection("ChannelExampleprovider"));
+                providerConnection.connect(configuration, new ConnectionListener(this::createChannelProvider), 60);
+            }
+            if (!"provider".equals(channelType)) {
+                clientConnectionManager = new WarmConnectionManager("ChannelExampleclient", configuration);
+                clientConnectionManager.addReadyListener(this::createChannelClient);
+                if (allocationSampler != null) {
+                    clientConnectionManager.addMessageListener(message -> allocationSampler.messageReceived(),
+                            message -> allocationSampler.messageSent());
+                }
+                clientConnectionManager.start();
+            }
         }
         catch (Exception ex) {
             logger.error("Error launching Runtime", ex);
@@ -49,8 +93,9 @@ public class ChannelExample implements DesktopStateListener {
     public void createChannelProvider() {
 
         // Create the channel provider.
-        desktopConnection.getChannel(CHANNEL_NAME).createAsync().thenAccept(provider -> {
-            provider.addProviderListener(new ChannelProviderListener() {
+        providerConnection.getChannel(CHANNEL_NAME).createAsync().thenAccept(provider -> {
+            // Connects are validated through an admission pipeline so a burst of reconnecting clients is handled in parallel.
+            provider.addProviderListener(this.connectAdmission = new ChannelConnectAdmission(new ChannelProviderListener() {
 
                 // Create the onChannelConnect event handler.
                 @Override
@@ -77,8 +122,20 @@ public class ChannelExample implements DesktopStateListener {
 
                     // Add a line to the log file identifying the UUID of the caller.
                     logger.info(String.format("provider receives channel disconnect event from %s ", connectionEvent.getUuid()));
+                    logger.info(String.format("client connect stats %s", connectAdmission.getStats()));
+                    actionTiming.logSummary();
+                    payloadSizes.logSummary();
                 }
-            });
+            }, connectParallelism, connectMaxPending, connectTimeout));
+
+            // Time every action, keep payload sizes for a sample of calls and log the slow ones.
+            // Actions are registered through middleware.wrap so a failed action's exception reaches the interceptors.
+            ChannelMiddlewareChain middleware = new ChannelMiddlewareChain()
+                    .add(new JfrEvents.ChannelInvokeInterceptor())
+                    .add(actionTiming)
+                    .add(new ChannelMiddlewares.SamplingInterceptor(payloadSizes, 10))
+                    .add(new ChannelMiddlewares.SlowCallInterceptor(slowActionThreshold))
+                    .install(provider);
 
             // The provider was created. Now to register the actions.
             // ------------------------------------------------------
@@ -88,7 +145,7 @@ public class ChannelExample implements DesktopStateListener {
 
             // Register the "getValue" action.
             // This action will return the value of the localInteger variable.
-            provider.register("getValue", new ChannelAction() {
+            provider.register("getValue", middleware.wrap(new ChannelAction() {
 
                 // This is the logic for the "getValue" action.
                 @Override
@@ -106,11 +163,11 @@ public class ChannelExample implements DesktopStateListener {
                     // Return the JSON object to the channel client.
                     return obj;
                 }
-            });
+            }));
 
             // Register the "increment" action.
             // This action will increment the value of the localInteger variable by one.
-            provider.register("increment", new ChannelAction() {
+            provider.register("increment", middleware.wrap(new ChannelAction() {
 
                 // This is the logic for the "increment" action.
                 @Override
@@ -129,11 +186,11 @@ public class ChannelExample implements DesktopStateListener {
                     // Return the JSON object to the channel client.
                     return obj;
                 }
-            });
+            }));
 
             // Register the "incrementBy" action.
             // This action will increment the value of the localInteger variable by a specified amount.
-            provider.register("incrementBy", new ChannelAction() {
+            provider.register("incrementBy", middleware.wrap(new ChannelAction() {
 
                 // This is the logic for the "incrementBy" action.
                 @Override
@@ -154,14 +211,27 @@ public class ChannelExample implements DesktopStateListener {
                     // Return the new JSON object to the channel client.
                     return obj;
                 }
+            }));
+
+            // Register the "history" streaming action.
+            // This action streams "count" rows back to the client in chunks instead of one large result.
+            new ChannelStreamProvider(provider, 100).register("history", (payload, senderIdentity) -> {
+                int count = ((JSONObject) payload).getInt("count");
+                return IntStream.range(0, count).mapToObj(i -> {
+                    JSONObject row = new JSONObject();
+                    row.put("seq", i);
+                    row.put("value", localInteger.get());
+                    return row;
+                }).iterator();
             });
         });
     }
 
     /**
-     * Create a channel client that invokes "getValue", "increment" and "incrementBy n" actions
+     * Create a channel client that invokes "getValue", "increment" and "incrementBy n" actions, then reads the
+     * "history" stream
      */
-    public void createChannelClient() {
+    public void createChannelClient(DesktopConnection desktopConnection) {
         JSONObject payload = new JSONObject();
         payload.put("name", "java example");
         desktopConnection.getChannel(CHANNEL_NAME).connectAsync(false, payload).thenAccept(client -> {
@@ -201,11 +271,12 @@ public class ChannelExample implements DesktopStateListener {
                                 public void onSuccess(Ack ack) {
                                     logger.info("after invoking incrementBy, value={}", ack.getJsonObject().getJSONObject("data").getJSONObject("result").getInt("value"));
 
-                                    try {
-                                        desktopConnection.disconnect();
-                                    } catch (DesktopException e) {
-                                        e.printStackTrace();
-                                    }
+                                    // reading a stream blocks, so don't do it on the adapter thread
+                                    new Thread(() -> {
+                                        readHistory(client);
+                                        clientConnectionManager.stop();
+                                        latch.countDown();
+                                    }).start();
                                 }
 
                                 @Override
@@ -227,35 +298,59 @@ public class ChannelExample implements DesktopStateListener {
         });
     }
 
-    @Override
-    public void onReady() {
-        if ("provider".equals(channelType) || channelType == null) {
-            createChannelProvider();
-        }
-        if ("client".equals(channelType) || channelType == null) {
-            createChannelClient();
+    private void readHistory(ChannelClient client) {
+        JSONObject payload = new JSONObject();
+        payload.put("count", 10000);
+        long start = java.lang.System.currentTimeMillis();
+        long first = 0;
+        int rows = 0;
+        ChannelStreamClient.Stream history = new ChannelStreamClient(client).open("history", payload, 4);
+        while (history.hasNext()) {
+            history.next();
+            if (rows++ == 0) {
+                first = java.lang.System.currentTimeMillis() - start;
+            }
         }
+        logger.info("streamed {} rows, first row after {}ms, all rows after {}ms", rows, first,
+                java.lang.System.currentTimeMillis() - start);
     }
 
-    @Override
-    public void onClose(String error) {
-        logger.info("onClose, value={}", error);
-        latch.countDown();
-    }
+    private class ConnectionListener implements DesktopStateListener {
+        private final Runnable onReady;
 
-    @Override
-    public void onError(String reason) {
-        logger.info("onError, value={}", reason);
-    }
+        ConnectionListener(Runnable onReady) {
+            this.onReady = onReady;
+        }
 
-    @Override
-    public void onMessage(String message) {
+        @Override
+        public void onReady() {
+            onReady.run();
+        }
 
-    }
+        @Override
+        public void onClose(String error) {
+            logger.info("onClose, value={}", error);
+            latch.countDown();
+        }
 
-    @Override
-    public void onOutgoingMessage(String message) {
+        @Override
+        public void onError(String reason) {
+            logger.info("onError, value={}", reason);
+        }
+
+        @Override
+        public void onMessage(String message) {
+            if (allocationSampler != null) {
+                allocationSampler.messageReceived();
+            }
+        }
 
+        @Override
+        public void onOutgoingMessage(String message) {
+            if (allocationSampler != null) {
+                allocationSampler.messageSent();
+            }
+        }
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,145 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.channel.ChannelAction;
+import com.openfin.desktop.channel.ChannelBase;
+import com.openfin.desktop.channel.Middleware;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Composable middleware for channel providers and clients.
+ *
+ * ChannelBase only takes a single before-action, after-action and on-error Middleware.  This chain installs itself in
+ * those three slots and runs any number of interceptors: beforeAction in the order they were added, afterAction and
+ * onError in reverse order.  The chain times every action and passes the elapsed time to afterAction and onError, so
+ * interceptors can measure without keeping their own per-call state.
+ *
+ * The on-error Middleware of ChannelBase is called with the payload of the failed action, the exception is only
+ * printed.  Actions registered through wrap hand their exception to the chain, so onError gets it as well.
+ *
+ * Installing a chain replaces any before-action, after-action or on-error Middleware already set on the endpoint.
+ * See ChannelMiddlewares for built-in interceptors.
+ */
+public class ChannelMiddlewareChain {
+
+    /**
+     * Interceptor of channel actions.  All methods are called on the thread that invokes the action.
+     */
+    public interface Interceptor {
+        /**
+         * @return payload to pass on to the next interceptor and finally the action
+         */
+        default Object beforeAction(String action, Object payload, JSONObject senderIdentity) {
+            return payload;
+        }
+
+        /**
+         * @return result to pass on to the next interceptor and finally the caller
+         */
+        default Object afterAction(String action, Object result, JSONObject senderIdentity, long elapsedNanos) {
+            return result;
+        }
+
+        /**
+         * @param payload payload of the failed action, as passed on by beforeAction
+         * @param error exception thrown by the action, null if the action was not registered through wrap or it was
+         *              afterAction that failed
+         */
+        default void onError(String action, Object payload, Exception error, JSONObject senderIdentity, long elapsedNanos) {
+        }
+    }
+
+    private final List<Interceptor> interceptors = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<long[]> startTime = ThreadLocal.withInitial(() -> new long[1]);
+    private final ThreadLocal<Exception> actionError = new ThreadLocal<>();
+
+    public ChannelMiddlewareChain add(Interceptor interceptor) {
+        this.interceptors.add(interceptor);
+        return this;
+    }
+
+    public boolean remove(Interceptor interceptor) {
+        return this.interceptors.remove(interceptor);
+    }
+
+    /**
+     * Wrap an action so the exception it throws reaches the onError of interceptors.  The exception is rethrown, the
+     * endpoint handles it as before.
+     *
+     * <pre>
+     *     provider.register("getValue", chain.wrap(getValueAction));
+     * </pre>
+     */
+    public ChannelAction wrap(ChannelAction action) {
+        return new ChannelAction() {
+            @Override
+            public Object invoke(String name, Object payload, JSONObject senderIdentity) {
+                try {
+                    return action.invoke(name, payload, senderIdentity);
+                } catch (RuntimeException e) {
+                    actionError.set(e);
+                    throw e;
+                }
+            }
+        };
+    }
+
+    /**
+     * Install this chain on a channel provider or client
+     *
+     * @param endpoint ChannelProvider or ChannelClient
+     * @return this chain
+     */
+    public ChannelMiddlewareChain install(ChannelBase endpoint) {
+        endpoint.setBeforeAction(new Middleware() {
+            @Override
+            public Object invoke(String action, Object payload, JSONObject senderIdentity) {
+                return before(action, payload, senderIdentity);
+            }
+        });
+        endpoint.setAfterAction(new Middleware() {
+            @Override
+            public Object invoke(String action, Object result, JSONObject senderIdentity) {
+                return after(action, result, senderIdentity);
+            }
+        });
+        endpoint.setOnError(new Middleware() {
+            @Override
+            public Object invoke(String action, Object payload, JSONObject senderIdentity) {
+                error(action, payload, senderIdentity);
+                return null;
+            }
+        });
+        return this;
+    }
+
+    private Object before(String action, Object payload, JSONObject senderIdentity) {
+        startTime.get()[0] = java.lang.System.nanoTime();
+        actionError.remove();
+        for (Interceptor interceptor : this.interceptors) {
+            payload = interceptor.beforeAction(action, payload, senderIdentity);
+        }
+        return payload;
+    }
+
+    private Object after(String action, Object result, JSONObject senderIdentity) {
+        long elapsed = java.lang.System.nanoTime() - startTime.get()[0];
+        Interceptor[] snapshot = this.interceptors.toArray(new Interceptor[0]);
+        for (int i = snapshot.length - 1; i >= 0; i--) {
+            result = snapshot[i].afterAction(action, result, senderIdentity, elapsed);
+        }
+        return result;
+    }
+
+    private void error(String action, Object payload, JSONObject senderIdentity) {
+        long elapsed = java.lang.System.nanoTime() - startTime.get()[0];
+        Exception error = actionError.get();
+        actionError.remove();
+        Interceptor[] snapshot = this.interceptors.toArray(new Interceptor[0]);
+        for (int i = snapshot.length - 1; i >= 0; i--) {
+            snapshot[i].onError(action, payload, error, senderIdentity, elapsed);
+        }
+    }
+}
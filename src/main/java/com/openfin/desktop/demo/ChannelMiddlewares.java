@@ -0,0 +1,188 @@
+package com.openfin.desktop.demo;
+
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Built-in interceptors for ChannelMiddlewareChain
+ *
+ * <pre>
+ *     TimingInterceptor timing = new TimingInterceptor();
+ *     new ChannelMiddlewareChain()
+ *             .add(timing)
+ *             .add(new SamplingInterceptor(new PayloadSizeInterceptor(), 10))
+ *             .add(new SlowCallInterceptor(100))
+ *             .install(provider);
+ * </pre>
+ */
+public class ChannelMiddlewares {
+    private final static Logger logger = LoggerFactory.getLogger(ChannelMiddlewares.class.getName());
+
+    private ChannelMiddlewares() {
+    }
+
+    /**
+     * Latency histogram per action
+     */
+    public static class TimingInterceptor implements ChannelMiddlewareChain.Interceptor {
+        private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+        private final LatencyHistogram errors = new LatencyHistogram("errors");
+
+        @Override
+        public Object afterAction(String action, Object result, JSONObject senderIdentity, long elapsedNanos) {
+            getHistogram(action).record(elapsedNanos);
+            return result;
+        }
+
+        @Override
+        public void onError(String action, Object payload, Exception error, JSONObject senderIdentity, long elapsedNanos) {
+            errors.record(elapsedNanos);
+        }
+
+        public LatencyHistogram getHistogram(String action) {
+            return histograms.computeIfAbsent(action, LatencyHistogram::new);
+        }
+
+        public Map<String, LatencyHistogram> getHistograms() {
+            return histograms;
+        }
+
+        public LatencyHistogram getErrors() {
+            return errors;
+        }
+
+        public void logSummary() {
+            histograms.values().forEach(histogram -> logger.info(histogram.toString()));
+            if (errors.getCount() > 0) {
+                logger.info(errors.toString());
+            }
+        }
+    }
+
+    /**
+     * Size of payloads and results per action, measured as length of their serialized JSON
+     */
+    public static class PayloadSizeInterceptor implements ChannelMiddlewareChain.Interceptor {
+        private final Map<String, AtomicLong[]> sizes = new ConcurrentHashMap<>();  // calls, payload chars, result chars
+
+        @Override
+        public Object beforeAction(String action, Object payload, JSONObject senderIdentity) {
+            AtomicLong[] counters = getCounters(action);
+            counters[0].incrementAndGet();
+            counters[1].addAndGet(sizeOf(payload));
+            return payload;
+        }
+
+        @Override
+        public Object afterAction(String action, Object result, JSONObject senderIdentity, long elapsedNanos) {
+            getCounters(action)[2].addAndGet(sizeOf(result));
+            return result;
+        }
+
+        private AtomicLong[] getCounters(String action) {
+            return sizes.computeIfAbsent(action, key -> new AtomicLong[] { new AtomicLong(), new AtomicLong(), new AtomicLong() });
+        }
+
+        private long sizeOf(Object value) {
+            return value != null ? value.toString().length() : 0;
+        }
+
+        public long getPayloadSize(String action) {
+            AtomicLong[] counters = sizes.get(action);
+            return counters != null ? counters[1].get() : 0;
+        }
+
+        public long getResultSize(String action) {
+            AtomicLong[] counters = sizes.get(action);
+            return counters != null ? counters[2].get() : 0;
+        }
+
+        public void logSummary() {
+            sizes.forEach((action, counters) -> logger.info(String.format("%s calls=%d payload=%d result=%d",
+                    action, counters[0].get(), counters[1].get(), counters[2].get())));
+        }
+    }
+
+    /**
+     * Log actions, and errors, that take longer than a threshold
+     */
+    public static class SlowCallInterceptor implements ChannelMiddlewareChain.Interceptor {
+        private final long thresholdNanos;
+        private final AtomicLong slowCalls = new AtomicLong();
+
+        public SlowCallInterceptor(long thresholdMillis) {
+            this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        }
+
+        @Override
+        public Object afterAction(String action, Object result, JSONObject senderIdentity, long elapsedNanos) {
+            if (elapsedNanos > thresholdNanos) {
+                slowCalls.incrementAndGet();
+                logger.warn(String.format("slow channel action %s from %s took %.3fms", action, senderOf(senderIdentity),
+                        elapsedNanos / 1000000.0));
+            }
+            return result;
+        }
+
+        @Override
+        public void onError(String action, Object payload, Exception error, JSONObject senderIdentity, long elapsedNanos) {
+            if (elapsedNanos > thresholdNanos) {
+                slowCalls.incrementAndGet();
+                logger.warn(String.format("slow failed channel action %s from %s took %.3fms: %s", action,
+                        senderOf(senderIdentity), elapsedNanos / 1000000.0, error != null ? error : "unknown error"));
+            }
+        }
+
+        private String senderOf(JSONObject senderIdentity) {
+            return senderIdentity != null ? senderIdentity.optString("uuid") : null;
+        }
+
+        public long getSlowCallCount() {
+            return slowCalls.get();
+        }
+    }
+
+    /**
+     * Apply another interceptor to one in every N calls, to keep the cost of expensive instrumentation down
+     */
+    public static class SamplingInterceptor implements ChannelMiddlewareChain.Interceptor {
+        private final ChannelMiddlewareChain.Interceptor delegate;
+        private final int rate;
+        private final AtomicLong calls = new AtomicLong();
+        private final ThreadLocal<boolean[]> sampled = ThreadLocal.withInitial(() -> new boolean[1]);
+
+        /**
+         * @param delegate interceptor to sample
+         * @param rate delegate sees one in every rate calls
+         */
+        public SamplingInterceptor(ChannelMiddlewareChain.Interceptor delegate, int rate) {
+            this.delegate = delegate;
+            this.rate = Math.max(1, rate);
+        }
+
+        @Override
+        public Object beforeAction(String action, Object payload, JSONObject senderIdentity) {
+            boolean sample = calls.getAndIncrement() % rate == 0;
+            sampled.get()[0] = sample;
+            return sample ? delegate.beforeAction(action, payload, senderIdentity) : payload;
+        }
+
+        @Override
+        public Object afterAction(String action, Object result, JSONObject senderIdentity, long elapsedNanos) {
+            return sampled.get()[0] ? delegate.afterAction(action, result, senderIdentity, elapsedNanos) : result;
+        }
+
+        @Override
+        public void onError(String action, Object payload, Exception error, JSONObject senderIdentity, long elapsedNanos) {
+            if (sampled.get()[0]) {
+                delegate.onError(action, payload, error, senderIdentity, elapsedNanos);
+            }
+        }
+    }
+}
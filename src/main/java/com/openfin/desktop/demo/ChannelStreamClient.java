@@ -0,0 +1,236 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.Ack;
+import com.openfin.desktop.AckListener;
+import com.openfin.desktop.channel.ChannelAction;
+import com.openfin.desktop.channel.ChannelClient;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client side of streaming channel actions, see ChannelStreamProvider for the protocol.
+ *
+ * Chunks are handed out in the order of their seq, and a stream ends only once as many chunks as stream-end says were
+ * sent have been handed out, so chunks handled out of order by a connection with more than one inbound message thread
+ * are neither reordered nor lost.
+ *
+ * <pre>
+ *     ChannelStreamClient streamClient = new ChannelStreamClient(client);
+ *     ChannelStreamClient.Stream rows = streamClient.open("blotter", null, 4);
+ *     while (rows.hasNext()) {
+ *         render(rows.next());
+ *     }
+ * </pre>
+ */
+public class ChannelStreamClient {
+    private static final JSONObject END_OF_STREAM = new JSONObject();
+
+    private final ChannelClient client;
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+    private long timeoutMillis = 30000;
+
+    /**
+     * Rows of one streaming action.  Iteration blocks until the next row arrives.
+     *
+     * At most prefetch chunks are buffered: a credit for one more chunk is sent to the provider each time a chunk
+     * has been consumed, in batches of half the prefetch.
+     */
+    public class Stream implements Iterator<Object> {
+        private final String streamId;
+        private final int prefetch;
+        private final BlockingQueue<JSONObject> chunks = new LinkedBlockingQueue<>();
+        // chunks that arrived ahead of nextSeq, guarded by this
+        private final Map<Integer, JSONObject> early = new HashMap<>();
+        private int nextSeq;
+        private int chunkCount = -1;
+        private boolean ended;
+        private JSONArray current;
+        private int index;
+        private int consumedChunks;
+        private boolean done;
+        private volatile String error;
+
+        Stream(String streamId, int prefetch) {
+            this.streamId = streamId;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!done && (current == null || index >= current.length())) {
+                JSONObject chunk;
+                try {
+                    chunk = chunks.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted waiting for stream " + streamId);
+                }
+                if (chunk == null) {
+                    cancel();
+                    throw new IllegalStateException("timed out waiting for stream " + streamId);
+                }
+                if (chunk == END_OF_STREAM) {
+                    done = true;
+                    streams.remove(streamId);
+                    if (error != null) {
+                        throw new IllegalStateException(String.format("stream %s failed: %s", streamId, error));
+                    }
+                } else {
+                    current = chunk.getJSONArray("rows");
+                    index = 0;
+                    chunkConsumed();
+                }
+            }
+            return !done;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.get(index++);
+        }
+
+        private void chunkConsumed() {
+            int batch = Math.max(1, prefetch / 2);
+            if (++consumedChunks >= batch) {
+                JSONObject msg = new JSONObject();
+                msg.put("streamId", streamId);
+                msg.put("credits", consumedChunks);
+                consumedChunks = 0;
+                client.dispatch(ChannelStreamProvider.REQUEST_ACTION, msg, null);
+            }
+        }
+
+        /**
+         * Stop the provider from sending more chunks
+         */
+        public void cancel() {
+            if (streams.remove(streamId) != null) {
+                JSONObject msg = new JSONObject();
+                msg.put("streamId", streamId);
+                client.dispatch(ChannelStreamProvider.CANCEL_ACTION, msg, null);
+            }
+            done = true;
+        }
+
+        synchronized void onChunk(JSONObject chunk) {
+            int seq = chunk.getInt("seq");
+            if (ended || seq < nextSeq) {
+                return;
+            }
+            early.put(seq, chunk);
+            for (JSONObject next; (next = early.remove(nextSeq)) != null; nextSeq++) {
+                chunks.add(next);
+            }
+            endIfComplete();
+        }
+
+        /**
+         * @param chunkCount number of chunks the provider sent
+         */
+        synchronized void onEnd(int chunkCount) {
+            this.chunkCount = chunkCount;
+            endIfComplete();
+        }
+
+        synchronized void onError(String error) {
+            if (!ended) {
+                this.error = String.valueOf(error);
+                ended = true;
+                early.clear();
+                chunks.add(END_OF_STREAM);
+            }
+        }
+
+        private void endIfComplete() {
+            if (!ended && chunkCount >= 0 && nextSeq >= chunkCount) {
+                ended = true;
+                chunks.add(END_OF_STREAM);
+            }
+        }
+    }
+
+    public ChannelStreamClient(ChannelClient client) {
+        this.client = client;
+        client.register(ChannelStreamProvider.CHUNK_ACTION, new ChannelAction() {
+            @Override
+            public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                Stream stream = streams.get(((JSONObject) payload).getString("streamId"));
+                if (stream != null) {
+                    stream.onChunk((JSONObject) payload);
+                }
+                return null;
+            }
+        });
+        client.register(ChannelStreamProvider.END_ACTION, new ChannelAction() {
+            @Override
+            public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                Stream stream = streams.get(((JSONObject) payload).getString("streamId"));
+                if (stream != null) {
+                    stream.onEnd(((JSONObject) payload).getInt("chunks"));
+                }
+                return null;
+            }
+        });
+        client.register(ChannelStreamProvider.ERROR_ACTION, new ChannelAction() {
+            @Override
+            public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                Stream stream = streams.get(((JSONObject) payload).getString("streamId"));
+                if (stream != null) {
+                    stream.onError(((JSONObject) payload).optString("reason"));
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @param timeoutMillis maximum time to wait for the next chunk before the stream is cancelled
+     */
+    public void setTimeout(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Open a stream on a streaming action
+     *
+     * @param action name of the streaming action
+     * @param payload payload passed to the provider's StreamSource
+     * @param prefetch maximum number of chunks buffered by this client
+     * @return rows of the stream
+     */
+    public Stream open(String action, Object payload, int prefetch) {
+        String streamId = UUID.randomUUID().toString();
+        Stream stream = new Stream(streamId, Math.max(1, prefetch));
+        // register before dispatching, chunks can arrive before the ack
+        streams.put(streamId, stream);
+        JSONObject request = new JSONObject();
+        request.put("streamId", streamId);
+        request.put("credits", stream.prefetch);
+        if (payload != null) {
+            request.put("payload", payload);
+        }
+        client.dispatch(action, request, new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+            }
+            @Override
+            public void onError(Ack ack) {
+                stream.onError(ack.getReason());
+            }
+        });
+        return stream;
+    }
+}
@@ -0,0 +1,231 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.channel.ChannelAction;
+import com.openfin.desktop.channel.ChannelClientConnectEvent;
+import com.openfin.desktop.channel.ChannelProvider;
+import com.openfin.desktop.channel.ChannelProviderListener;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provider side of streaming channel actions.
+ *
+ * A regular ChannelAction returns its whole result in one message.  A streaming action instead returns rows from an
+ * Iterator, which are sent to the calling client in chunks of chunkSize rows.  The client grants credits, one per chunk,
+ * and the provider never has more chunks in flight than it has credits for, so neither side holds the whole result in
+ * memory and the client can render the first rows while the rest is still being produced.
+ *
+ * Messages, all with a streamId:
+ * <pre>
+ *     client to provider:  &lt;action&gt;      {streamId, credits, payload}   opens a stream
+ *                          stream-request  {streamId, credits}            grants more chunks
+ *                          stream-cancel   {streamId}
+ *     provider to client:  stream-chunk    {streamId, seq, rows}
+ *                          stream-end      {streamId, chunks}
+ *                          stream-error    {streamId, reason}
+ * </pre>
+ *
+ * See ChannelStreamClient for the client side.
+ */
+public class ChannelStreamProvider {
+    private final static Logger logger = LoggerFactory.getLogger(ChannelStreamProvider.class.getName());
+
+    static final String REQUEST_ACTION = "stream-request";
+    static final String CANCEL_ACTION = "stream-cancel";
+    static final String CHUNK_ACTION = "stream-chunk";
+    static final String END_ACTION = "stream-end";
+    static final String ERROR_ACTION = "stream-error";
+
+    /**
+     * Source of rows for a streaming action
+     */
+    public interface StreamSource {
+        /**
+         * @param payload payload sent by the client when opening the stream
+         * @param senderIdentity identity of the client
+         * @return rows to stream, each row must be a value JSONArray accepts
+         */
+        Iterator<?> open(Object payload, JSONObject senderIdentity) throws Exception;
+    }
+
+    private final ChannelProvider provider;
+    private final int chunkSize;
+    private final ExecutorService pumpExecutor;
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+
+    private class Stream implements Runnable {
+        final String streamId;
+        final JSONObject clientIdentity;
+        final Iterator<?> rows;
+        final AtomicLong credits = new AtomicLong();
+        final AtomicInteger work = new AtomicInteger();
+        volatile boolean cancelled;
+        int seq;
+
+        Stream(String streamId, JSONObject clientIdentity, Iterator<?> rows) {
+            this.streamId = streamId;
+            this.clientIdentity = clientIdentity;
+            this.rows = rows;
+        }
+
+        void grant(long n) {
+            credits.addAndGet(n);
+            schedule();
+        }
+
+        void schedule() {
+            if (work.getAndIncrement() == 0) {
+                pumpExecutor.execute(this);
+            }
+        }
+
+        /**
+         * Send chunks while there are credits.  Only one pump per stream runs at a time.
+         */
+        @Override
+        public void run() {
+            do {
+                try {
+                    while (!cancelled && credits.get() > 0 && rows.hasNext()) {
+                        JSONArray chunk = new JSONArray();
+                        while (chunk.length() < chunkSize && rows.hasNext()) {
+                            chunk.put(rows.next());
+                        }
+                        credits.decrementAndGet();
+                        JSONObject msg = new JSONObject();
+                        msg.put("streamId", streamId);
+                        msg.put("seq", seq++);
+                        msg.put("rows", chunk);
+                        provider.dispatch(clientIdentity, CHUNK_ACTION, msg, null);
+                    }
+                    if (!cancelled && !rows.hasNext()) {
+                        JSONObject msg = new JSONObject();
+                        msg.put("streamId", streamId);
+                        msg.put("chunks", seq);
+                        provider.dispatch(clientIdentity, END_ACTION, msg, null);
+                        close();
+                        return;
+                    }
+                } catch (Exception ex) {
+                    logger.error(String.format("Error streaming %s", streamId), ex);
+                    JSONObject msg = new JSONObject();
+                    msg.put("streamId", streamId);
+                    msg.put("reason", String.valueOf(ex.getMessage()));
+                    provider.dispatch(clientIdentity, ERROR_ACTION, msg, null);
+                    close();
+                    return;
+                }
+            } while (work.decrementAndGet() > 0);
+        }
+
+        void close() {
+            cancelled = true;
+            streams.remove(streamId);
+        }
+    }
+
+    /**
+     * @param provider channel provider to add streaming actions to
+     * @param chunkSize number of rows per chunk
+     */
+    public ChannelStreamProvider(ChannelProvider provider, int chunkSize) {
+        this.provider = provider;
+        this.chunkSize = chunkSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pumpExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "ChannelStreamProvider-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        provider.register(REQUEST_ACTION, new ChannelAction() {
+            @Override
+            public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                Stream stream = streams.get(((JSONObject) payload).getString("streamId"));
+                if (stream != null) {
+                    stream.grant(((JSONObject) payload).getLong("credits"));
+                }
+                return null;
+            }
+        });
+        provider.register(CANCEL_ACTION, new ChannelAction() {
+            @Override
+            public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                Stream stream = streams.get(((JSONObject) payload).getString("streamId"));
+                if (stream != null) {
+                    stream.close();
+                }
+                return null;
+            }
+        });
+        provider.addProviderListener(new ChannelProviderListener() {
+            @Override
+            public void onClientConnect(ChannelClientConnectEvent connectionEvent) throws Exception {
+            }
+            @Override
+            public void onClientDisconnect(ChannelClientConnectEvent connectionEvent) {
+                // drop streams of clients that went away without cancelling
+                streams.values().removeIf(stream -> {
+                    boolean gone = connectionEvent.getEndpointId() != null
+                            && connectionEvent.getEndpointId().equals(stream.clientIdentity.optString("endpointId"));
+                    if (gone) {
+                        stream.cancelled = true;
+                    }
+                    return gone;
+                });
+            }
+        });
+    }
+
+    /**
+     * Register a streaming action
+     *
+     * @param action name of the action
+     * @param source source of rows for each stream opened on the action
+     */
+    public void register(String action, StreamSource source) {
+        provider.register(action, new ChannelAction() {
+            @Override
+            public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                JSONObject request = (JSONObject) payload;
+                String streamId = request.getString("streamId");
+                JSONObject result = new JSONObject();
+                result.put("streamId", streamId);
+                try {
+                    Iterator<?> rows = source.open(request.opt("payload"), senderIdentity);
+                    Stream stream = new Stream(streamId, senderIdentity, rows);
+                    streams.put(streamId, stream);
+                    stream.grant(request.optLong("credits", 1));
+                } catch (Exception ex) {
+                    logger.error(String.format("Error opening stream %s on %s", streamId, action), ex);
+                    result.put("reason", String.valueOf(ex.getMessage()));
+                    provider.dispatch(senderIdentity, ERROR_ACTION, result, null);
+                }
+                return result;
+            }
+        });
+    }
+
+    /**
+     * @return number of streams currently open
+     */
+    public int getOpenStreamCount() {
+        return streams.size();
+    }
+
+    public void shutdown() {
+        streams.values().forEach(stream -> stream.cancelled = true);
+        streams.clear();
+        pumpExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,172 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.Ack;
+import com.openfin.desktop.AckListener;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a fixed number of calls to an API in flight and measures latency, throughput and timeouts.
+ *
+ * A call that is not acked within the timeout is counted as timed out and its slot is given to the next call, so a
+ * slow reply never holds up the driver.  If its ack arrives later anyway it is counted as late, which shows whether
+ * the adapter still correlates acks to the right callers under load.
+ *
+ * <pre>
+ *     ConcurrentApiDriver driver = new ConcurrentApiDriver("getMachineId", 16, 1000);
+ *     driver.run(ack -&gt; runtime.getMachineId(ack), 60);
+ * </pre>
+ */
+public class ConcurrentApiDriver {
+    private final static Logger logger = LoggerFactory.getLogger(ConcurrentApiDriver.class.getName());
+
+    /**
+     * One call of the API under test, which must eventually call either onSuccess or onError of ackListener
+     */
+    public interface ApiCall {
+        void call(AckListener ackListener) throws Exception;
+    }
+
+    private final String name;
+    private final int depth;
+    private final long timeoutMillis;
+    private final Semaphore inFlight;
+    private final LatencyHistogram latency;
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong lateCount = new AtomicLong();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "ConcurrentApiDriver");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile boolean running;
+
+    /**
+     * @param name name of the API, used in the report
+     * @param depth number of calls kept in flight
+     * @param timeoutMillis time to wait for each ack
+     */
+    public ConcurrentApiDriver(String name, int depth, long timeoutMillis) {
+        this.name = name;
+        this.depth = depth;
+        this.timeoutMillis = timeoutMillis;
+        this.inFlight = new Semaphore(depth);
+        this.latency = new LatencyHistogram(name);
+    }
+
+    /**
+     * Call the API until the duration expires, logging progress every 10 seconds, then wait for the calls still in
+     * flight and log the final report.
+     *
+     * @param apiCall API to call
+     * @param durationSeconds how long to run
+     */
+    public void run(ApiCall apiCall, long durationSeconds) throws InterruptedException {
+        running = true;
+        long start = java.lang.System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ScheduledFuture<?> progress = timer.scheduleAtFixedRate(() -> logReport(start), 10, 10, TimeUnit.SECONDS);
+        try {
+            while (running && java.lang.System.nanoTime() < end) {
+                if (inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    issue(apiCall);
+                }
+            }
+            // wait for, or time out, the calls still in flight
+            if (inFlight.tryAcquire(depth, timeoutMillis * 2, TimeUnit.MILLISECONDS)) {
+                inFlight.release(depth);
+            }
+        } finally {
+            running = false;
+            progress.cancel(false);
+        }
+        logReport(start);
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    private void issue(ApiCall apiCall) {
+        long callStart = java.lang.System.nanoTime();
+        // whichever of ack and timeout comes first owns the slot
+        AtomicBoolean completed = new AtomicBoolean();
+        ScheduledFuture<?> timeout = timer.schedule(() -> {
+            if (completed.compareAndSet(false, true)) {
+                timeoutCount.incrementAndGet();
+                inFlight.release();
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        AckListener ackListener = new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+                complete(ack.isSuccessful());
+            }
+            @Override
+            public void onError(Ack ack) {
+                complete(false);
+            }
+            private void complete(boolean successful) {
+                if (completed.compareAndSet(false, true)) {
+                    timeout.cancel(false);
+                    latency.recordSince(callStart);
+                    (successful ? successCount : errorCount).incrementAndGet();
+                    inFlight.release();
+                } else {
+                    lateCount.incrementAndGet();
+                }
+            }
+        };
+        try {
+            apiCall.call(ackListener);
+        } catch (Exception ex) {
+            logger.error(String.format("Error calling %s", name), ex);
+            JSONObject failed = new JSONObject();
+            failed.put("success", false);
+            failed.put("reason", String.valueOf(ex.getMessage()));
+            ackListener.onError(new Ack(failed, ackListener));
+        }
+    }
+
+    private void logReport(long start) {
+        double seconds = (java.lang.System.nanoTime() - start) / 1e9;
+        long completed = successCount.get() + errorCount.get();
+        logger.info(String.format("%s depth=%d throughput=%.1f/s success=%d error=%d timeout=%d late=%d inFlight=%d %s",
+                name, depth, completed / seconds, successCount.get(), errorCount.get(), timeoutCount.get(),
+                lateCount.get(), depth - inFlight.availablePermits(), latency));
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getSuccessCount() {
+        return successCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * @return number of acks that arrived after their call had timed out
+     */
+    public long getLateCount() {
+        return lateCount.get();
+    }
+}
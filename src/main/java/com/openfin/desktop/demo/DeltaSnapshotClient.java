@@ -0,0 +1,148 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.Ack;
+import com.openfin.desktop.DesktopConnection;
+import com.openfin.desktop.channel.ChannelClient;
+import org.json.JSONObject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client side of delta snapshots, see DeltaSnapshotProvider for the protocol.
+ *
+ * The client keeps the last snapshot it got and its etag, sends the etag with every request and patches its copy
+ * with the answer.  Snapshots returned share unchanged members with earlier ones, so they must not be modified.
+ * Compressed answers are streamed and decoded on a background thread.
+ *
+ * <pre>
+ *     DeltaSnapshotClient.createAsync(desktopConnection, "blotter").thenAccept(client -&gt; {
+ *         client.getSnapshotAsync().thenAccept(snapshot -&gt; ...);
+ *     });
+ * </pre>
+ */
+public class DeltaSnapshotClient {
+
+    private final ChannelClient client;
+    private final ChannelStreamClient streamClient;
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private final ExecutorService decodeExecutor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "DeltaSnapshotClient");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong fulls = new AtomicLong();
+    private final AtomicLong deltas = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+
+    // guarded by this
+    private String etag;
+    private JSONObject snapshot;
+
+    DeltaSnapshotClient(ChannelClient client) {
+        this.client = client;
+        this.streamClient = new ChannelStreamClient(client);
+    }
+
+    /**
+     * Connect to the delta snapshot provider of an application
+     */
+    public static CompletableFuture<DeltaSnapshotClient> createAsync(DesktopConnection desktopConnection, String uuid) {
+        return desktopConnection.getChannel(String.format(DeltaSnapshotProvider.CHANNEL, uuid)).connectAsync()
+                .thenApply(DeltaSnapshotClient::new).toCompletableFuture();
+    }
+
+    /**
+     * @return current snapshot of the provider
+     */
+    public CompletableFuture<JSONObject> getSnapshotAsync() {
+        return request(getEtag()).thenCompose(answer -> {
+            JSONObject result = accept(answer);
+            if (result != null) {
+                return CompletableFuture.completedFuture(result);
+            }
+            // another request moved the base on, ask for the full snapshot
+            return request(null).thenApply(this::accept);
+        });
+    }
+
+    public CompletableFuture<Ack> applySnapshotAsync(JSONObject snapshot) {
+        return client.dispatchAsync(DeltaSnapshotProvider.APPLY_ACTION, snapshot);
+    }
+
+    /**
+     * @return etag of the last snapshot received, null before the first
+     */
+    public synchronized String getEtag() {
+        return etag;
+    }
+
+    public long getFullCount() {
+        return fulls.get();
+    }
+
+    public long getDeltaCount() {
+        return deltas.get();
+    }
+
+    public long getUnchangedCount() {
+        return unchanged.get();
+    }
+
+    /**
+     * @return codec that decoded compressed answers, with their sizes and times
+     */
+    public SnapshotCodec getCodec() {
+        return codec;
+    }
+
+    private CompletableFuture<JSONObject> request(String etag) {
+        JSONObject payload = new JSONObject();
+        if (etag != null) {
+            payload.put("etag", etag);
+        }
+        return client.dispatchAsync(DeltaSnapshotProvider.GET_ACTION, payload).thenApply(ack -> {
+            if (!ack.isSuccessful()) {
+                throw new RuntimeException("error getting snapshot delta, reason: " + ack.getReason());
+            }
+            return ((JSONObject) ack.getData()).getJSONObject("result");
+        }).thenCompose(answer -> {
+            if (!answer.has("transfer")) {
+                return CompletableFuture.completedFuture(answer);
+            }
+            // iterating the stream blocks until chunks arrive; they are handed over in seq order even with 4 in flight
+            return CompletableFuture.supplyAsync(() -> {
+                JSONObject transfer = new JSONObject().put("transfer", answer.getString("transfer"));
+                return codec.decode(streamClient.open(DeltaSnapshotProvider.TRANSFER_ACTION, transfer, 4));
+            }, decodeExecutor);
+        });
+    }
+
+    /**
+     * Update the snapshot from an answer of get-snapshot-delta
+     *
+     * @return updated snapshot, or null if the answer is relative to a snapshot this client no longer has
+     */
+    synchronized JSONObject accept(JSONObject answer) {
+        String newEtag = answer.getString("etag");
+        if (answer.has("snapshot")) {
+            fulls.incrementAndGet();
+            snapshot = answer.getJSONObject("snapshot");
+        } else if (snapshot == null || !answer.getString("base").equals(etag)) {
+            if (!newEtag.equals(etag)) {
+                return null;
+            }
+            // already patched to the same snapshot by another answer
+            unchanged.incrementAndGet();
+        } else if (answer.has("patch")) {
+            deltas.incrementAndGet();
+            snapshot = JsonMergePatch.apply(snapshot, answer.getJSONObject("patch"));
+        } else {
+            unchanged.incrementAndGet();
+        }
+        etag = newEtag;
+        return snapshot;
+    }
+}
@@ -0,0 +1,228 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.DesktopConnection;
+import com.openfin.desktop.channel.ChannelAction;
+import com.openfin.desktop.snapshot.SnapshotSourceProvider;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provider side of delta snapshots, which sends clients only what changed since the snapshot they already have.
+ *
+ * Each distinct snapshot from the SnapshotSourceProvider gets an etag.  A client asks with the etag of the snapshot
+ * it has, and gets a JSON merge patch from that snapshot if it is one of the last few, nothing if the snapshot is
+ * unchanged, or the full snapshot otherwise.  The full snapshot is also sent when it is smaller than the patch.
+ * Etags include an id of this provider, so clients of a restarted provider get a full snapshot.
+ *
+ * Messages on channel snapshot-delta-provider-&lt;uuid&gt;:
+ * <pre>
+ *     get-snapshot-delta     {etag}    returns {etag, base, patch}, {etag, base} when unchanged, or {etag, snapshot}
+ *     apply-snapshot         snapshot
+ *     get-snapshot-transfer  {transfer}   streaming action, see below
+ * </pre>
+ * With a SnapshotCodec, answers at least as long as its threshold are compressed and get-snapshot-delta returns
+ * {transfer, chunks} instead.  The client then streams the chunks through ChannelStreamProvider and decodes them into
+ * the answer.  A transfer can be streamed once, and only the last few are kept.
+ * initAsync also registers the provider with SnapshotSource, so clients that only know get-snapshot keep working.
+ * See DeltaSnapshotClient for the client side.
+ */
+public class DeltaSnapshotProvider {
+    private final static Logger logger = LoggerFactory.getLogger(DeltaSnapshotProvider.class.getName());
+
+    static final String CHANNEL = "snapshot-delta-provider-%s";
+    static final String GET_ACTION = "get-snapshot-delta";
+    static final String APPLY_ACTION = "apply-snapshot";
+    static final String TRANSFER_ACTION = "get-snapshot-transfer";
+    private static final int TRANSFERS = 8;
+
+    private final SnapshotSourceProvider source;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final SnapshotCodec codec;
+    private final Map<String, JSONObject> versions;
+    private final Map<String, List<String>> transfers = new Recent<>(TRANSFERS);
+    private final AtomicLong fulls = new AtomicLong();
+    private final AtomicLong deltas = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong compressed = new AtomicLong();
+
+    // guarded by this
+    private long version;
+    private String latestEtag;
+    private String latestText;
+
+    /**
+     * @param source provider of full snapshots
+     * @param history number of recent snapshots kept to make patches from
+     */
+    public DeltaSnapshotProvider(SnapshotSourceProvider source, int history) {
+        this(source, history, null);
+    }
+
+    /**
+     * @param source provider of full snapshots
+     * @param history number of recent snapshots kept to make patches from
+     * @param codec codec to compress long answers with, null to never compress
+     */
+    public DeltaSnapshotProvider(SnapshotSourceProvider source, int history, SnapshotCodec codec) {
+        this.source = source;
+        this.codec = codec;
+        this.versions = new Recent<>(Math.max(1, history));
+    }
+
+    /**
+     * Map that keeps only the most recently added entries
+     */
+    private static class Recent<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Recent(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * Register as snapshot provider of an application
+     */
+    public CompletableFuture<DeltaSnapshotProvider> initAsync(DesktopConnection desktopConnection, String uuid) {
+        CompletableFuture<?> plain = desktopConnection.getSnapshotSource()
+                .initSnapshotSourceProviderAsync(uuid, source).toCompletableFuture();
+        CompletableFuture<?> delta = desktopConnection.getChannel(String.format(CHANNEL, uuid)).createAsync()
+                .thenAccept(provider -> {
+                    provider.register(GET_ACTION, new ChannelAction() {
+                        @Override
+                        public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                            String etag = payload instanceof JSONObject ? ((JSONObject) payload).optString("etag", null) : null;
+                            return encode(getSnapshotDelta(etag));
+                        }
+                    });
+                    provider.register(APPLY_ACTION, new ChannelAction() {
+                        @Override
+                        public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                            source.applySnapshot((JSONObject) payload);
+                            return null;
+                        }
+                    });
+                    if (codec != null) {
+                        new ChannelStreamProvider(provider, 1).register(TRANSFER_ACTION, (payload, senderIdentity) -> {
+                            List<String> chunks;
+                            synchronized (transfers) {
+                                chunks = transfers.remove(((JSONObject) payload).getString("transfer"));
+                            }
+                            if (chunks == null) {
+                                throw new IllegalArgumentException("Unknown or expired transfer");
+                            }
+                            return chunks.iterator();
+                        });
+                    }
+                }).toCompletableFuture();
+        return CompletableFuture.allOf(plain, delta).thenApply(ignored -> this);
+    }
+
+    /**
+     * @param etag etag of the snapshot the client has, null if it has none
+     * @return answer to get-snapshot-delta
+     */
+    synchronized JSONObject getSnapshotDelta(String etag) {
+        JSONObject current = current();
+        JSONObject answer = new JSONObject();
+        answer.put("etag", latestEtag);
+        if (latestEtag.equals(etag)) {
+            unchanged.incrementAndGet();
+            answer.put("base", etag);
+            return answer;
+        }
+        JSONObject base = etag != null ? versions.get(etag) : null;
+        JSONObject patch = base != null ? JsonMergePatch.diff(base, current) : null;
+        if (patch != null && patch.toString().length() < latestText.length()) {
+            deltas.incrementAndGet();
+            answer.put("base", etag);
+            answer.put("patch", patch);
+        } else {
+            fulls.incrementAndGet();
+            answer.put("snapshot", current);
+        }
+        return answer;
+    }
+
+    /**
+     * Replace a long answer with a transfer of its compressed chunks
+     */
+    private JSONObject encode(JSONObject answer) {
+        if (codec == null) {
+            return answer;
+        }
+        String text = answer.toString();
+        if (!codec.shouldEncode(text)) {
+            return answer;
+        }
+        List<String> chunks = codec.encode(text);
+        String transfer = UUID.randomUUID().toString();
+        synchronized (transfers) {
+            transfers.put(transfer, chunks);
+        }
+        compressed.incrementAndGet();
+        JSONObject result = new JSONObject();
+        result.put("transfer", transfer);
+        result.put("chunks", chunks.size());
+        return result;
+    }
+
+    /**
+     * Get a snapshot from the source and give it a new etag if it changed
+     */
+    private JSONObject current() {
+        String text = source.getSnapshot().toString();
+        if (text.equals(latestText)) {
+            return versions.get(latestEtag);
+        }
+        // keep a copy, sources may change the snapshot they returned
+        JSONObject copy = new JSONObject(text);
+        JSONObject latest = latestEtag != null ? versions.get(latestEtag) : null;
+        latestText = text;
+        if (latest != null && JsonMergePatch.same(latest, copy)) {
+            return latest;
+        }
+        latestEtag = instanceId + ":" + (++version);
+        versions.put(latestEtag, copy);
+        logger.debug(String.format("Snapshot %s, %d chars", latestEtag, text.length()));
+        return copy;
+    }
+
+    public long getFullCount() {
+        return fulls.get();
+    }
+
+    public long getDeltaCount() {
+        return deltas.get();
+    }
+
+    public long getUnchangedCount() {
+        return unchanged.get();
+    }
+
+    /**
+     * @return answers sent compressed
+     */
+    public long getCompressedCount() {
+        return compressed.get();
+    }
+
+    public SnapshotCodec getCodec() {
+        return codec;
+    }
+}
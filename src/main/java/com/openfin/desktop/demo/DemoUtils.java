@@ -6,10 +6,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Created by wche on 2/12/16.
@@ -19,7 +19,7 @@ public class DemoUtils {
 
     public static void addEventListener(Application application, String evenType, EventListener eventListener, AckListener ackListener) throws Exception {
         logger.debug("addEventListener " + evenType);
-        application.addEventListener(evenType, eventListener, new AckListener() {
+        ListenerTracker.getInstance(application.getConnection()).addEventListener(application, evenType, eventListener, new AckListener() {
             @Override
             public void onSuccess(Ack ack) {
                 logger.debug("addEventListener ack " + ack.isSuccessful());
@@ -34,69 +34,33 @@ public class DemoUtils {
     }
 
     public static void runApplication(ApplicationOptions options, DesktopConnection desktopConnection, AckListener ackListener) throws Exception {
-        AtomicReference<Application> appRef = new AtomicReference<>();
-        Application application = createApplication(options, desktopConnection, new AckListener() {
-            @Override
-            public void onSuccess(Ack ack) {
-                try {
-                    runApplication(appRef.get(), true, ackListener);
-                } catch (Exception e) {
-                    logger.error("Error running application", e);
-                    ackError(ackListener, e.getMessage());
-                }
-            }
-            @Override
-            public void onError(Ack ack) {
-                logger.error(String.format("onError %s", ack.getReason()));
-                ackError(ackListener, ack.getReason());
-            }
-        });
-        appRef.set(application);
+        runApplication(options, desktopConnection, null, ackListener);
+    }
+
+    /**
+     * Create and run an application, marking its startup phases on a tracer
+     *
+     * @param tracer tracer to mark create-called through app-connected on, may be null
+     */
+    public static void runApplication(ApplicationOptions options, DesktopConnection desktopConnection, StartupTracer tracer,
+                                      AckListener ackListener) throws Exception {
+        OpenFinFutures.runApplication(options, desktopConnection, true, tracer != null ? tracer::mark : null)
+                .whenComplete((application, error) -> complete(ackListener, application, error));
     }
 
     public static void runApplication(Application application, boolean checkAppConnected, AckListener ackListener) throws Exception {
-        EventListener listener = new EventListener() {
-            @Override
-            public void eventReceived(ActionEvent actionEvent) {
-                if (actionEvent.getType().equals("started")) {
-                    if (!checkAppConnected) {
-                        ackSuccess(ackListener, application);
-                    }
-                }
-                else if (actionEvent.getType().equals("app-connected")) {
-                    if (checkAppConnected) {
-                        ackSuccess(ackListener, application);
-                    }
-                }
-            }
-        };
+        OpenFinFutures.runApplication(application, checkAppConnected)
+                .whenComplete((result, error) -> complete(ackListener, application, error));
+    }
 
-        AckListener eventAddAck = new AckListener() {
-            @Override
-            public void onSuccess(Ack ack) {
-                application.run(new AckListener() {
-                    @Override
-                    public void onSuccess(Ack ack) {
-                        logger.debug(String.format("Successful run %s", application.getOptions().getUUID()));
-                    }
-                    @Override
-                    public void onError(Ack ack) {
-                        ackError(ackListener, ack.getReason());
-                        logger.error("Error running application", ack.getReason());
-                    }
-                });
-            }
-            @Override
-            public void onError(Ack ack) {
-                logger.error(String.format("Error adding event listener %s", ack.getReason()));
-            }
-        };
-        if (checkAppConnected) {
-            addEventListener(application.getWindow(), "app-connected", listener, eventAddAck);
+    private static void complete(AckListener ackListener, Object source, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            logger.error("Error running application", cause);
+            ackError(ackListener, cause.getMessage());
         } else {
-            addEventListener(application, "started", listener, eventAddAck);
+            ackSuccess(ackListener, source);
         }
-
     }
 
     public static Application createApplication(ApplicationOptions options, DesktopConnection desktopConnection, AckListener ackListener) throws Exception {
@@ -117,7 +81,7 @@ public class DemoUtils {
 
     public static void addEventListener(Window window, String evenType, EventListener eventListener, AckListener ackListener) throws Exception {
         logger.debug("addEventListener " + evenType);
-        window.addEventListener(evenType, eventListener, new AckListener() {
+        ListenerTracker.getInstance(window.getConnection()).addEventListener(window, evenType, eventListener, new AckListener() {
             @Override
             public void onSuccess(Ack ack) {
                 logger.debug("addEventListener ack " + ack.isSuccessful());
@@ -131,6 +95,22 @@ public class DemoUtils {
         });
     }
 
+    public static void removeEventListener(Application application, String evenType, EventListener eventListener) {
+        try {
+            ListenerTracker.getInstance(application.getConnection()).removeEventListener(application, evenType, eventListener, null);
+        } catch (Exception e) {
+            logger.error(String.format("Error removing event listener %s", evenType), e);
+        }
+    }
+
+    public static void removeEventListener(Window window, String evenType, EventListener eventListener) {
+        try {
+            ListenerTracker.getInstance(window.getConnection()).removeEventListener(window, evenType, eventListener, null);
+        } catch (Exception e) {
+            logger.error(String.format("Error removing event listener %s", evenType), e);
+        }
+    }
+
     public static void ackSuccess(AckListener ackListener, Object source) {
         if (ackListener != null) {
             ackListener.onSuccess(new Ack(new JSONObject(), source));
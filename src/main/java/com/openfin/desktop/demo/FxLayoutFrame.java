@@ -1,7 +1,6 @@
 package com.openfin.desktop.demo;
 
 import com.openfin.desktop.*;
-import com.openfin.desktop.channel.ChannelClient;
 import com.openfin.desktop.win32.ExternalWindowObserver;
 import javafx.embed.swing.JFXPanel;
 import javafx.event.EventHandler;
@@ -18,6 +17,8 @@ import java.util.List;
 public class FxLayoutFrame {
     private static String LayoutServiceChannelName = "of-layouts-service-v1";
     private ExternalWindowObserver externalWindowObserver;
+    private DesktopConnection desktopConnection;
+    private volatile boolean channelAcquired;
     private String windowName;
     private Stage stage;
     private static JFXPanel jFXPanel;
@@ -25,6 +26,7 @@ public class FxLayoutFrame {
     public FxLayoutFrame(DesktopConnection desktopConnection, String appUuid, String windowName) {
         System.out.println(windowName + " being created ");
         this.windowName = windowName;
+        this.desktopConnection = desktopConnection;
         if (jFXPanel == null) {
           jFXPanel = new JFXPanel();
             javafx.application.Platform.setImplicitExit(false);
@@ -57,22 +59,20 @@ public class FxLayoutFrame {
                             new AckListener() {
                                 @Override
                                 public void onSuccess(Ack ack) {
-                                    ExternalWindowObserver observer = (ExternalWindowObserver) ack.getSource();
-                                    observer.getDesktopConnection().getChannel(LayoutServiceChannelName).connect(
-                                            new AsyncCallback<ChannelClient>() {
-                                                @Override
-                                                public void onSuccess(ChannelClient client) {
-                                                    btnUndock.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
-                                                        @Override
-                                                        public void handle(javafx.event.ActionEvent e) {
-                                                            JSONObject payload = new JSONObject();
-                                                            payload.put("uuid", appUuid);
-                                                            payload.put("name", windowName);
-                                                            client.dispatch("UNDOCK-WINDOW", payload, null);
-                                                        }
-                                                    });
-                                                }
-                                            });
+                                    // one client is shared by all frames on desktopConnection, requests name their
+                                    // window in the payload
+                                    FxLayoutFrame.this.channelAcquired = true;
+                                    ChannelClientRegistry.getInstance(desktopConnection).acquire(LayoutServiceChannelName).thenAccept(client -> {
+                                        FxUiDispatcher.getInstance().dispatch(() -> btnUndock.setOnAction(new EventHandler<javafx.event.ActionEvent>() {
+                                            @Override
+                                            public void handle(javafx.event.ActionEvent e) {
+                                                JSONObject payload = new JSONObject();
+                                                payload.put("uuid", appUuid);
+                                                payload.put("name", windowName);
+                                                client.dispatch("UNDOCK-WINDOW", payload, null);
+                                            }
+                                        }));
+                                    });
                                 }
 
                                 @Override
@@ -88,11 +88,9 @@ public class FxLayoutFrame {
                             w.getGroup(new AsyncCallback<List<Window>>() {
                                 @Override
                                 public void onSuccess(java.util.List<Window> result) {
-                                    if (result.size() > 0) {
-                                        btnUndock.setDisable(false);
-                                    } else {
-                                        btnUndock.setDisable(true);
-                                    }
+                                    // only the latest state is applied when windows regroup quickly
+                                    boolean docked = result.size() > 0;
+                                    FxUiDispatcher.getInstance().dispatch(btnUndock, () -> btnUndock.setDisable(!docked));
                                 }
                             }, null);
                         }
@@ -122,6 +120,10 @@ public class FxLayoutFrame {
     public void cleanup() {
         try {
             System.out.println(windowName + " cleaning up ");
+            if (this.channelAcquired) {
+                ChannelClientRegistry.getInstance(this.desktopConnection).release(LayoutServiceChannelName);
+                this.channelAcquired = false;
+            }
             if (this.externalWindowObserver != null) {
                 this.externalWindowObserver.dispose();
             }
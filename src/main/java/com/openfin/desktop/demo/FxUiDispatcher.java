@@ -0,0 +1,28 @@
+package com.openfin.desktop.demo;
+
+import javafx.application.Platform;
+
+/**
+ * UiDispatcher that applies updates on the JavaFX application thread
+ */
+public class FxUiDispatcher extends UiDispatcher {
+    private static final FxUiDispatcher instance = new FxUiDispatcher();
+
+    private FxUiDispatcher() {
+        super("JavaFX");
+    }
+
+    public static FxUiDispatcher getInstance() {
+        return instance;
+    }
+
+    @Override
+    public boolean isUiThread() {
+        return Platform.isFxApplicationThread();
+    }
+
+    @Override
+    protected void schedule(Runnable batch) {
+        Platform.runLater(batch);
+    }
+}
@@ -0,0 +1,345 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import com.openfin.desktop.channel.ChannelClient;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java Flight Recorder events for adapter operations, and wrappers that emit them.
+ *
+ * Each wrapper checks whether its event is enabled before doing any work, so with no recording running the cost is a
+ * flag check per call.
+ *
+ * The events themselves are in JfrRecorder, under src/main/jfr, which the "jfr" Maven profile compiles when building
+ * with Java 11 or later.  This class doesn't use jdk.jfr, so the demos build with Java 8 and run on JVMs without JFR
+ * (jdk.jfr was added in Java 11 and back ported to 8u262).  When JfrRecorder wasn't compiled or can't be loaded the
+ * wrappers just call through.
+ *
+ * Events are in the "OpenFin" category of JDK Mission Control.  A recording can be started with
+ * -XX:StartFlightRecording, or by MemoryProfile and PubSubTest with
+ *      -Dcom.openfin.demo.jfr=openfin.jfr      (file written when the JVM exits)
+ */
+public class JfrEvents {
+    private final static Logger logger = LoggerFactory.getLogger(JfrEvents.class.getName());
+
+    public static final String PROPERTY = "com.openfin.demo.jfr";
+    private static final Recorder RECORDER = loadRecorder();
+
+    /**
+     * Creates the events, implemented by JfrRecorder
+     */
+    interface Recorder {
+        /**
+         * @param type name of the event, such as "Publish"
+         * @return event begun now, or null if the event is not enabled
+         */
+        Span begin(String type);
+
+        void startRecording(String file) throws Exception;
+    }
+
+    /**
+     * Event begun by a Recorder
+     */
+    interface Span {
+        void set(String field, Object value);
+
+        void commit();
+    }
+
+    private JfrEvents() {
+    }
+
+    private static Recorder loadRecorder() {
+        try {
+            return (Recorder) Class.forName("com.openfin.desktop.demo.JfrRecorder").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return event begun now, or null if there are no events or this one is not enabled
+     */
+    private static Span begin(String type) {
+        return RECORDER != null ? RECORDER.begin(type) : null;
+    }
+
+    private static int sizeOf(Object value) {
+        return value != null ? value.toString().length() : 0;
+    }
+
+    /**
+     * Start a recording if com.openfin.demo.jfr is set, written to the file it names when the JVM exits
+     */
+    public static void startRecordingIfEnabled() {
+        String file = java.lang.System.getProperty(PROPERTY);
+        if (file == null) {
+            return;
+        }
+        if (RECORDER == null) {
+            logger.warn("Java Flight Recorder events are not available, recording is not started");
+            return;
+        }
+        try {
+            RECORDER.startRecording(file);
+            logger.info(String.format("Flight recording started, written to %s on exit", file));
+        } catch (Exception ex) {
+            logger.error("Error starting flight recording", ex);
+        }
+    }
+
+    /**
+     * Time from now until the ack of an operation
+     *
+     * @param operation name of the operation
+     * @param delegate listener to call when acked, can be null
+     */
+    public static AckListener ack(String operation, AckListener delegate) {
+        Span event = begin("Ack");
+        if (event == null) {
+            return delegate;
+        }
+        event.set("operation", operation);
+        return new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+                event.set("success", ack.isSuccessful());
+                event.commit();
+                if (delegate != null) {
+                    delegate.onSuccess(ack);
+                }
+            }
+            @Override
+            public void onError(Ack ack) {
+                event.set("reason", ack.getReason());
+                event.commit();
+                if (delegate != null) {
+                    delegate.onError(ack);
+                }
+            }
+        };
+    }
+
+    /**
+     * Connect to Runtime, timed from now until onReady or onError
+     */
+    public static void connect(DesktopConnection desktopConnection, RuntimeConfiguration configuration,
+                               DesktopStateListener listener, int timeout) throws DesktopIOException, java.io.IOException {
+        Span event = begin("Connect");
+        if (event == null) {
+            desktopConnection.connect(configuration, listener, timeout);
+            return;
+        }
+        event.set("uuid", desktopConnection.getUuid());
+        boolean[] committed = new boolean[1];
+        desktopConnection.connect(configuration, new DesktopStateListener() {
+            @Override
+            public void onReady() {
+                if (!committed[0]) {
+                    committed[0] = true;
+                    event.set("success", true);
+                    event.commit();
+                }
+                listener.onReady();
+            }
+            @Override
+            public void onClose(String error) {
+                listener.onClose(error);
+            }
+            @Override
+            public void onError(String reason) {
+                if (!committed[0]) {
+                    committed[0] = true;
+                    event.set("reason", reason);
+                    event.commit();
+                }
+                listener.onError(reason);
+            }
+            @Override
+            public void onMessage(String message) {
+                listener.onMessage(message);
+            }
+            @Override
+            public void onOutgoingMessage(String message) {
+                listener.onOutgoingMessage(message);
+            }
+        }, timeout);
+    }
+
+    /**
+     * Publish a message, timed until it has been handed to the connection
+     */
+    public static void publish(InterApplicationBus bus, String topic, Object payload) throws DesktopException {
+        Span event = begin("Publish");
+        if (event == null) {
+            bus.publish(topic, payload);
+            return;
+        }
+        event.set("topic", topic);
+        event.set("payloadSize", sizeOf(payload));
+        bus.publish(topic, payload);
+        event.set("success", true);
+        event.commit();
+    }
+
+    /**
+     * Time each message delivered to a bus listener
+     */
+    public static BusListener busListener(BusListener delegate) {
+        if (RECORDER == null) {
+            return delegate;
+        }
+        return (sourceUuid, topic, payload) -> {
+            Span event = begin("BusMessage");
+            if (event == null) {
+                delegate.onMessageReceived(sourceUuid, topic, payload);
+                return;
+            }
+            event.set("sourceUuid", sourceUuid);
+            event.set("topic", topic);
+            event.set("payloadSize", sizeOf(payload));
+            try {
+                delegate.onMessageReceived(sourceUuid, topic, payload);
+            } finally {
+                event.commit();
+            }
+        };
+    }
+
+    /**
+     * Dispatch a channel action, timed until it is acked
+     */
+    public static void dispatch(ChannelClient client, String action, JSONObject payload, AckListener ackListener) {
+        Span event = begin("ChannelDispatch");
+        if (event == null) {
+            client.dispatch(action, payload, ackListener);
+            return;
+        }
+        event.set("action", action);
+        event.set("payloadSize", sizeOf(payload));
+        client.dispatch(action, payload, new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+                event.set("success", ack.isSuccessful());
+                event.commit();
+                if (ackListener != null) {
+                    ackListener.onSuccess(ack);
+                }
+            }
+            @Override
+            public void onError(Ack ack) {
+                event.commit();
+                if (ackListener != null) {
+                    ackListener.onError(ack);
+                }
+            }
+        });
+    }
+
+    /**
+     * Set bounds of a window, timed until it is acked
+     */
+    public static void setBounds(Window window, int left, int top, int width, int height, AckListener ackListener) throws DesktopException {
+        Span event = begin("WindowBounds");
+        if (event == null) {
+            window.setBounds(left, top, width, height, ackListener);
+            return;
+        }
+        event.set("operation", "setBounds");
+        event.set("uuid", window.getUuid());
+        event.set("name", window.getName());
+        window.setBounds(left, top, width, height, new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+                event.set("success", ack.isSuccessful());
+                event.commit();
+                if (ackListener != null) {
+                    ackListener.onSuccess(ack);
+                }
+            }
+            @Override
+            public void onError(Ack ack) {
+                event.commit();
+                if (ackListener != null) {
+                    ackListener.onError(ack);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get bounds of a window, timed until the callback or error
+     */
+    public static void getBounds(Window window, AsyncCallback<WindowBounds> callback, AckListener ackListener) {
+        Span event = begin("WindowBounds");
+        if (event == null) {
+            window.getBounds(callback, ackListener);
+            return;
+        }
+        event.set("operation", "getBounds");
+        event.set("uuid", window.getUuid());
+        event.set("name", window.getName());
+        window.getBounds(bounds -> {
+            event.set("success", true);
+            event.commit();
+            callback.onSuccess(bounds);
+        }, new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+                if (ackListener != null) {
+                    ackListener.onSuccess(ack);
+                }
+            }
+            @Override
+            public void onError(Ack ack) {
+                event.commit();
+                if (ackListener != null) {
+                    ackListener.onError(ack);
+                }
+            }
+        });
+    }
+
+    /**
+     * Records a ChannelInvoke event for each action invoked on a provider or client, install with ChannelMiddlewareChain
+     */
+    public static class ChannelInvokeInterceptor implements ChannelMiddlewareChain.Interceptor {
+        private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+        @Override
+        public Object beforeAction(String action, Object payload, JSONObject senderIdentity) {
+            Span event = begin("ChannelInvoke");
+            if (event != null) {
+                event.set("action", action);
+                event.set("senderUuid", senderIdentity != null ? senderIdentity.optString("uuid") : null);
+                event.set("payloadSize", sizeOf(payload));
+                current.set(event);
+            }
+            return payload;
+        }
+
+        @Override
+        public Object afterAction(String action, Object result, JSONObject senderIdentity, long elapsedNanos) {
+            end(result, true);
+            return result;
+        }
+
+        @Override
+        public void onError(String action, Object payload, Exception error, JSONObject senderIdentity, long elapsedNanos) {
+            end(null, false);
+        }
+
+        private void end(Object result, boolean success) {
+            Span event = current.get();
+            if (event != null) {
+                current.remove();
+                event.set("resultSize", sizeOf(result));
+                event.set("success", success);
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.openfin.desktop.demo;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Objects;
+
+/**
+ * JSON merge patches (RFC 7396) between JSONObjects, extended to patch arrays element by element.
+ *
+ * A patch has the members that changed: objects are patched member by member, any other changed value is replaced
+ * whole, and a member set to null is removed.  A patch can't set a member to null, so diff returns null when the
+ * target has a null that isn't in the base.
+ *
+ * RFC 7396 replaces a changed array whole, so one changed row of a grid held as an array would resend every row.  An
+ * array that keeps some of its elements is patched instead with an object holding its new length under "$array" and
+ * the changed or added elements under their index, each a patch of the element it replaces:
+ * <pre>
+ *     {"rows": {"$array": 1000, "500": {"price": -1}}}
+ * </pre>
+ * Only apply understands these, so a patch from diff is for apply, not for other RFC 7396 implementations.  Since
+ * "$array" marks an array patch, diff returns null when the target has an object with a member of that name.
+ *
+ * <pre>
+ *     JSONObject patch = JsonMergePatch.diff(base, target);
+ *     JSONObject copy = JsonMergePatch.apply(base, patch);     // same content as target
+ * </pre>
+ */
+public class JsonMergePatch {
+
+    /**
+     * Member holding the length of the array an array patch makes
+     */
+    public static final String ARRAY = "$array";
+    private static final Object UNCHANGED = new Object();
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * @return patch that turns base into target, empty if they are equal, or null if target can't be reached by a patch
+     */
+    public static JSONObject diff(JSONObject base, JSONObject target) {
+        if (target.has(ARRAY)) {
+            return null;
+        }
+        JSONObject patch = new JSONObject();
+        for (String key : base.keySet()) {
+            if (!target.has(key)) {
+                patch.put(key, JSONObject.NULL);
+            }
+        }
+        for (String key : target.keySet()) {
+            Object change = change(base.opt(key), target.get(key));
+            if (change == null) {
+                return null;
+            }
+            if (change != UNCHANGED) {
+                patch.put(key, change);
+            }
+        }
+        return patch;
+    }
+
+    /**
+     * @return patch of one value, UNCHANGED, or null if the value can't be reached by a patch
+     */
+    private static Object change(Object old, Object value) {
+        if (value instanceof JSONObject && old instanceof JSONObject) {
+            JSONObject nested = diff((JSONObject) old, (JSONObject) value);
+            return nested == null || nested.length() > 0 ? nested : UNCHANGED;
+        }
+        if (value instanceof JSONArray && old instanceof JSONArray) {
+            Object elements = diffArray((JSONArray) old, (JSONArray) value);
+            if (elements != null) {
+                return elements;
+            }
+            // no element kept, or an element can't be patched, replace the array whole
+        }
+        if (same(old, value)) {
+            return UNCHANGED;
+        }
+        if (value == JSONObject.NULL || !patchable(value)) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * @return array patch, UNCHANGED, or null if the array has to be replaced whole
+     */
+    private static Object diffArray(JSONArray old, JSONArray value) {
+        JSONObject patch = new JSONObject();
+        patch.put(ARRAY, value.length());
+        int changed = 0;
+        for (int i = 0; i < value.length(); i++) {
+            Object change = change(i < old.length() ? old.get(i) : null, value.get(i));
+            if (change == null) {
+                return null;
+            }
+            if (change != UNCHANGED) {
+                patch.put(String.valueOf(i), change);
+                changed++;
+            }
+        }
+        if (changed == 0 && value.length() == old.length()) {
+            return UNCHANGED;
+        }
+        return changed < value.length() ? patch : null;
+    }
+
+    /**
+     * @return copy of base with the patch applied, base is not modified.  Members the patch doesn't touch are shared
+     * with base.
+     */
+    public static JSONObject apply(JSONObject base, JSONObject patch) {
+        JSONObject result = new JSONObject();
+        for (String key : base.keySet()) {
+            result.put(key, base.get(key));
+        }
+        for (String key : patch.keySet()) {
+            Object value = patch.get(key);
+            if (value == JSONObject.NULL) {
+                result.remove(key);
+            } else {
+                result.put(key, applyValue(result.opt(key), value));
+            }
+        }
+        return result;
+    }
+
+    private static Object applyValue(Object old, Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject patch = (JSONObject) value;
+            if (patch.has(ARRAY)) {
+                return applyArray(old instanceof JSONArray ? (JSONArray) old : new JSONArray(), patch);
+            }
+            return apply(old instanceof JSONObject ? (JSONObject) old : new JSONObject(), patch);
+        }
+        return value;
+    }
+
+    private static JSONArray applyArray(JSONArray base, JSONObject patch) {
+        int length = patch.getInt(ARRAY);
+        JSONArray result = new JSONArray();
+        for (int i = 0; i < length; i++) {
+            String index = String.valueOf(i);
+            Object old = i < base.length() ? base.get(i) : null;
+            result.put(patch.has(index) ? applyValue(old, patch.get(index)) : old);
+        }
+        return result;
+    }
+
+    /**
+     * Deep equality of JSON values, numbers compare by value
+     */
+    static boolean same(Object a, Object b) {
+        if (a instanceof JSONObject && b instanceof JSONObject) {
+            JSONObject x = (JSONObject) a, y = (JSONObject) b;
+            if (x.length() != y.length()) {
+                return false;
+            }
+            for (String key : x.keySet()) {
+                if (!y.has(key) || !same(x.get(key), y.get(key))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof JSONArray && b instanceof JSONArray) {
+            JSONArray x = (JSONArray) a, y = (JSONArray) b;
+            if (x.length() != y.length()) {
+                return false;
+            }
+            for (int i = 0; i < x.length(); i++) {
+                if (!same(x.get(i), y.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (isIntegral(a) && isIntegral(b)) {
+            return ((Number) a).longValue() == ((Number) b).longValue();
+        }
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue()) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * @return false if apply would read the value as a patch rather than a value: an object with a null member, or
+     * with a member marking an array patch
+     */
+    private static boolean patchable(Object value) {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            if (object.has(ARRAY)) {
+                return false;
+            }
+            for (String key : object.keySet()) {
+                if (object.get(key) == JSONObject.NULL || !patchable(object.get(key))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
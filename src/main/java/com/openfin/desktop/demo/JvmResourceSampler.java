@@ -0,0 +1,130 @@
+package com.openfin.desktop.demo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically samples heap, GC, thread and direct buffer usage of this JVM and logs each sample with its change since
+ * the first one, so slow leaks show up as steady growth over a long run.
+ */
+public class JvmResourceSampler {
+    private final static Logger logger = LoggerFactory.getLogger(JvmResourceSampler.class.getName());
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<BufferPoolMXBean> bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    private final List<Sample> samples = Collections.synchronizedList(new ArrayList<>());
+    private final int maxSamples;
+    private ScheduledExecutorService scheduler;
+    private Sample first;
+
+    public static class Sample {
+        public final long timestamp;
+        public final long heapUsed;
+        public final long heapCommitted;
+        public final long nonHeapUsed;
+        public final long gcCount;
+        public final long gcTimeMillis;
+        public final int threadCount;
+        public final int peakThreadCount;
+        public final long directBufferCount;
+        public final long directBufferUsed;
+
+        Sample(long timestamp, long heapUsed, long heapCommitted, long nonHeapUsed, long gcCount, long gcTimeMillis,
+               int threadCount, int peakThreadCount, long directBufferCount, long directBufferUsed) {
+            this.timestamp = timestamp;
+            this.heapUsed = heapUsed;
+            this.heapCommitted = heapCommitted;
+            this.nonHeapUsed = nonHeapUsed;
+            this.gcCount = gcCount;
+            this.gcTimeMillis = gcTimeMillis;
+            this.threadCount = threadCount;
+            this.peakThreadCount = peakThreadCount;
+            this.directBufferCount = directBufferCount;
+            this.directBufferUsed = directBufferUsed;
+        }
+    }
+
+    /**
+     * @param maxSamples number of samples kept in memory, oldest are dropped first
+     */
+    public JvmResourceSampler(int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    public Sample sample() {
+        long gcCount = 0, gcTime = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+        long directCount = 0, directUsed = 0;
+        for (BufferPoolMXBean pool : bufferPools) {
+            if ("direct".equals(pool.getName())) {
+                directCount = pool.getCount();
+                directUsed = pool.getMemoryUsed();
+            }
+        }
+        Sample sample = new Sample(java.lang.System.currentTimeMillis(),
+                memoryBean.getHeapMemoryUsage().getUsed(), memoryBean.getHeapMemoryUsage().getCommitted(),
+                memoryBean.getNonHeapMemoryUsage().getUsed(), gcCount, gcTime,
+                threadBean.getThreadCount(), threadBean.getPeakThreadCount(), directCount, directUsed);
+        synchronized (samples) {
+            if (first == null) {
+                first = sample;
+            }
+            samples.add(sample);
+            if (samples.size() > maxSamples) {
+                samples.remove(0);
+            }
+        }
+        return sample;
+    }
+
+    public void logSample() {
+        Sample s = sample();
+        logger.info(String.format("heap used=%dKB (%+dKB) committed=%dKB nonHeap=%dKB (%+dKB) gc count=%d time=%dms " +
+                        "threads=%d (%+d) peak=%d direct buffers=%d used=%dKB (%+dKB)",
+                s.heapUsed / 1024, (s.heapUsed - first.heapUsed) / 1024, s.heapCommitted / 1024,
+                s.nonHeapUsed / 1024, (s.nonHeapUsed - first.nonHeapUsed) / 1024, s.gcCount, s.gcTimeMillis,
+                s.threadCount, s.threadCount - first.threadCount, s.peakThreadCount,
+                s.directBufferCount, s.directBufferUsed / 1024, (s.directBufferUsed - first.directBufferUsed) / 1024));
+    }
+
+    public List<Sample> getSamples() {
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    public synchronized void start(long intervalSeconds) {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "JvmResourceSampler");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleAtFixedRate(this::logSample, 0, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
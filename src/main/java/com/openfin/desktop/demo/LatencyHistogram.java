@@ -0,0 +1,101 @@
+package com.openfin.desktop.demo;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets.
+ *
+ * Good enough to report count, mean, max and approximate percentiles from demo and test code
+ * without pulling in a metrics library.  Percentiles are reported as the upper bound of the bucket.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 40;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        long max;
+        while (nanos > (max = maxNanos.get())) {
+            if (maxNanos.compareAndSet(max, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Record time elapsed since startNanos, as returned by System.nanoTime()
+     */
+    public void recordSince(long startNanos) {
+        record(java.lang.System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / (n * 1000000.0);
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1000000.0;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return upper bound, in milliseconds, of the bucket holding the percentile
+     */
+    public double getPercentileMillis(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold) {
+                return Math.min((1L << i) / 1000.0, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms", name, getCount(),
+                getMeanMillis(), getPercentileMillis(50), getPercentileMillis(99), getMaxMillis());
+    }
+}
@@ -175,22 +175,15 @@ public class LaunchManifestDemo extends Application implements DesktopStateListe
                     new AckListener() {
                         @Override
                         public void onSuccess(Ack ack) {
-                            ExternalWindowObserver observer = (ExternalWindowObserver) ack.getSource();
-                            observer.getDesktopConnection().getChannel(LayoutServiceChannelName).connect(
-                                    new AsyncCallback<ChannelClient>() {
-                                        @Override
-                                        public void onSuccess(ChannelClient client) {
-                                            LaunchManifestDemo.this.channelClient = client;
-
-                                            client.register("event", new ChannelAction() {
-                                                @Override
-                                                public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
-                                                    System.out.printf("channel event " + action);
-                                                    return null;
-                                                }
-                                            });
-                                        }
-                                    });
+                            ChannelClientRegistry.getInstance(desktopConnection).acquire(LayoutServiceChannelName, client -> {
+                                client.register("event", new ChannelAction() {
+                                    @Override
+                                    public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+                                        System.out.printf("channel event " + action);
+                                        return null;
+                                    }
+                                });
+                            }).thenAccept(client -> LaunchManifestDemo.this.channelClient = client);
                         }
 
                         @Override
@@ -2,6 +2,11 @@
  * Demo for launching OpenFin app and send messages via Inter application bus
  *
  * javascript side is in release/busdemo.html, which needs to be hosted in localhost:8888
+ *
+ * the workspace is saved automatically, 2 seconds after windows stop changing; to change the delay, 0 to turn it off
+ *      -Dcom.openfin.demo.workspace.autosave=2000
+ * autosaves are kept apart from workspaces saved with the button, restore uses the latest saved with the button and
+ * falls back to the latest autosave
  */
 
 package com.openfin.desktop.demo;
@@ -20,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 import java.lang.System;
 import java.util.UUID;
 
@@ -45,6 +51,10 @@ public class LauncherBusDemo extends JFrame {
 
     private LayoutClient layoutClient;                      // client for Layout service
     private JSONObject lastSavedWorkspace;
+    private WorkspaceStore workspaceStore;                  // workspaces saved on disk
+    private WorkspaceAutosave workspaceAutosave;
+    private static final String WORKSPACE_NAME = "LauncherBusDemo";
+    private static final String AUTOSAVE_WORKSPACE_NAME = WORKSPACE_NAME + ".autosave";
     private ExternalWindowObserver externalWindowObserver;  // required for Layout service to control Java window
     protected java.awt.Canvas embedCanvas;                  // required for embedding OpenFin window
 
@@ -320,11 +330,9 @@ public class LauncherBusDemo extends JFrame {
                 w.getGroup(new AsyncCallback<java.util.List<Window>>() {
                     @Override
                     public void onSuccess(java.util.List<Window> result) {
-                        if (result.size() > 0) {
-                            btnUndock.setEnabled(true);
-                        } else {
-                            btnUndock.setEnabled(false);
-                        }
+                        // windows regrouping quickly fire many events, only the latest state is applied
+                        boolean docked = result.size() > 0;
+                        SwingUiDispatcher.getInstance().dispatch(btnUndock, () -> btnUndock.setEnabled(docked));
                     }
                 }, null);
             }
@@ -432,9 +440,12 @@ public class LauncherBusDemo extends JFrame {
         this.layoutClient = new LayoutClient(this.desktopConnection, new AckListener() {
             @Override
             public void onSuccess(Ack ack) {
-                btnGenerateWorkSpace.setEnabled(true);
-                btnRestoreWorkSpace.setEnabled(true);
+                SwingUiDispatcher.getInstance().dispatch(() -> {
+                    btnGenerateWorkSpace.setEnabled(true);
+                    btnRestoreWorkSpace.setEnabled(true);
+                });
                 createExternalWindowObserver();
+                startAutosave();
             }
             @Override
             public void onError(Ack ack) {
@@ -442,12 +453,34 @@ public class LauncherBusDemo extends JFrame {
         });
     }
 
+    private void startAutosave() {
+        long debounce = Long.getLong("com.openfin.demo.workspace.autosave", 2000L);
+        WorkspaceStore store = getWorkspaceStore();
+        if (debounce > 0 && store != null) {
+            this.workspaceAutosave = new WorkspaceAutosave(this.layoutClient, store, AUTOSAVE_WORKSPACE_NAME, debounce);
+            try {
+                this.workspaceAutosave.watch(new OpenFinRuntime(this.desktopConnection));
+                this.workspaceAutosave.watch(Window.wrap(appStartupUuid, javaWindowName, this.desktopConnection));
+            } catch (DesktopException e) {
+                logger.error("Error starting workspace autosave", e);
+            }
+        }
+    }
+
     private void generateWorkSpace() {
         this.layoutClient.generateWorkspace(new AsyncCallback<JSONObject>() {
             @Override
             public void onSuccess(JSONObject result) {
                 LauncherBusDemo.this.lastSavedWorkspace = result;
-                logger.info(String.format("Current workspace %s", result.toString()));
+                WorkspaceStore store = getWorkspaceStore();
+                if (store != null) {
+                    try {
+                        WorkspaceStore.Revision revision = store.save(WORKSPACE_NAME, result);
+                        logger.info(String.format("Saved workspace %s %s", WORKSPACE_NAME, revision));
+                    } catch (IOException e) {
+                        logger.error(String.format("Error saving workspace %s", WORKSPACE_NAME), e);
+                    }
+                }
             }
         },
         new AckListener() {
@@ -461,18 +494,45 @@ public class LauncherBusDemo extends JFrame {
         });
     }
 
-    private void restoreWorkSpace() {
-        if (this.lastSavedWorkspace != null) {
-            this.layoutClient.retoreWorkspace(this.lastSavedWorkspace, new AckListener() {
-                @Override
-                public void onSuccess(Ack ack) {
-                }
+    /**
+     * @return store of saved workspaces, or null if it cannot be opened
+     */
+    private synchronized WorkspaceStore getWorkspaceStore() {
+        if (this.workspaceStore == null) {
+            try {
+                this.workspaceStore = new WorkspaceStore();
+            } catch (IOException e) {
+                logger.error("Error opening workspace store", e);
+            }
+        }
+        return this.workspaceStore;
+    }
 
-                @Override
-                public void onError(Ack ack) {
-                    logger.error(String.format("Error restoring workspace %s", ack.getReason()));
+    private void restoreWorkSpace() {
+        if (this.lastSavedWorkspace == null && getWorkspaceStore() != null) {
+            // saved by an earlier run
+            try {
+                this.lastSavedWorkspace = getWorkspaceStore().load(WORKSPACE_NAME);
+                if (this.lastSavedWorkspace == null) {
+                    this.lastSavedWorkspace = getWorkspaceStore().load(AUTOSAVE_WORKSPACE_NAME);
                 }
-            });
+            } catch (IOException e) {
+                logger.error(String.format("Error loading workspace %s", WORKSPACE_NAME), e);
+            }
+        }
+        if (this.lastSavedWorkspace != null) {
+            JSONObject saved = this.lastSavedWorkspace;
+            // only launch, close and move what differs from the live workspace
+            OpenFinFutures.callback("generateWorkspace", this.layoutClient::generateWorkspace)
+                    .thenCompose(current -> {
+                        WorkspaceDiff diff = WorkspaceDiff.compute(saved, current, java.util.Collections.singleton(appStartupUuid));
+                        return diff.apply(this.desktopConnection, this.layoutClient);
+                    })
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            logger.error("Error restoring workspace", error);
+                        }
+                    });
         }
     }
 
@@ -494,6 +554,9 @@ public class LauncherBusDemo extends JFrame {
 
     public void cleanup() {
         try {
+            if (this.workspaceAutosave != null) {
+                this.workspaceAutosave.stop();
+            }
             if (this.externalWindowObserver != null) {
                 this.externalWindowObserver.dispose();
             }
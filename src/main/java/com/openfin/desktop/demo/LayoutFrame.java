@@ -31,6 +31,11 @@ public class LayoutFrame extends JFrame {
 	private JButton btnUndock;
 	private String windowName;
 	private ChannelClient channelClient;
+	private boolean channelAcquired;
+	private boolean closed;
+	private Window window;
+	private EventListener groupChangedListener;
+	private DesktopConnection desktopConnection;
 	private String appUuid;
 	private boolean frameless;
 
@@ -42,6 +47,7 @@ public class LayoutFrame extends JFrame {
 		super();
 		this.setTitle(windowName);
 		System.out.println(windowName + " being created ");
+		this.desktopConnection = desktopConnection;
 		this.appUuid = appUuid;
 		this.windowName = windowName;
 		this.frameless = frameless;
@@ -60,32 +66,40 @@ public class LayoutFrame extends JFrame {
 			this.setUndecorated(true);
 			JPanel titleBar = new JPanel(new BorderLayout());
 			titleBar.setBackground(Color.DARK_GRAY);
+			// latest position wins, at most one move per frame interval goes to the layout service
+			MoveCoalescer moveCoalescer = new MoveCoalescer((bounds, point) -> {
+				if (!LayoutFrame.this.externalWindowObserver.onMoving(bounds, point)) {
+					LayoutFrame.this.setLocation(bounds.getLeft(), bounds.getTop());
+				}
+			});
 			MouseAdapter myListener = new MouseAdapter() {
 				int pressedAtX, pressedAtY;
+				long receivedAtPress, forwardedAtPress;
 				@Override
 				public void mousePressed(MouseEvent e) {
 					pressedAtX = e.getX();
 					pressedAtY = e.getY();
+					receivedAtPress = moveCoalescer.getReceivedCount();
+					forwardedAtPress = moveCoalescer.getForwardedCount();
 					System.out.println("mouse pressed at x=" + pressedAtX + ", y=" + pressedAtY);
 					LayoutFrame.this.externalWindowObserver.enterSizeMove();
 				}
 				@Override
 				public void mouseDragged(MouseEvent e) {
-					int distanceX = e.getX() - pressedAtX;
-					int distanceY = e.getY() - pressedAtY;
-					System.out.println("dragged x=" + distanceX + ", y=" + distanceY);
+					// the frame only moves when a move is forwarded, so the latest event has the right target
 					Point frameLocation = LayoutFrame.this.getLocation();
 					Dimension dimension = LayoutFrame.this.getSize();
-					WindowBounds bounds = new WindowBounds(frameLocation.x + distanceX, frameLocation.y + distanceY,
-							dimension.width, dimension.height);
-					Point point = new Point(e.getX(), e.getY());
-					if (!LayoutFrame.this.externalWindowObserver.onMoving(bounds, point)) {
-						LayoutFrame.this.setLocation(frameLocation.x + distanceX, frameLocation.y + distanceY);
-					}
+					// top, left, width, height
+					WindowBounds bounds = new WindowBounds(frameLocation.y + e.getY() - pressedAtY,
+							frameLocation.x + e.getX() - pressedAtX, dimension.width, dimension.height);
+					moveCoalescer.offer(bounds, e.getPoint());
 				}
 				@Override
 				public void mouseReleased(MouseEvent e) {
+					moveCoalescer.flush();
 					LayoutFrame.this.externalWindowObserver.exitSizeMove();
+					System.out.println(windowName + " moved, events received=" + (moveCoalescer.getReceivedCount() - receivedAtPress)
+							+ ", forwarded=" + (moveCoalescer.getForwardedCount() - forwardedAtPress));
 				}
 			};
 			titleBar.addMouseListener(myListener);
@@ -112,31 +126,30 @@ public class LayoutFrame extends JFrame {
 				new AckListener() {
 					@Override
 					public void onSuccess(Ack ack) {
-						ExternalWindowObserver observer = (ExternalWindowObserver) ack.getSource();
-						observer.getDesktopConnection().getChannel(LayoutServiceChannelName).connect(
-								new AsyncCallback<ChannelClient>() {
-									@Override
-									public void onSuccess(ChannelClient client) {
-										LayoutFrame.this.channelClient = client;
-										btnUndock.addActionListener(new ActionListener() {
-											@Override
-											public void actionPerformed(ActionEvent e) {
-												JSONObject payload = new JSONObject();
-												payload.put("uuid", appUuid);
-												payload.put("name", windowName);
-												client.dispatch("UNDOCK-WINDOW", payload, null);
-											}
-										});
-
-										client.register("event", new ChannelAction() {
-											@Override
-											public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
-												System.out.printf("channel event " + action);
-												return null;
-											}
-										});
-									}
-								});
+						// one client is shared by all frames on desktopConnection, requests name their window in the payload
+						if (!LayoutFrame.this.acquireChannelClient()) {
+							return;
+						}
+						ChannelClientRegistry.getInstance(desktopConnection).acquire(LayoutServiceChannelName, client -> {
+							client.register("event", new ChannelAction() {
+								@Override
+								public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+									System.out.printf("channel event " + action);
+									return null;
+								}
+							});
+						}).thenAccept(client -> {
+							LayoutFrame.this.channelClient = client;
+							btnUndock.addActionListener(new ActionListener() {
+								@Override
+								public void actionPerformed(ActionEvent e) {
+									JSONObject payload = new JSONObject();
+									payload.put("uuid", appUuid);
+									payload.put("name", windowName);
+									client.dispatch("UNDOCK-WINDOW", payload, null);
+								}
+							});
+						});
 					}
 
 					@Override
@@ -157,7 +170,8 @@ public class LayoutFrame extends JFrame {
 		}
 
 		Window w = Window.wrap(appUuid, windowName, desktopConnection);
-		w.addEventListener("group-changed", new EventListener() {
+		this.window = w;
+		this.groupChangedListener = new EventListener() {
 			@Override
 			public void eventReceived(com.openfin.desktop.ActionEvent actionEvent) {
 				JSONObject eventObj = actionEvent.getEventObject();
@@ -167,13 +181,14 @@ public class LayoutFrame extends JFrame {
 						if (result.size() > 0) {
 							checkTabbing();
 						} else {
-							LayoutFrame.this.btnUndock.setEnabled(false);
+							setUndockEnabled(false);
 							setHasFrame(LayoutFrame.this, true);
 						}
 					}
 				}, null);
 			}
-		}, null);
+		};
+		ListenerTracker.getInstance(desktopConnection).addEventListener(w, "group-changed", this.groupChangedListener, null);
 
 		this.addWindowListener(new WindowAdapter() {
 			public void windowClosing(WindowEvent e) {
@@ -207,10 +222,10 @@ public class LayoutFrame extends JFrame {
 				if (result != null && result instanceof JSONArray) {
 					JSONArray tabs = (JSONArray) result;
 					boolean enabled = !(tabs != null && tabs.length() > 0);
-					LayoutFrame.this.btnUndock.setEnabled(enabled);
+					setUndockEnabled(enabled);
 					setHasFrame(LayoutFrame.this, false);
 				} else {
-					LayoutFrame.this.btnUndock.setEnabled(true);
+					setUndockEnabled(true);
 					setHasFrame(LayoutFrame.this, true);
 				}
 			}
@@ -222,9 +237,16 @@ public class LayoutFrame extends JFrame {
 		});
 	}
 
+	/**
+	 * Called on adapter threads, only the latest state is applied when windows regroup quickly
+	 */
+	private void setUndockEnabled(boolean enabled) {
+		SwingUiDispatcher.getInstance().dispatch(this.btnUndock, () -> this.btnUndock.setEnabled(enabled));
+	}
+
 	private void setHasFrame(JFrame frame, boolean hasFrame) {
 		if (!this.frameless) {
-			SwingUtilities.invokeLater(new Runnable() {
+			SwingUiDispatcher.getInstance().dispatch(frame, new Runnable() {
 				@Override
 				public void run() {
 					System.out.println(windowName + " hasFrame=" + hasFrame);
@@ -245,10 +267,29 @@ public class LayoutFrame extends JFrame {
 		return windowName;
 	}
 
+	private synchronized boolean acquireChannelClient() {
+		// the observer can be registered after the frame has been closed
+		if (this.closed) {
+			return false;
+		}
+		this.channelAcquired = true;
+		return true;
+	}
+
 	public void cleanup() {
 		try {
 			System.out.println(windowName + " cleaning up ");
+			synchronized (this) {
+				this.closed = true;
+				if (this.channelAcquired) {
+					ChannelClientRegistry.getInstance(this.desktopConnection).release(LayoutServiceChannelName);
+					this.channelAcquired = false;
+				}
+			}
 			this.externalWindowObserver.dispose();
+			ListenerTracker tracker = ListenerTracker.getInstance(this.desktopConnection);
+			tracker.removeEventListener(this.window, "group-changed", this.groupChangedListener, null);
+			tracker.ownerClosed(ListenerTracker.ownerOf(this.window));
 		}
 		catch (Exception e) {
 			e.printStackTrace();
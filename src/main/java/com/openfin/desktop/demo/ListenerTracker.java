@@ -0,0 +1,313 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks listeners registered with the adapter per DesktopConnection, to find the ones that are never removed.
+ *
+ * Listeners added through the helpers here are recorded with the code that registered them and the window,
+ * application or topic they belong to.  Calling ownerClosed when a window or application goes away reports the
+ * listeners still registered for it, and getCounts keeps a history of the number of live listeners so steady growth
+ * shows up in long runs.
+ *
+ * <pre>
+ *     ListenerTracker tracker = ListenerTracker.getInstance(desktopConnection);
+ *     tracker.addEventListener(window, "group-changed", listener, null);
+ *     ...
+ *     tracker.removeEventListener(window, "group-changed", listener, null);
+ *     tracker.ownerClosed(ListenerTracker.ownerOf(window));
+ * </pre>
+ */
+public class ListenerTracker {
+    private final static Logger logger = LoggerFactory.getLogger(ListenerTracker.class.getName());
+
+    private static final Map<DesktopConnection, ListenerTracker> trackers = new WeakHashMap<>();
+    private static final int SITE_DEPTH = 6;
+    private static final int MAX_COUNTS = 1000;
+
+    private final Map<Object, Registration> registrations = new ConcurrentHashMap<>();
+    private final List<long[]> counts = new ArrayList<>();  // timestamp, live listeners
+    private final AtomicLong leakCount = new AtomicLong();
+
+    /**
+     * One listener registered with the adapter
+     */
+    public static class Registration {
+        private final String kind;
+        private final String owner;
+        private final String type;
+        private final String site;
+        private final long timestamp;
+
+        Registration(String kind, String owner, String type, String site) {
+            this.kind = kind;
+            this.owner = owner;
+            this.type = type;
+            this.site = site;
+            this.timestamp = java.lang.System.currentTimeMillis();
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * @return stack frames of the code that registered the listener
+         */
+        public String getSite() {
+            return site;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s of %s registered at %s", kind, type, owner, site);
+        }
+    }
+
+    private static class Key {
+        final Object listener;
+        final String owner;
+        final String type;
+
+        Key(Object listener, String owner, String type) {
+            this.listener = listener;
+            this.owner = owner;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return listener == key.listener && owner.equals(key.owner) && type.equals(key.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return (java.lang.System.identityHashCode(listener) * 31 + owner.hashCode()) * 31 + type.hashCode();
+        }
+    }
+
+    private ListenerTracker() {
+    }
+
+    public static ListenerTracker getInstance(DesktopConnection desktopConnection) {
+        synchronized (trackers) {
+            return trackers.computeIfAbsent(desktopConnection, key -> new ListenerTracker());
+        }
+    }
+
+    public static String ownerOf(Window window) {
+        return window.getUuid() + "/" + window.getName();
+    }
+
+    public static String ownerOf(Application application) {
+        return application.getUuid();
+    }
+
+    /**
+     * Record a listener registered with the adapter
+     *
+     * @param kind kind of listener, such as event or bus
+     * @param owner window, application or topic the listener belongs to
+     * @param type event type or topic
+     * @param listener the listener
+     */
+    public void track(String kind, String owner, String type, Object listener) {
+        registrations.put(new Key(listener, owner, type), new Registration(kind, owner, type, registrationSite()));
+    }
+
+    /**
+     * Forget a listener removed from the adapter
+     *
+     * @return true if the listener was tracked
+     */
+    public boolean untrack(String owner, String type, Object listener) {
+        return registrations.remove(new Key(listener, owner, type)) != null;
+    }
+
+    public void addEventListener(Window window, String type, EventListener listener, AckListener ackListener) throws DesktopException {
+        track("event", ownerOf(window), type, listener);
+        window.addEventListener(type, listener, ackListener);
+    }
+
+    public void removeEventListener(Window window, String type, EventListener listener, AckListener ackListener) throws DesktopException {
+        untrack(ownerOf(window), type, listener);
+        window.removeEventListener(type, listener, ackListener);
+    }
+
+    public void addEventListener(Application application, String type, EventListener listener, AckListener ackListener) throws DesktopException {
+        track("event", ownerOf(application), type, listener);
+        application.addEventListener(type, listener, ackListener);
+    }
+
+    public void removeEventListener(Application application, String type, EventListener listener, AckListener ackListener) throws DesktopException {
+        untrack(ownerOf(application), type, listener);
+        application.removeEventListener(type, listener, ackListener);
+    }
+
+    public void subscribe(InterApplicationBus bus, String sourceUuid, String topic, BusListener listener) throws DesktopException {
+        track("bus", sourceUuid, topic, listener);
+        bus.subscribe(sourceUuid, topic, listener);
+    }
+
+    public void subscribe(InterApplicationBus bus, String sourceUuid, String topic, BusListener listener, AckListener ackListener) throws DesktopException {
+        track("bus", sourceUuid, topic, listener);
+        bus.subscribe(sourceUuid, topic, listener, ackListener);
+    }
+
+    public void unsubscribe(InterApplicationBus bus, String sourceUuid, String topic, BusListener listener) throws DesktopException {
+        untrack(sourceUuid, topic, listener);
+        bus.unsubscribe(sourceUuid, topic, listener);
+    }
+
+    /**
+     * Track an ack listener until the adapter calls it
+     *
+     * @param operation name of the operation, used as its type
+     * @param ackListener listener to track
+     * @return listener to pass to the adapter
+     */
+    public AckListener trackAck(String operation, AckListener ackListener) {
+        AckListener tracked = new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+                untrack("ack", operation, this);
+                if (ackListener != null) {
+                    ackListener.onSuccess(ack);
+                }
+            }
+            @Override
+            public void onError(Ack ack) {
+                untrack("ack", operation, this);
+                if (ackListener != null) {
+                    ackListener.onError(ack);
+                }
+            }
+        };
+        track("ack", "ack", operation, tracked);
+        return tracked;
+    }
+
+    /**
+     * Report listeners still registered for a window, application or topic that has gone away.  They are logged with
+     * their registration sites and dropped from tracking.
+     *
+     * @param owner window, application or topic that has gone away
+     * @return listeners that outlived their owner
+     */
+    public List<Registration> ownerClosed(String owner) {
+        List<Registration> leaked = new ArrayList<>();
+        Iterator<Registration> iterator = registrations.values().iterator();
+        while (iterator.hasNext()) {
+            Registration registration = iterator.next();
+            if (registration.owner.equals(owner)) {
+                leaked.add(registration);
+                iterator.remove();
+            }
+        }
+        if (!leaked.isEmpty()) {
+            leakCount.addAndGet(leaked.size());
+            leaked.forEach(registration -> logger.warn(String.format("listener outlived its owner: %s", registration)));
+        }
+        return leaked;
+    }
+
+    /**
+     * @return number of listeners currently registered
+     */
+    public int getActiveCount() {
+        return registrations.size();
+    }
+
+    /**
+     * @return number of listeners currently registered for an owner
+     */
+    public int getActiveCount(String owner) {
+        return (int) registrations.values().stream().filter(registration -> registration.owner.equals(owner)).count();
+    }
+
+    /**
+     * @return number of listeners reported by ownerClosed so far
+     */
+    public long getLeakCount() {
+        return leakCount.get();
+    }
+
+    public List<Registration> getRegistrations() {
+        return new ArrayList<>(registrations.values());
+    }
+
+    /**
+     * Record the number of live listeners, call periodically to build a history for getCounts
+     *
+     * @return number of live listeners
+     */
+    public synchronized int sampleCount() {
+        int active = registrations.size();
+        counts.add(new long[] { java.lang.System.currentTimeMillis(), active });
+        if (counts.size() > MAX_COUNTS) {
+            counts.remove(0);
+        }
+        return active;
+    }
+
+    /**
+     * @return timestamp and number of live listeners of each sample, oldest first
+     */
+    public synchronized List<long[]> getCounts() {
+        return new ArrayList<>(counts);
+    }
+
+    /**
+     * Log live listeners grouped by registration site, most frequent first
+     */
+    public void logSummary() {
+        Map<String, Long> bySite = registrations.values().stream()
+                .collect(Collectors.groupingBy(registration -> registration.kind + " " + registration.type + " at " + registration.site,
+                        LinkedHashMap::new, Collectors.counting()));
+        logger.info(String.format("%d live listeners, %d outlived their owner", registrations.size(), leakCount.get()));
+        bySite.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> logger.info(String.format("%6d %s", entry.getValue(), entry.getKey())));
+    }
+
+    private static String registrationSite() {
+        StackTraceElement[] stack = new Throwable().getStackTrace();
+        int start = 0;
+        while (start < stack.length && (stack[start].getClassName().startsWith(ListenerTracker.class.getName())
+                || stack[start].getClassName().equals(DemoUtils.class.getName()))) {
+            start++;
+        }
+        return Arrays.stream(stack, start, Math.min(stack.length, start + SITE_DEPTH))
+                .map(StackTraceElement::toString)
+                .collect(Collectors.joining(" < "));
+    }
+}
@@ -15,12 +15,26 @@ import java.util.concurrent.atomic.AtomicInteger;
  *  just keeps calling getMachineId API.  It can easily extended to test other APIs.
  *
  *  VisualVM, available from https://visualvm.github.io/, can be used to monitor memory usgage while this code is running
+ *
+ *  Run with argument "soak" to call a weighted mix of APIs for hours instead, while heap, GC, threads and direct
+ *  buffers are sampled.  See SoakHarness for its system properties.  The startup of the connection and of the soak
+ *  window is logged as a waterfall, see StartupTracer.
+ *
+ *  Run with argument "concurrent" to keep several getMachineId calls in flight at once and report throughput, latency
+ *  percentiles and timeouts.
+ *      -Dcom.openfin.demo.concurrent.depth=16          number of calls in flight
+ *      -Dcom.openfin.demo.concurrent.timeout=1000      milliseconds to wait for each ack
+ *      -Dcom.openfin.demo.concurrent.duration=60       seconds to run
+ *
+ *  To record adapter operations with Java Flight Recorder, written to the file when the JVM exits
+ *      -Dcom.openfin.demo.jfr=MemoryProfile.jfr
  */
 
 public class MemoryProfile {
     private final static Logger logger = LoggerFactory.getLogger(MemoryProfile.class.getName());
 
     public static void main(String[] args) {
+        JfrEvents.startRecordingIfEnabled();
         RuntimeConfiguration runtimeConfiguration = new RuntimeConfiguration();
         String connectionUuid = MemoryProfile.class.getName();
         String desktopVersion = java.lang.System.getProperty("com.openfin.demo.version");
@@ -30,10 +44,18 @@ public class MemoryProfile {
         runtimeConfiguration.setRuntimeVersion(desktopVersion);
         try {
             final DesktopConnection desktopConnection = new DesktopConnection(connectionUuid);
+            final StartupTracer startupTracer = new StartupTracer(connectionUuid);
             DesktopStateListener listener = new DesktopStateListener() {
                 @Override
                 public void onReady() {
-                    launchThread(desktopConnection);
+                    logger.info(startupTracer.waterfall());
+                    if (args.length > 0 && "soak".equals(args[0])) {
+                        launchSoak(desktopConnection, startupTracer);
+                    } else if (args.length > 0 && "concurrent".equals(args[0])) {
+                        launchConcurrent(desktopConnection);
+                    } else {
+                        launchThread(desktopConnection);
+                    }
                 }
                 @Override
                 public void onClose(String error) {
@@ -51,7 +73,8 @@ public class MemoryProfile {
                 public void onOutgoingMessage(String message) {
                 }
             };
-            desktopConnection.connect(runtimeConfiguration, listener, 50);
+            startupTracer.start();
+            JfrEvents.connect(desktopConnection, runtimeConfiguration, startupTracer.wrap(listener), 50);
         } catch (Exception e) {
             logger.error("", e);
         }
@@ -67,7 +90,7 @@ public class MemoryProfile {
                 while (shouldRun.get()) {
                     try {
                         CountDownLatch latch = new CountDownLatch(1);
-                        openfinSystem.getMachineId(new AckListener() {
+                        openfinSystem.getMachineId(JfrEvents.ack("getMachineId", new AckListener() {
                             @Override
                             public void onSuccess(Ack ack) {
                                 if (ack.isSuccessful()) {
@@ -83,7 +106,7 @@ public class MemoryProfile {
                                 logger.error(String.format("API failed %s", ack.getReason()));
                                 shouldRun.set(false);
                             }
-                        });
+                        }));
                         latch.await(1, TimeUnit.SECONDS);
                     } catch (Exception ex) {
                         ex.printStackTrace();
@@ -93,4 +116,41 @@ public class MemoryProfile {
         };
         t.start();
     }
+
+    private static void launchSoak(DesktopConnection desktopConnection, StartupTracer startupTracer) {
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                SoakHarness harness = new SoakHarness(desktopConnection);
+                harness.setStartupTracer(startupTracer);
+                try {
+                    harness.start();
+                    harness.awaitFinished();
+                    desktopConnection.disconnect();
+                } catch (Exception ex) {
+                    logger.error("Error running soak", ex);
+                }
+            }
+        };
+        t.start();
+    }
+
+    private static void launchConcurrent(DesktopConnection desktopConnection) {
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                OpenFinRuntime openfinSystem = new OpenFinRuntime(desktopConnection);
+                ConcurrentApiDriver driver = new ConcurrentApiDriver("getMachineId",
+                        Integer.getInteger("com.openfin.demo.concurrent.depth", 16),
+                        Long.getLong("com.openfin.demo.concurrent.timeout", 1000L));
+                try {
+                    driver.run(ack -> openfinSystem.getMachineId(JfrEvents.ack("getMachineId", ack)), Long.getLong("com.openfin.demo.concurrent.duration", 60L));
+                    desktopConnection.disconnect();
+                } catch (Exception ex) {
+                    logger.error("Error running concurrent driver", ex);
+                }
+            }
+        };
+        t.start();
+    }
 }
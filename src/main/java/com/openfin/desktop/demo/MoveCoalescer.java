@@ -0,0 +1,95 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.WindowBounds;
+
+import javax.swing.Timer;
+import java.awt.Point;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces window move events from a drag so at most one is forwarded per frame interval.
+ *
+ * The first move after an idle period is forwarded right away; moves arriving within the interval replace each other
+ * and only the latest one is forwarded when the interval ends.  Call flush before ending the move, so the final
+ * position is never lost.  All methods are meant to be called on the event dispatch thread.
+ *
+ *      -Dcom.openfin.demo.moveInterval=16      (milliseconds between forwarded moves)
+ */
+public class MoveCoalescer {
+
+    /**
+     * Receives the moves that are forwarded
+     */
+    public interface MoveSink {
+        void move(WindowBounds bounds, Point point);
+    }
+
+    private final MoveSink sink;
+    private final Timer timer;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong forwarded = new AtomicLong();
+    private WindowBounds pendingBounds;
+    private Point pendingPoint;
+
+    public MoveCoalescer(MoveSink sink) {
+        this(Integer.getInteger("com.openfin.demo.moveInterval", 16), sink);
+    }
+
+    /**
+     * @param intervalMillis minimum time between forwarded moves
+     * @param sink receives forwarded moves
+     */
+    public MoveCoalescer(int intervalMillis, MoveSink sink) {
+        this.sink = sink;
+        this.timer = new Timer(intervalMillis, e -> tick());
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Offer a move, forwarded now if the previous one is at least an interval old, otherwise kept as the latest
+     */
+    public void offer(WindowBounds bounds, Point point) {
+        received.incrementAndGet();
+        if (timer.isRunning()) {
+            pendingBounds = bounds;
+            pendingPoint = point;
+        } else {
+            forward(bounds, point);
+            timer.start();
+        }
+    }
+
+    /**
+     * Forward the latest pending move, if any, and stop the timer
+     */
+    public void flush() {
+        timer.stop();
+        if (pendingBounds != null) {
+            forward(pendingBounds, pendingPoint);
+        }
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    public long getForwardedCount() {
+        return forwarded.get();
+    }
+
+    private void tick() {
+        if (pendingBounds != null) {
+            forward(pendingBounds, pendingPoint);
+        } else {
+            // nothing moved during the interval, the next move is forwarded right away
+            timer.stop();
+        }
+    }
+
+    private void forward(WindowBounds bounds, Point point) {
+        pendingBounds = null;
+        pendingPoint = null;
+        forwarded.incrementAndGet();
+        sink.move(bounds, point);
+    }
+}
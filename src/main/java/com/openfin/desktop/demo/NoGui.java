@@ -5,16 +5,44 @@ import com.openfin.desktop.*;
 import java.io.IOException;
 import java.lang.System;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Example for launching OpenFin Runtime without Swing
  *
+ * To measure time from when a connection is needed until the first publish is acked, with a connection warmed up by
+ * WarmConnectionManager at JVM start or made on demand
+ *      -Dcom.openfin.demo.firstPublish=warm   (or cold)
+ *      -Dcom.openfin.demo.firstPublish.startupWork=10000   (milliseconds of other startup work before the connection is needed)
+ *
+ * To publish a counter every second for 60 seconds through ResilientConnection; close Runtime meanwhile to see the
+ * publishes made while it is down replayed after the reconnect
+ *      -Dcom.openfin.demo.resilient=60
+ *
  * Created by wche on 9/4/2016.
  */
 public class NoGui {
     private static boolean connected = false;
 
     public static void main(String[] args) {
+        String firstPublish = System.getProperty("com.openfin.demo.firstPublish");
+        if (firstPublish != null) {
+            try {
+                measureFirstPublish("warm".equals(firstPublish));
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+        Integer resilientSeconds = Integer.getInteger("com.openfin.demo.resilient");
+        if (resilientSeconds != null) {
+            try {
+                publishResilient(resilientSeconds);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            return;
+        }
 
         try {
             final DesktopConnection desktopConnection = new DesktopConnection(UUID.randomUUID().toString());
@@ -100,4 +128,43 @@ public class NoGui {
         }
     }
 
+    private static void measureFirstPublish(boolean warm) throws Exception {
+        RuntimeConfiguration cfg = new RuntimeConfiguration();
+        cfg.setRuntimeVersion("stable");
+        WarmConnectionManager manager = new WarmConnectionManager(UUID.randomUUID().toString(), cfg);
+        if (warm) {
+            manager.start();
+        }
+        // stands in for the rest of application startup
+        Thread.sleep(Long.getLong("com.openfin.demo.firstPublish.startupWork", 10000L));
+
+        long start = System.nanoTime();
+        if (!warm) {
+            manager.start();
+        }
+        manager.getConnection()
+                .thenCompose(desktopConnection -> OpenFinFutures.ack("publish",
+                        ackListener -> desktopConnection.getInterApplicationBus().publish("NoGui", "first", ackListener)))
+                .get(120, TimeUnit.SECONDS);
+        System.out.println(String.format("time to first publish %dms with %s connection",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), warm ? "warm" : "cold"));
+        manager.exitRuntime();
+    }
+
+    private static void publishResilient(int seconds) throws Exception {
+        RuntimeConfiguration cfg = new RuntimeConfiguration();
+        cfg.setRuntimeVersion("stable");
+        ResilientConnection connection = new ResilientConnection(UUID.randomUUID().toString(), cfg, 1000);
+        connection.subscribe("*", "NoGui", (sourceUuid, topic, payload) -> System.out.println("NoGui received " + payload));
+        connection.start();
+        for (int i = 0; i < seconds; i++) {
+            connection.publish("NoGui", i);
+            Thread.sleep(1000);
+            System.out.println(String.format("published %d, buffered %d, replayed %d, dropped %d, reconnects %d", i + 1,
+                    connection.getBufferedCount(), connection.getReplayedCount(), connection.getDroppedCount(),
+                    connection.getReconnectCount()));
+        }
+        connection.stop();
+    }
+
 }
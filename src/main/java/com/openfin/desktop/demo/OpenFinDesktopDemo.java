@@ -19,6 +19,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -49,6 +52,18 @@ import org.slf4j.LoggerFactory;
  *  4. to connect to a port of a running instance of OpenFin Runtime (this is a deprecated use of OpenFin API
  *      -Dcom.openfin.demo.port=9000
  *
+ *  5. to log allocation rate of adapter and application threads, and allocation per message, every 10 seconds
+ *      -Dcom.openfin.demo.allocation.sampler=10
+ *
+ *  6. to launch applications listed in a JSON file once connected, in parallel and in dependency order
+ *      -Dcom.openfin.demo.bulkLaunch=apps.json
+ *      -Dcom.openfin.demo.bulkLaunch.parallelism=8
+ *     the file is an array of {"uuid": "...", "name": "...", "url": "...", "dependsOn": ["uuid", ...]}
+ *
+ *  7. to change lines kept in the status panel and how often it is refreshed
+ *      -Dcom.openfin.demo.status.maxLines=1000
+ *      -Dcom.openfin.demo.status.fps=30
+ *
  *
  * Created by wche on 2/28/15.
  *
@@ -87,9 +102,12 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
     protected LoadAppsDialog loadAppsDialog;
 
     protected JTextArea status;
+    private final StatusLogModel statusLog = new StatusLogModel();
 
     private JLabel uuidLabel, nameLabel, versionLabel, urlLabel, resizeLabel, autoShowLabel, frameLabel;
 
+    private final AllocationSampler allocationSampler = AllocationSampler.startIfEnabled("OpenFinDesktopDemo");
+
 
     public OpenFinDesktopDemo() {
         this.appCreateDialog = new AppCreateDialog();
@@ -380,6 +398,7 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
         status.setLineWrap(true);
         status.setMinimumSize(new Dimension(40, 100));
         status.setPreferredSize(new Dimension(40, 100));
+        statusLog.attach(status);
         JScrollPane statusPane = new JScrollPane(status);
         statusPane.setVerticalScrollBarPolicy(
                 JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
@@ -434,24 +453,7 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
 
     private void updateMessagePanel(final String msg) {
         java.lang.System.out.println(msg);
-        if (SwingUtilities.isEventDispatchThread()) {
-            String t = "";
-            if (status.getText().length() > 0) {
-
-                t = status.getText();
-            }
-            StringBuilder b = new StringBuilder();
-            b.append(msg).append("\n").append(t);
-            status.setText(b.toString());
-            status.setCaretPosition(0);
-        } else {
-            SwingUtilities.invokeLater(new Runnable() {
-                @Override
-                public void run() {
-                    updateMessagePanel(msg);
-                }
-            });
-        }
+        statusLog.append(msg);
     }
 
     private void resetUI() {
@@ -504,6 +506,7 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
 
         updateMessagePanel("Connected to Desktop");
         setMainButtonsEnabled(true);
+        bulkLaunch();
 
         openfinSystem.addEventListener("desktop-icon-clicked", new EventListener() {
             @Override
@@ -521,7 +524,7 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
         });
 
         try {
-            bus.subscribe("*", "demo-topic", new BusListener() {
+            ListenerTracker.getInstance(desktopConnection).subscribe(bus, "*", "demo-topic", new BusListener() {
                 @Override
                 public void onMessageReceived(String sourceUuid, String topic, Object payload) {
                     java.lang.System.out.println(String.format("Message from %s: %s ", sourceUuid, payload.toString()));
@@ -572,11 +575,17 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
             @Override
             public void onMessage(String message) {
 //                updateMessagePanel("-->FROM DESKTOP-" + message);
+                if (allocationSampler != null) {
+                    allocationSampler.messageReceived();
+                }
             }
 
             @Override
             public void onOutgoingMessage(String message) {
 //                updateMessagePanel("<--TO DESKTOP-" + message);
+                if (allocationSampler != null) {
+                    allocationSampler.messageSent();
+                }
             }
         };
 
@@ -632,19 +641,19 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
                 }
             } else if ("move left".equals(e.getActionCommand())) {
                 if (this.selectedApplication != null) {
-                    this.selectedApplication.getWindow().moveBy(-10, 0, null);
+                    moveSelectedBy(-10, 0);
                 }
             } else if ("move right".equals(e.getActionCommand())) {
                 if (this.selectedApplication != null) {
-                    this.selectedApplication.getWindow().moveBy(10, 0, null);
+                    moveSelectedBy(10, 0);
                 }
             } else if ("move up".equals(e.getActionCommand())) {
                 if (this.selectedApplication != null) {
-                    this.selectedApplication.getWindow().moveBy(0, -10, null);
+                    moveSelectedBy(0, -10);
                 }
             } else if ("move down".equals(e.getActionCommand())) {
                 if (this.selectedApplication != null) {
-                    this.selectedApplication.getWindow().moveBy(0, 10, null);
+                    moveSelectedBy(0, 10);
 
 
                     this.selectedApplication.getWindow().getNativeId(new AckListener() {
@@ -666,6 +675,14 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
         }
     }
 
+    private void moveSelectedBy(int deltaLeft, int deltaTop) {
+        new WindowBoundsBatch().moveBy(this.selectedApplication.getWindow(), deltaLeft, deltaTop).apply()
+                .exceptionally(error -> {
+                    logger.error("Error moving window", error);
+                    return null;
+                });
+    }
+
     private void createNotification() throws Exception {
         NotificationOptions opt = new NotificationOptions("Notification from Java", "Write once, run everywhere", "Category");
         opt.setSticky(NotificationOptions.STICKY_STICKY);
@@ -681,16 +698,15 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
     }
 
     private void testOpacity() {
-        this.selectedApplication.getWindow().getOptions(new AsyncCallback<WindowOptions>() {
-            @Override
-            public void onSuccess(WindowOptions result) {
-                java.lang.System.out.println("getOptions: " + result.getJson().toString());
-                double opacity = result.getOpacity() > 0.5 ? 0.5 : 1;
-                WindowOptions options = new WindowOptions();
-                options.setOpacity(opacity);
-                selectedApplication.getWindow().updateOptions(options, null);
-            }
-        }, null);
+        Window window = this.selectedApplication.getWindow();
+        WindowStateCache cache = WindowStateCache.getInstance(this.desktopConnection);
+        cache.getOptions(window).thenAccept(result -> {
+            java.lang.System.out.println("getOptions: " + result.getJson().toString());
+            double opacity = result.getOpacity() > 0.5 ? 0.5 : 1;
+            WindowOptions options = new WindowOptions();
+            options.setOpacity(opacity);
+            cache.updateOptions(window, options);
+        });
     }
 
     private void testRoundedCorners() {
@@ -711,32 +727,28 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
     }
 
     private void testOpacityAnimation() {
-        this.selectedApplication.getWindow().getOptions(new AsyncCallback<WindowOptions>() {
-            @Override
-            public void onSuccess(WindowOptions result) {
-                double opacity = result.getOpacity() > 0.5 ? 0.5 : 1;
-                OpacityTransition ot = new OpacityTransition();
-                ot.setDuration(3000);
-                ot.setOpacity(opacity);
-                AnimationTransitions at = new AnimationTransitions();
-                at.setOpacity(ot);
-                selectedApplication.getWindow().animate(at, null, null);
-            }
-        }, null);
+        Window window = this.selectedApplication.getWindow();
+        WindowStateCache.getInstance(this.desktopConnection).getOptions(window).thenAccept(result -> {
+            double opacity = result.getOpacity() > 0.5 ? 0.5 : 1;
+            OpacityTransition ot = new OpacityTransition();
+            ot.setDuration(3000);
+            ot.setOpacity(opacity);
+            AnimationTransitions at = new AnimationTransitions();
+            at.setOpacity(ot);
+            window.animate(at, null, null);
+        });
     }
 
     private void testPositionAnimation() {
-        this.selectedApplication.getWindow().getBounds(new AsyncCallback<WindowBounds>() {
-            @Override
-            public void onSuccess(WindowBounds result) {
-                int top = result.getTop();
-                top = top > 100? 100 : 400;
-                PositionTransition pt = new PositionTransition(top, top, 3000);
-                AnimationTransitions at = new AnimationTransitions();
-                at.setPosition(pt);
-                selectedApplication.getWindow().animate(at, null, null);
-            }
-        }, null);
+        Window window = this.selectedApplication.getWindow();
+        WindowStateCache.getInstance(this.desktopConnection).getBounds(window).thenAccept(result -> {
+            int top = result.getTop();
+            top = top > 100? 100 : 400;
+            PositionTransition pt = new PositionTransition(top, top, 3000);
+            AnimationTransitions at = new AnimationTransitions();
+            at.setPosition(pt);
+            window.animate(at, null, null);
+        });
     }
 
     private void setMainButtonsEnabled(boolean enabled) {
@@ -826,6 +838,51 @@ public class OpenFinDesktopDemo extends JPanel implements ActionListener, Window
         this.applicationList.put(options.getUUID(), app);
     }
 
+    private void bulkLaunch() {
+        String file = java.lang.System.getProperty("com.openfin.demo.bulkLaunch");
+        if (file == null) {
+            return;
+        }
+        try {
+            JSONArray apps = new JSONArray(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+            BulkLauncher launcher = new BulkLauncher(desktopConnection,
+                    Integer.getInteger("com.openfin.demo.bulkLaunch.parallelism", 8), true);
+            java.util.Map<String, ApplicationOptions> launched = new HashMap<>();
+            for (int i = 0; i < apps.length(); i++) {
+                JSONObject app = apps.getJSONObject(i);
+                String uuid = app.getString("uuid");
+                ApplicationOptions options = new ApplicationOptions(app.optString("name", uuid), uuid, app.getString("url"));
+                WindowOptions mainWindowOptions = new WindowOptions();
+                mainWindowOptions.setAutoShow(true);
+                mainWindowOptions.setFrame(true);
+                mainWindowOptions.setResizable(true);
+                options.setMainWindowOptions(mainWindowOptions);
+                JSONArray dependsOn = app.optJSONArray("dependsOn");
+                String[] dependencies = new String[dependsOn != null ? dependsOn.length() : 0];
+                for (int j = 0; j < dependencies.length; j++) {
+                    dependencies[j] = dependsOn.getString(j);
+                }
+                launcher.add(options, dependencies);
+                launched.put(uuid, options);
+            }
+            updateMessagePanel(String.format("Launching %d applications from %s", apps.length(), file));
+            launcher.launch().thenAccept(result -> {
+                result.log();
+                SwingUtilities.invokeLater(() -> {
+                    result.getApplications().forEach((uuid, application) -> {
+                        this.applicationList.put(uuid, application);
+                        addApplication(launched.get(uuid));
+                    });
+                    result.getFailures().forEach((uuid, error) -> updateMessagePanel(String.format("Failed to launch %s: %s", uuid, error.getMessage())));
+                    updateMessagePanel(String.format("Launched %d applications in %dms", result.getApplications().size(), result.getTotalMillis()));
+                });
+            });
+        } catch (Exception e) {
+            logger.error("Error launching applications from " + file, e);
+            updateMessagePanel("Error launching applications: " + e.getMessage());
+        }
+    }
+
     private void addApplication(ApplicationOptions options) {
         setAppButtonsEnabled(true);
         ((DefaultListModel) this.activeApplications.getModel()).addElement(" " + options.getName());
@@ -0,0 +1,304 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * CompletableFuture versions of Application, Window and OpenFinRuntime calls.
+ *
+ * Every future completes: with the result, exceptionally with a DesktopException if the call fails or throws, or
+ * exceptionally with a TimeoutException if no ack arrives in time, so calls can be chained and run in parallel
+ * without nesting AckListeners.
+ *
+ * <pre>
+ *     OpenFinFutures.createApplication(options, desktopConnection)
+ *             .thenCompose(application -&gt; OpenFinFutures.runApplication(application, true))
+ *             .thenAccept(application -&gt; ...);
+ * </pre>
+ *
+ *  Default timeout in milliseconds can be changed with
+ *      -Dcom.openfin.demo.async.timeout=30000
+ */
+public class OpenFinFutures {
+    private final static Logger logger = LoggerFactory.getLogger(OpenFinFutures.class.getName());
+
+    private static final long DEFAULT_TIMEOUT = Long.getLong("com.openfin.demo.async.timeout", 30000L);
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "OpenFinFutures");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * A call that reports its outcome to an AckListener
+     */
+    public interface AckCall {
+        void call(AckListener ackListener) throws Exception;
+    }
+
+    /**
+     * A call that reports its result to an AsyncCallback and failures to an AckListener
+     */
+    public interface CallbackCall<T> {
+        void call(AsyncCallback<T> callback, AckListener ackListener) throws Exception;
+    }
+
+    private OpenFinFutures() {
+    }
+
+    public static long getDefaultTimeout() {
+        return DEFAULT_TIMEOUT;
+    }
+
+    /**
+     * Complete a future exceptionally with a TimeoutException if it is not done in time
+     *
+     * @param future future to time out
+     * @param timeoutMillis time to wait
+     * @param operation name of the operation, used in the exception message
+     * @return the same future
+     */
+    public static <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future, long timeoutMillis, String operation) {
+        if (!future.isDone()) {
+            ScheduledFuture<?> timeout = timer.schedule(() -> {
+                if (future.completeExceptionally(new TimeoutException(String.format("%s timed out after %dms", operation, timeoutMillis)))) {
+                    logger.warn(String.format("%s timed out after %dms", operation, timeoutMillis));
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            future.whenComplete((result, error) -> timeout.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * @return future completed with the ack of a successful call
+     */
+    public static CompletableFuture<Ack> ack(String operation, AckCall call) {
+        return ack(operation, call, DEFAULT_TIMEOUT);
+    }
+
+    public static CompletableFuture<Ack> ack(String operation, AckCall call, long timeoutMillis) {
+        CompletableFuture<Ack> future = new CompletableFuture<>();
+        try {
+            call.call(new AckListener() {
+                @Override
+                public void onSuccess(Ack ack) {
+                    if (ack.isSuccessful()) {
+                        future.complete(ack);
+                    } else {
+                        future.completeExceptionally(new DesktopException(String.format("%s failed: %s", operation, ack.getReason())));
+                    }
+                }
+                @Override
+                public void onError(Ack ack) {
+                    future.completeExceptionally(new DesktopException(String.format("%s failed: %s", operation, ack.getReason())));
+                }
+            });
+        } catch (Exception ex) {
+            future.completeExceptionally(ex instanceof DesktopException ? ex : new DesktopException(ex));
+        }
+        return withTimeout(future, timeoutMillis, operation);
+    }
+
+    /**
+     * @return future completed with the result passed to the AsyncCallback
+     */
+    public static <T> CompletableFuture<T> callback(String operation, CallbackCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            call.call(future::complete, new AckListener() {
+                @Override
+                public void onSuccess(Ack ack) {
+                    if (!ack.isSuccessful()) {
+                        future.completeExceptionally(new DesktopException(String.format("%s failed: %s", operation, ack.getReason())));
+                    }
+                }
+                @Override
+                public void onError(Ack ack) {
+                    future.completeExceptionally(new DesktopException(String.format("%s failed: %s", operation, ack.getReason())));
+                }
+            });
+        } catch (Exception ex) {
+            future.completeExceptionally(ex instanceof DesktopException ? ex : new DesktopException(ex));
+        }
+        return withTimeout(future, DEFAULT_TIMEOUT, operation);
+    }
+
+    /**
+     * @return future completed with the application once it has been created
+     */
+    public static CompletableFuture<Application> createApplication(ApplicationOptions options, DesktopConnection desktopConnection) {
+        CompletableFuture<Application> future = new CompletableFuture<>();
+        // the ack can arrive before the constructor returns
+        CompletableFuture<Ack> created = new CompletableFuture<>();
+        try {
+            Application application = new Application(options, desktopConnection, new AckListener() {
+                @Override
+                public void onSuccess(Ack ack) {
+                    created.complete(ack);
+                }
+                @Override
+                public void onError(Ack ack) {
+                    created.completeExceptionally(new DesktopException(String.format("create %s failed: %s", options.getUUID(), ack.getReason())));
+                }
+            });
+            created.whenComplete((ack, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(application);
+                }
+            });
+        } catch (Exception ex) {
+            future.completeExceptionally(ex instanceof DesktopException ? ex : new DesktopException(ex));
+        }
+        return withTimeout(future, DEFAULT_TIMEOUT, "create " + options.getUUID());
+    }
+
+    /**
+     * Run an application and wait until it has started, or until its main window has connected to Runtime
+     *
+     * @param application application to run
+     * @param checkAppConnected if true wait for app-connected of the main window, otherwise for started
+     * @return future completed with the application
+     */
+    public static CompletableFuture<Application> runApplication(Application application, boolean checkAppConnected) {
+        return runApplication(application, checkAppConnected, null);
+    }
+
+    /**
+     * Run an application, reporting its startup phases
+     *
+     * @param onPhase called with the StartupTracer phases run-called, run-acked, started and, if checkAppConnected,
+     *                app-connected as they happen.  May be null.
+     */
+    public static CompletableFuture<Application> runApplication(Application application, boolean checkAppConnected,
+                                                                Consumer<String> onPhase) {
+        String uuid = application.getUuid();
+        Consumer<String> phases = onPhase != null ? onPhase : phase -> { };
+        CompletableFuture<Application> future = new CompletableFuture<>();
+        String eventType = checkAppConnected ? "app-connected" : "started";
+        EventListener listener = actionEvent -> {
+            if (eventType.equals(actionEvent.getType())) {
+                phases.accept(eventType);
+                future.complete(application);
+            }
+        };
+        ListenerTracker tracker = ListenerTracker.getInstance(application.getConnection());
+        CompletableFuture<Ack> added;
+        if (checkAppConnected) {
+            Window window = application.getWindow();
+            added = ack("addEventListener " + eventType, ackListener ->
+                    tracker.addEventListener(window, eventType, listener, ackListener));
+            future.whenComplete((result, error) -> DemoUtils.removeEventListener(window, eventType, listener));
+            if (onPhase != null) {
+                // started comes before app-connected, only needed for the phase
+                EventListener startedListener = actionEvent -> phases.accept(StartupTracer.STARTED);
+                added = added.thenCompose(ack -> ack("addEventListener started", ackListener ->
+                        tracker.addEventListener(application, "started", startedListener, ackListener)));
+                future.whenComplete((result, error) -> DemoUtils.removeEventListener(application, "started", startedListener));
+            }
+        } else {
+            added = ack("addEventListener " + eventType, ackListener ->
+                    tracker.addEventListener(application, eventType, listener, ackListener));
+            future.whenComplete((result, error) -> DemoUtils.removeEventListener(application, eventType, listener));
+        }
+        added.thenCompose(ack -> {
+                    phases.accept(StartupTracer.RUN_CALLED);
+                    return ack("run " + uuid, application::run);
+                })
+                .whenComplete((ack, error) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    } else {
+                        phases.accept(StartupTracer.RUN_ACKED);
+                    }
+                });
+        return withTimeout(future, DEFAULT_TIMEOUT, "run " + uuid);
+    }
+
+    /**
+     * Create and run an application
+     */
+    public static CompletableFuture<Application> runApplication(ApplicationOptions options, DesktopConnection desktopConnection, boolean checkAppConnected) {
+        return runApplication(options, desktopConnection, checkAppConnected, null);
+    }
+
+    /**
+     * Create and run an application, reporting create-called and created as well as the phases of running it
+     */
+    public static CompletableFuture<Application> runApplication(ApplicationOptions options, DesktopConnection desktopConnection,
+                                                                boolean checkAppConnected, Consumer<String> onPhase) {
+        if (onPhase != null) {
+            onPhase.accept(StartupTracer.CREATE_CALLED);
+        }
+        return createApplication(options, desktopConnection).thenCompose(application -> {
+            if (onPhase != null) {
+                onPhase.accept(StartupTracer.CREATED);
+            }
+            return runApplication(application, checkAppConnected, onPhase);
+        });
+    }
+
+    public static CompletableFuture<Ack> closeApplication(Application application, boolean force) {
+        return ack("close " + application.getUuid(), ackListener -> application.close(force, ackListener));
+    }
+
+    public static CompletableFuture<WindowBounds> getBounds(Window window) {
+        return callback("getBounds " + window.getName(), window::getBounds);
+    }
+
+    public static CompletableFuture<Ack> setBounds(Window window, int left, int top, int width, int height) {
+        return ack("setBounds " + window.getName(), ackListener -> window.setBounds(left, top, width, height, ackListener));
+    }
+
+    public static CompletableFuture<WindowOptions> getOptions(Window window) {
+        return callback("getOptions " + window.getName(), window::getOptions);
+    }
+
+    public static CompletableFuture<Ack> updateOptions(Window window, WindowOptions options) {
+        return ack("updateOptions " + window.getName(), ackListener -> window.updateOptions(options, ackListener));
+    }
+
+    /**
+     * @return future completed with the next event of a type on a window, the listener is removed afterwards
+     */
+    public static CompletableFuture<ActionEvent> nextEvent(Window window, String eventType, long timeoutMillis) {
+        CompletableFuture<ActionEvent> future = new CompletableFuture<>();
+        EventListener listener = future::complete;
+        ack("addEventListener " + eventType, ackListener ->
+                ListenerTracker.getInstance(window.getConnection()).addEventListener(window, eventType, listener, ackListener))
+                .whenComplete((ack, error) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                    }
+                });
+        future.whenComplete((event, error) -> DemoUtils.removeEventListener(window, eventType, listener));
+        return withTimeout(future, timeoutMillis, eventType + " of " + window.getName());
+    }
+
+    public static CompletableFuture<Ack> getMachineId(OpenFinRuntime runtime) {
+        return ack("getMachineId", runtime::getMachineId);
+    }
+
+    public static CompletableFuture<Ack> getVersion(OpenFinRuntime runtime) {
+        return ack("getVersion", runtime::getVersion);
+    }
+
+    public static CompletableFuture<Ack> getProcessList(OpenFinRuntime runtime) {
+        return ack("getProcessList", runtime::getProcessList);
+    }
+
+    public static CompletableFuture<Ack> getAllApplications(OpenFinRuntime runtime) {
+        return ack("getAllApplications", runtime::getAllApplications);
+    }
+}
@@ -21,6 +21,14 @@ import java.util.*;
  *      -Dcom.openfin.demo.publish.size=1024
  *  5. to specify numbers of threads to publish messages
  *      -Dcom.openfin.demo.publish.threads=2
+ *  6. to log allocation rate of adapter and application threads, and allocation per message, every 10 seconds
+ *      -Dcom.openfin.demo.allocation.sampler=10
+ *  7. to record adapter operations with Java Flight Recorder, written to the file when the JVM exits
+ *      -Dcom.openfin.demo.jfr=PubSubTest.jfr
+ *
+ * The connection is made by a WarmConnectionManager started first thing in main, so it is ready, or nearly, by the
+ * time the publisher or subscriber is set up.  The manager reconnects if the connection is lost, and the publisher and
+ * subscriber subscribe again on each new connection.
  **
  * Created by wche on 9/26/2016.
  */
@@ -30,8 +38,12 @@ public class PubSubTest {
     private static String TOPIC = "Java_performance_test";
     private static String TOPIC_RESPONSE = "Java_performance_test_RESPONSE";
 
+    private static WarmConnectionManager connectionManager;
+
     private Publisher publisher;
     private Subscriber subscriber;
+    // one per JVM, thread allocation is JVM-wide so publisher and subscriber share it
+    private final AllocationSampler allocationSampler = AllocationSampler.startIfEnabled("PubSubTest");
     void startPublisher() {
         this.publisher = new Publisher();
         this.publisher.launch();
@@ -41,22 +53,20 @@ public class PubSubTest {
         this.subscriber.launch();
     }
 
-    private void startRuntime(DesktopConnection desktopConnection, DesktopStateListener listener) {
+    private static void startRuntime() {
         String desktopVersion = java.lang.System.getProperty("com.openfin.demo.runtime.version");
         if (desktopVersion == null) {
             desktopVersion = "stable";
         }
-        try {
-            RuntimeConfiguration configuration = new RuntimeConfiguration();
-            configuration.setRuntimeVersion(desktopVersion);
-            logger.info(String.format("Connecting to Runtime %s", desktopVersion));
-            desktopConnection.connect(configuration, listener, 60);
-        } catch (Exception ex) {
-            logger.error("Error launching Runtime", ex);
-        }
+        RuntimeConfiguration configuration = new RuntimeConfiguration();
+        configuration.setRuntimeVersion(desktopVersion);
+        logger.info(String.format("Connecting to Runtime %s", desktopVersion));
+        connectionManager = new WarmConnectionManager(UUID.randomUUID().toString(), configuration);
+        connectionManager.start();
     }
-    private class Publisher implements DesktopStateListener {
-        private DesktopConnection desktopConnection;
+    private class Publisher {
+        private volatile DesktopConnection desktopConnection;
+        private boolean publishing;
         private long publishFrequency;
         private long publishMessageSize;
         private String body;  // message body
@@ -90,7 +100,6 @@ public class PubSubTest {
                 for (int i = 0; i < this.threadCount; i++) {
                     this.publishTimers.add(new java.util.Timer());
                 }
-                desktopConnection = new DesktopConnection(UUID.randomUUID().toString());
 
                 this.statsThread = new Thread() {
                     public void run() {
@@ -120,7 +129,7 @@ public class PubSubTest {
             }
         }
         void launch() {
-            startRuntime(this.desktopConnection, this);
+            connectionManager.addReadyListener(this::onReady);
         }
 
         private String createMessageBody(long size) {
@@ -131,18 +140,25 @@ public class PubSubTest {
 //            return sb.toString();
             return "[{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.5\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  23:15:01\",\"lastErrorTime\":\"22 JUN 2017  07:32:35\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1553365\",\"index\":1,\"ricName\":\"AMNDOUSDINRSPT02W:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"5.0\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  14:12:22\",\"lastErrorTime\":\"21 JUN 2017  09:32:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1553318\",\"index\":2,\"ricName\":\"AMNDOUSDKRWSPT04M:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"5.0\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  14:12:22\",\"lastErrorTime\":\"22 JUN 2017  10:02:28\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1553600\",\"index\":3,\"ricName\":\"AMNDOUSDKRWSPT05M:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  14:12:22\",\"lastErrorTime\":\"20 JUN 2017  18:39:51\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1553431\",\"index\":4,\"ricName\":\"AMNDOUSDPHPSPT02W:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  14:12:22\",\"lastErrorTime\":\"21 JUN 2017  09:32:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1553453\",\"index\":5,\"ricName\":\"AMNDOUSDPHPSPT04M:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  14:12:22\",\"lastErrorTime\":\"20 JUN 2017  18:39:51\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1553464\",\"index\":6,\"ricName\":\"AMNDOUSDPHPSPT05M:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"1941:1958\",\"testValue\":\"0.1\",\"currentValue\":\"0.253/0.253\",\"lgv\":\"0.253/0.253\",\"firstErrorTime\":\"22 JUN 2017  12:19:41\",\"lastErrorTime\":\"22 JUN 2017  12:20:09\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"146623\",\"index\":7,\"ricName\":\"ASIRREUR06YSNP:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"1975\",\"testValue\":\"0.1\",\"currentValue\":\"0.256\",\"lgv\":\"0.256\",\"firstErrorTime\":\"22 JUN 2017  12:19:41\",\"lastErrorTime\":\"22 JUN 2017  12:20:09\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"146626\",\"index\":8,\"ricName\":\"ASIRREUR06YSNP:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.0001\",\"currentValue\":\"0.7892/0.7894\",\"lgv\":\"0.7871/0.7873\",\"firstErrorTime\":\"21 JUN 2017  13:00:43\",\"lastErrorTime\":\"22 JUN 2017  12:14:21\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"3606065\",\"index\":9,\"ricName\":\"CQSPTUSDGBPSPT:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"134\",\"testValue\":\"5\",\"currentValue\":\"3584.2\",\"lgv\":\"3592.15\",\"firstErrorTime\":\"21 JUN 2017  21:35:59\",\"lastErrorTime\":\"22 JUN 2017  11:12:01\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2509977\",\"index\":10,\"ricName\":\"CQSPTUSDUGXSPT:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"5.0\",\"currentValue\":\"50.5/52.5\",\"lgv\":\"43.88/45.88\",\"firstErrorTime\":\"22 JUN 2017  11:12:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:18\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1030532\",\"index\":11,\"ricName\":\"EGEPKGB-WK3:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"134\",\"testValue\":\"5.0\",\"currentValue\":\"259.11\",\"lgv\":\"247.98\",\"firstErrorTime\":\"21 JUN 2017  08:36:37\",\"lastErrorTime\":\"22 JUN 2017  11:23:01\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2610625\",\"index\":12,\"ricName\":\"EGFOI1CNM34:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullCheck\",\"failedFid\":\"22:25\",\"testValue\":\"\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  14:12:54\",\"lastErrorTime\":\"20 JUN 2017  14:12:54\",\"park\":\"Park\",\"setLGV\":\"\",\"testId\":\"696639\",\"index\":13,\"ricName\":\"EGPOVDE-M04:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NonNumeric\",\"failedFid\":\"22:25\",\"testValue\":\"\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  14:12:54\",\"lastErrorTime\":\"20 JUN 2017  14:12:54\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"697299\",\"index\":14,\"ricName\":\"EGPOVDE-M04:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"22\",\"testValue\":\"0.15\",\"currentValue\":\"1.45\",\"lgv\":\"2.27\",\"firstErrorTime\":\"22 JUN 2017  06:45:20\",\"lastErrorTime\":\"22 JUN 2017  12:12:55\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1625043\",\"index\":15,\"ricName\":\"EMFWDEURHUFSPT01W:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"22:25\",\"testValue\":\"0.15\",\"currentValue\":\"2.55/6.18\",\"lgv\":\"-0.73/2.9\",\"firstErrorTime\":\"22 JUN 2017  08:18:31\",\"lastErrorTime\":\"22 JUN 2017  12:12:55\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1625059\",\"index\":16,\"ricName\":\"EMFWDEURHUFSPT02W:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"22:25\",\"testValue\":\"0.15\",\"currentValue\":\"1.0/1.28\",\"lgv\":\"0.24/0.5\",\"firstErrorTime\":\"22 JUN 2017  06:59:22\",\"lastErrorTime\":\"22 JUN 2017  12:12:55\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1625155\",\"index\":17,\"ricName\":\"EMFWDEURHUFTOMSPT:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullCheck\",\"failedFid\":\"22:25\",\"testValue\":\"(blank data)\",\"currentValue\":\"(blank data)/(blank data)\",\"lgv\":\"6.6556/6.6557\",\"firstErrorTime\":\"22 JUN 2017  07:00:08\",\"lastErrorTime\":\"22 JUN 2017  12:14:14\",\"park\":\"Park\",\"setLGV\":\"\",\"testId\":\"973316\",\"index\":18,\"ricName\":\"EMFWOUSDHRKTDYTOM:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"Equal\",\"failedFid\":\"22:25\",\"testValue\":\"(blank data)\",\"currentValue\":\"1226.29/1226.29\",\"lgv\":\"n/a\",\"firstErrorTime\":\"21 JUN 2017  23:00:06\",\"lastErrorTime\":\"21 JUN 2017  23:00:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2668005\",\"index\":19,\"ricName\":\"EMIDPGHSSPT01M:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"ZeroCheck\",\"failedFid\":\"22\",\"testValue\":\"(blank data)\",\"currentValue\":\"0.00\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:12:32\",\"lastErrorTime\":\"20 JUN 2017  14:12:32\",\"park\":\"Park\",\"setLGV\":\"\",\"testId\":\"1742486\",\"index\":20,\"ricName\":\"EMOISHUF06MA0AHUF:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"1642\",\"testValue\":\"0.40\",\"currentValue\":\"145.1\",\"lgv\":\"334.06\",\"firstErrorTime\":\"21 JUN 2017  11:05:35\",\"lastErrorTime\":\"22 JUN 2017  12:10:41\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"3305256\",\"index\":21,\"ricName\":\"G4RZTGBP02Y02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22\",\"testValue\":\"5\",\"currentValue\":\"(blank data)\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:12:25\",\"lastErrorTime\":\"20 JUN 2017  18:39:51\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2606621\",\"index\":22,\"ricName\":\"IHGRDTEST3:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.5\",\"currentValue\":\"6.95/7.03\",\"lgv\":\"7.86/7.99\",\"firstErrorTime\":\"22 JUN 2017  05:32:12\",\"lastErrorTime\":\"22 JUN 2017  12:09:55\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"450347\",\"index\":23,\"ricName\":\"MNFWDCHFJPYSPT01M:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"22:25\",\"testValue\":\"0.20\",\"currentValue\":\"0.05/0.05\",\"lgv\":\"0.15/0.16\",\"firstErrorTime\":\"21 JUN 2017  23:00:31\",\"lastErrorTime\":\"22 JUN 2017  06:06:15\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1562244\",\"index\":24,\"ricName\":\"MNFWDNOKAUDSPTNXT:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"25\",\"testValue\":\"0.15\",\"currentValue\":\"1.5\",\"lgv\":\"0.2\",\"firstErrorTime\":\"22 JUN 2017  06:31:17\",\"lastErrorTime\":\"22 JUN 2017  06:31:20\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2794379\",\"index\":25,\"ricName\":\"MWFWDUSDBHITOMSPT:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"22:25\",\"testValue\":\"0.15\",\"currentValue\":\"0.2/0.5\",\"lgv\":\"1.0/2.0\",\"firstErrorTime\":\"22 JUN 2017  06:22:05\",\"lastErrorTime\":\"22 JUN 2017  06:22:07\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2678492\",\"index\":26,\"ricName\":\"MWFWDUSDSAITOMSPT:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"22:25\",\"testValue\":\"0.15\",\"currentValue\":\"220.0/260.0\",\"lgv\":\"130.0/170.0\",\"firstErrorTime\":\"21 JUN 2017  07:51:48\",\"lastErrorTime\":\"22 JUN 2017  07:47:38\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1284733\",\"index\":27,\"ricName\":\"MWFWDUSDSARSPT12M:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"134\",\"testValue\":\"0.50\",\"currentValue\":\"0.5\",\"lgv\":\"0.3\",\"firstErrorTime\":\"21 JUN 2017  12:24:51\",\"lastErrorTime\":\"22 JUN 2017  12:10:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"477200\",\"index\":28,\"ricName\":\"SOSPHGBP03M02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"134\",\"testValue\":\"0.30\",\"currentValue\":\"6.3\",\"lgv\":\"3.8\",\"firstErrorTime\":\"21 JUN 2017  11:50:05\",\"lastErrorTime\":\"22 JUN 2017  11:00:01\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1594340\",\"index\":29,\"ricName\":\"SOSPHZAR01M05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.10\",\"currentValue\":\"0.015\",\"lgv\":\"0.017\",\"firstErrorTime\":\"22 JUN 2017  12:03:15\",\"lastErrorTime\":\"22 JUN 2017  12:13:15\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"484477\",\"index\":30,\"ricName\":\"SOSR1DKK03M10Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.10\",\"currentValue\":\"-0.167\",\"lgv\":\"-0.144\",\"firstErrorTime\":\"21 JUN 2017  15:00:03\",\"lastErrorTime\":\"22 JUN 2017  12:00:02\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2942602\",\"index\":31,\"ricName\":\"SOSR1HUF02Y01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.10\",\"currentValue\":\"0.125\",\"lgv\":\"0.155\",\"firstErrorTime\":\"21 JUN 2017  15:00:11\",\"lastErrorTime\":\"22 JUN 2017  12:00:15\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"485485\",\"index\":32,\"ricName\":\"SOSR1HUF02Y02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"996\",\"testValue\":\"0.15\",\"currentValue\":\"14.8\",\"lgv\":\"8.9\",\"firstErrorTime\":\"21 JUN 2017  11:05:50\",\"lastErrorTime\":\"22 JUN 2017  12:10:31\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2655485\",\"index\":33,\"ricName\":\"SOSURGBP01YSZQ:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"996\",\"testValue\":\"0.15\",\"currentValue\":\"54.0\",\"lgv\":\"40.0\",\"firstErrorTime\":\"21 JUN 2017  11:05:50\",\"lastErrorTime\":\"22 JUN 2017  12:10:31\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2655599\",\"index\":34,\"ricName\":\"SOSURGBP02YSZQ:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.4\",\"currentValue\":\"0.029\",\"lgv\":\"(blank data)\",\"firstErrorTime\":\"21 JUN 2017  10:33:05\",\"lastErrorTime\":\"22 JUN 2017  12:13:05\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"901329\",\"index\":35,\"ricName\":\"SOSWODKK18M01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.1\",\"currentValue\":\"0.046\",\"lgv\":\"0.029\",\"firstErrorTime\":\"21 JUN 2017  11:20:26\",\"lastErrorTime\":\"22 JUN 2017  07:50:28\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"957399\",\"index\":36,\"ricName\":\"SOSWOSEK18M01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"134\",\"testValue\":\"0.50\",\"currentValue\":\"0.2\",\"lgv\":\"0.1\",\"firstErrorTime\":\"21 JUN 2017  12:25:02\",\"lastErrorTime\":\"22 JUN 2017  12:10:38\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1092024\",\"index\":37,\"ricName\":\"SSSP2GBP01Y01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"1642\",\"testValue\":\"4.0\",\"currentValue\":\"270.4\",\"lgv\":\"244.8\",\"firstErrorTime\":\"21 JUN 2017  12:00:02\",\"lastErrorTime\":\"22 JUN 2017  12:00:02\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1036679\",\"index\":38,\"ricName\":\"SSSPHHUF01M01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"1642\",\"testValue\":\"4.0\",\"currentValue\":\"220.6\",\"lgv\":\"190.7\",\"firstErrorTime\":\"21 JUN 2017  10:00:02\",\"lastErrorTime\":\"22 JUN 2017  12:00:02\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1039143\",\"index\":39,\"ricName\":\"SSSPQHUF06M01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.15\",\"currentValue\":\"-0.263\",\"lgv\":\"-0.379\",\"firstErrorTime\":\"21 JUN 2017  11:05:45\",\"lastErrorTime\":\"22 JUN 2017  12:10:29\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"559591\",\"index\":40,\"ricName\":\"SSSR1GBP01Y02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"1642\",\"testValue\":\"4.0\",\"currentValue\":\"219.8\",\"lgv\":\"200.9\",\"firstErrorTime\":\"21 JUN 2017  14:00:12\",\"lastErrorTime\":\"22 JUN 2017  12:00:15\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1041279\",\"index\":41,\"ricName\":\"SSSR1HUF02Y02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"886\",\"testValue\":\"6\",\"currentValue\":\"247.3\",\"lgv\":\"237.1\",\"firstErrorTime\":\"21 JUN 2017  14:00:12\",\"lastErrorTime\":\"22 JUN 2017  12:00:15\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1041283\",\"index\":42,\"ricName\":\"SSSR1HUF02Y02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"1642\",\"testValue\":\"4.0\",\"currentValue\":\"0.00\",\"lgv\":\"194.85\",\"firstErrorTime\":\"22 JUN 2017  07:10:11\",\"lastErrorTime\":\"22 JUN 2017  09:48:57\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1044399\",\"index\":43,\"ricName\":\"SSSR2SEK02Y30Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"1642\",\"testValue\":\"4.0\",\"currentValue\":\"104.24\",\"lgv\":\"93.43\",\"firstErrorTime\":\"22 JUN 2017  07:10:18\",\"lastErrorTime\":\"22 JUN 2017  09:49:04\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1059279\",\"index\":44,\"ricName\":\"SSSR2SEK05Y10Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.15\",\"currentValue\":\"0.305\",\"lgv\":\"0.219\",\"firstErrorTime\":\"21 JUN 2017  11:05:52\",\"lastErrorTime\":\"22 JUN 2017  12:10:36\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"561266\",\"index\":45,\"ricName\":\"SSSRHGBP01M05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.15\",\"currentValue\":\"0.18\",\"lgv\":\"0.102\",\"firstErrorTime\":\"21 JUN 2017  11:05:50\",\"lastErrorTime\":\"22 JUN 2017  12:10:32\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"562130\",\"index\":46,\"ricName\":\"SSSRQGBP01M01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.15\",\"currentValue\":\"0.355\",\"lgv\":\"0.257\",\"firstErrorTime\":\"21 JUN 2017  11:05:44\",\"lastErrorTime\":\"22 JUN 2017  12:10:29\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"562146\",\"index\":47,\"ricName\":\"SSSRQGBP01M02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.15\",\"currentValue\":\"0.263\",\"lgv\":\"0.152\",\"firstErrorTime\":\"21 JUN 2017  11:05:46\",\"lastErrorTime\":\"22 JUN 2017  12:10:35\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"562690\",\"index\":48,\"ricName\":\"SSSRQGBP06M01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"66\",\"testValue\":\"0.15\",\"currentValue\":\"0.422\",\"lgv\":\"0.307\",\"firstErrorTime\":\"21 JUN 2017  11:05:45\",\"lastErrorTime\":\"22 JUN 2017  12:10:29\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"562706\",\"index\":49,\"ricName\":\"SSSRQGBP06M02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"1642\",\"testValue\":\"4.0\",\"currentValue\":\"144.7\",\"lgv\":\"140.3\",\"firstErrorTime\":\"21 JUN 2017  15:00:02\",\"lastErrorTime\":\"22 JUN 2017  12:00:02\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1047991\",\"index\":50,\"ricName\":\"SSSRQHUF02Y01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:39\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1742255\",\"index\":51,\"ricName\":\"TMBMKDK-30Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:39\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1742257\",\"index\":52,\"ricName\":\"TMBMKDK-30Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:39\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1742259\",\"index\":53,\"ricName\":\"TMBMKDK-30Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:39\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1742265\",\"index\":54,\"ricName\":\"TMBMKDK-30Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:39\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1742267\",\"index\":55,\"ricName\":\"TMBMKDK-30Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:39\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"1742269\",\"index\":56,\"ricName\":\"TMBMKDK-30Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"-0.0868\",\"lgv\":\"-0.0315\",\"firstErrorTime\":\"21 JUN 2017  07:45:05\",\"lastErrorTime\":\"22 JUN 2017  12:12:59\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"814512\",\"index\":57,\"ricName\":\"TMBMKES-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"-0.0983\",\"lgv\":\"-0.0315\",\"firstErrorTime\":\"21 JUN 2017  07:45:05\",\"lastErrorTime\":\"22 JUN 2017  12:12:59\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"814528\",\"index\":58,\"ricName\":\"TMBMKES-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"-0.0909\",\"lgv\":\"-0.0264\",\"firstErrorTime\":\"21 JUN 2017  07:45:05\",\"lastErrorTime\":\"22 JUN 2017  12:12:59\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"814530\",\"index\":59,\"ricName\":\"TMBMKES-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815255\",\"index\":60,\"ricName\":\"TMBMKFR-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815257\",\"index\":61,\"ricName\":\"TMBMKFR-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815259\",\"index\":62,\"ricName\":\"TMBMKFR-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815261\",\"index\":63,\"ricName\":\"TMBMKFR-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815267\",\"index\":64,\"ricName\":\"TMBMKFR-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815269\",\"index\":65,\"ricName\":\"TMBMKFR-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815275\",\"index\":66,\"ricName\":\"TMBMKFR-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815277\",\"index\":67,\"ricName\":\"TMBMKFR-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815311\",\"index\":68,\"ricName\":\"TMBMKFR-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815313\",\"index\":69,\"ricName\":\"TMBMKFR-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815315\",\"index\":70,\"ricName\":\"TMBMKFR-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815317\",\"index\":71,\"ricName\":\"TMBMKFR-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815323\",\"index\":72,\"ricName\":\"TMBMKFR-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815325\",\"index\":73,\"ricName\":\"TMBMKFR-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815331\",\"index\":74,\"ricName\":\"TMBMKFR-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815333\",\"index\":75,\"ricName\":\"TMBMKFR-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815368\",\"index\":76,\"ricName\":\"TMBMKFR-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815372\",\"index\":77,\"ricName\":\"TMBMKFR-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815378\",\"index\":78,\"ricName\":\"TMBMKFR-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815380\",\"index\":79,\"ricName\":\"TMBMKFR-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815386\",\"index\":80,\"ricName\":\"TMBMKFR-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815388\",\"index\":81,\"ricName\":\"TMBMKFR-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815424\",\"index\":82,\"ricName\":\"TMBMKFR-09Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815428\",\"index\":83,\"ricName\":\"TMBMKFR-09Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815434\",\"index\":84,\"ricName\":\"TMBMKFR-09Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815436\",\"index\":85,\"ricName\":\"TMBMKFR-09Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815442\",\"index\":86,\"ricName\":\"TMBMKFR-09Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815444\",\"index\":87,\"ricName\":\"TMBMKFR-09Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815480\",\"index\":88,\"ricName\":\"TMBMKFR-10Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815484\",\"index\":89,\"ricName\":\"TMBMKFR-10Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815490\",\"index\":90,\"ricName\":\"TMBMKFR-10Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815492\",\"index\":91,\"ricName\":\"TMBMKFR-10Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815498\",\"index\":92,\"ricName\":\"TMBMKFR-10Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815500\",\"index\":93,\"ricName\":\"TMBMKFR-10Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:13\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815812\",\"index\":94,\"ricName\":\"TMBMKGB-01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:13\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815814\",\"index\":95,\"ricName\":\"TMBMKGB-01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:13\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815816\",\"index\":96,\"ricName\":\"TMBMKGB-01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:13\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815818\",\"index\":97,\"ricName\":\"TMBMKGB-01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:13\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815823\",\"index\":98,\"ricName\":\"TMBMKGB-01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:13\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815831\",\"index\":99,\"ricName\":\"TMBMKGB-01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:35\",\"lastErrorTime\":\"22 JUN 2017  12:14:13\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"815833\",\"index\":100,\"ricName\":\"TMBMKGB-01Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"21 JUN 2017  07:15:02\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"811964\",\"index\":101,\"ricName\":\"TMBMKIT-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"21 JUN 2017  07:15:02\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"811982\",\"index\":102,\"ricName\":\"TMBMKIT-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"21 JUN 2017  07:15:02\",\"lastErrorTime\":\"22 JUN 2017  12:13:30\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"811984\",\"index\":103,\"ricName\":\"TMBMKIT-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:13:45\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813357\",\"index\":104,\"ricName\":\"TMBMKNL-02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:13:45\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813359\",\"index\":105,\"ricName\":\"TMBMKNL-02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:13:45\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813361\",\"index\":106,\"ricName\":\"TMBMKNL-02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:13:45\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813363\",\"index\":107,\"ricName\":\"TMBMKNL-02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:13:45\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813369\",\"index\":108,\"ricName\":\"TMBMKNL-02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:13:45\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813371\",\"index\":109,\"ricName\":\"TMBMKNL-02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:13:45\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813377\",\"index\":110,\"ricName\":\"TMBMKNL-02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:13:45\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813379\",\"index\":111,\"ricName\":\"TMBMKNL-02Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813412\",\"index\":112,\"ricName\":\"TMBMKNL-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813414\",\"index\":113,\"ricName\":\"TMBMKNL-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813416\",\"index\":114,\"ricName\":\"TMBMKNL-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813418\",\"index\":115,\"ricName\":\"TMBMKNL-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813424\",\"index\":116,\"ricName\":\"TMBMKNL-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813426\",\"index\":117,\"ricName\":\"TMBMKNL-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813432\",\"index\":118,\"ricName\":\"TMBMKNL-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813434\",\"index\":119,\"ricName\":\"TMBMKNL-03Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813468\",\"index\":120,\"ricName\":\"TMBMKNL-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813470\",\"index\":121,\"ricName\":\"TMBMKNL-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813472\",\"index\":122,\"ricName\":\"TMBMKNL-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813474\",\"index\":123,\"ricName\":\"TMBMKNL-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813480\",\"index\":124,\"ricName\":\"TMBMKNL-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813482\",\"index\":125,\"ricName\":\"TMBMKNL-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813488\",\"index\":126,\"ricName\":\"TMBMKNL-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813490\",\"index\":127,\"ricName\":\"TMBMKNL-04Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"716811\",\"index\":128,\"ricName\":\"TMBMKNL-05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813524\",\"index\":129,\"ricName\":\"TMBMKNL-05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813526\",\"index\":130,\"ricName\":\"TMBMKNL-05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813528\",\"index\":131,\"ricName\":\"TMBMKNL-05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813530\",\"index\":132,\"ricName\":\"TMBMKNL-05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813536\",\"index\":133,\"ricName\":\"TMBMKNL-05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813538\",\"index\":134,\"ricName\":\"TMBMKNL-05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813544\",\"index\":135,\"ricName\":\"TMBMKNL-05Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813579\",\"index\":136,\"ricName\":\"TMBMKNL-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813581\",\"index\":137,\"ricName\":\"TMBMKNL-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813583\",\"index\":138,\"ricName\":\"TMBMKNL-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813585\",\"index\":139,\"ricName\":\"TMBMKNL-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813591\",\"index\":140,\"ricName\":\"TMBMKNL-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813593\",\"index\":141,\"ricName\":\"TMBMKNL-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813599\",\"index\":142,\"ricName\":\"TMBMKNL-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813601\",\"index\":143,\"ricName\":\"TMBMKNL-06Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"12\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813635\",\"index\":144,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813637\",\"index\":145,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"127\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813639\",\"index\":146,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813641\",\"index\":147,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"156:157\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"n/a\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813645\",\"index\":148,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813647\",\"index\":149,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813649\",\"index\":150,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813655\",\"index\":151,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813657\",\"index\":152,\"ricName\":\"TMBMKNL-07Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813693\",\"index\":153,\"ricName\":\"TMBMKNL-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813697\",\"index\":154,\"ricName\":\"TMBMKNL-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813702\",\"index\":155,\"ricName\":\"TMBMKNL-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813704\",\"index\":156,\"ricName\":\"TMBMKNL-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813710\",\"index\":157,\"ricName\":\"TMBMKNL-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:06\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813712\",\"index\":158,\"ricName\":\"TMBMKNL-08Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"126\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813915\",\"index\":159,\"ricName\":\"TMBMKNL-20Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"13\",\"testValue\":\"0.025\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813919\",\"index\":160,\"ricName\":\"TMBMKNL-20Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"19\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813925\",\"index\":161,\"ricName\":\"TMBMKNL-20Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"21\",\"testValue\":\"0.03\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813927\",\"index\":162,\"ricName\":\"TMBMKNL-20Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"47\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813933\",\"index\":163,\"ricName\":\"TMBMKNL-20Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"NullZeroPct\",\"failedFid\":\"50\",\"testValue\":\"0.49\",\"currentValue\":\"n/a\",\"lgv\":\"\",\"firstErrorTime\":\"20 JUN 2017  14:10:34\",\"lastErrorTime\":\"22 JUN 2017  12:14:11\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"813935\",\"index\":164,\"ricName\":\"TMBMKNL-20Y:GBL.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"136.3984375/136.4609375\",\"lgv\":\"136.1953125/136.2578125\",\"firstErrorTime\":\"21 JUN 2017  07:27:54\",\"lastErrorTime\":\"22 JUN 2017  12:02:37\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2531687\",\"index\":165,\"ricName\":\"TMUNBUS912810EV62:LDN.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"130.9453125/131.0078125\",\"lgv\":\"130.625/130.6875\",\"firstErrorTime\":\"21 JUN 2017  07:27:55\",\"lastErrorTime\":\"22 JUN 2017  12:05:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2531696\",\"index\":166,\"ricName\":\"TMUNBUS912810FG86:LDN.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"136.5703125/136.6328125\",\"lgv\":\"136.1796875/136.2421875\",\"firstErrorTime\":\"21 JUN 2017  07:27:55\",\"lastErrorTime\":\"22 JUN 2017  12:05:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2531699\",\"index\":167,\"ricName\":\"TMUNBUS912810FP85:LDN.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"105.6640625/105.6953125\",\"lgv\":\"104.796875/104.828125\",\"firstErrorTime\":\"21 JUN 2017  07:27:55\",\"lastErrorTime\":\"22 JUN 2017  12:05:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2531718\",\"index\":168,\"ricName\":\"TMUNBUS912810QW18:LDN.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"107.8828125/107.9140625\",\"lgv\":\"107.6875/107.71875\",\"firstErrorTime\":\"22 JUN 2017  07:32:06\",\"lastErrorTime\":\"22 JUN 2017  12:05:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"2561247\",\"index\":169,\"ricName\":\"TMUNBUS912810RH32:LDN.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"95.203125/95.234375\",\"lgv\":\"94.9921875/95.0234375\",\"firstErrorTime\":\"22 JUN 2017  07:32:06\",\"lastErrorTime\":\"22 JUN 2017  12:05:10\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"3045367\",\"index\":170,\"ricName\":\"TMUNBUS912810RQ31:LDN.QTE!TP\"},{\"validation\":\"Stop Validation\",\"testType\":\"LargeMove\",\"failedFid\":\"22:25\",\"testValue\":\"0.1\",\"currentValue\":\"95.8828125/95.8984375\",\"lgv\":\"95.703125/95.71875\",\"firstErrorTime\":\"21 JUN 2017  07:27:54\",\"lastErrorTime\":\"22 JUN 2017  12:02:37\",\"park\":\"Park\",\"setLGV\":\"Set LGV\",\"testId\":\"3045400\",\"index\":171,\"ricName\":\"TMUNBUS912828R366:LDN.QTE!TP\"}]";
         }
-        @Override
-        public void onReady() {
-            logger.info(String.format("Starting publish timer with frequency %d and message size %d", this.publishFrequency, this.publishMessageSize));
-            startTime = System.currentTimeMillis();
-
+        /**
+         * Called with each new connection, the timers publish on the latest one
+         */
+        private synchronized void onReady(DesktopConnection connection) {
+            this.desktopConnection = connection;
             try {
-                this.desktopConnection.getInterApplicationBus().subscribe("*", TOPIC_RESPONSE, (String sourceUuid, String receivingTopic, Object payload) -> {
+                ListenerTracker.getInstance(this.desktopConnection).subscribe(this.desktopConnection.getInterApplicationBus(),
+                        "*", TOPIC_RESPONSE, (String sourceUuid, String receivingTopic, Object payload) -> {
                     logger.debug("response on " + receivingTopic);
                 });
             } catch (Exception e) {
                 logger.error("Error subscribing", e);
             }
+            if (publishing) {
+                return;
+            }
+            publishing = true;
+            logger.info(String.format("Starting publish timer with frequency %d and message size %d", this.publishFrequency, this.publishMessageSize));
+            startTime = System.currentTimeMillis();
 
             publishTimers.forEach(item ->
                     item.schedule(new TimerTask() {
@@ -152,7 +168,7 @@ public class PubSubTest {
                                 JSONObject msg = new JSONObject();
                                 msg.put("body", body);
                                 try {
-                                    desktopConnection.getInterApplicationBus().publish(TOPIC, msg);
+                                    JfrEvents.publish(desktopConnection.getInterApplicationBus(), TOPIC, msg);
                                     totalSent++;
                                     logger.debug("published from " + Thread.currentThread().getName());
                                 } catch (DesktopException e) {
@@ -162,34 +178,15 @@ public class PubSubTest {
                         }
                     }, 1000, 1000) );
         }
-
-        @Override
-        public void onClose(String error) {
-            logger.info("onClose");
-        }
-
-        @Override
-        public void onError(String reason) {
-            logger.error(String.format("onError %s", reason));
-        }
-
-        @Override
-        public void onMessage(String message) {
-        }
-
-        @Override
-        public void onOutgoingMessage(String message) {
-        }
     }
 
-    private class Subscriber implements DesktopStateListener{
-        private DesktopConnection desktopConnection;
+    private class Subscriber {
+        private volatile DesktopConnection desktopConnection;
         private long totalReceived, startTime;
         private Thread statsThread;
 
         protected Subscriber() {
             try {
-                desktopConnection = new DesktopConnection(UUID.randomUUID().toString());
                 this.statsThread = new Thread() {
                     public void run() {
                         long sleepTime = 10000;
@@ -220,11 +217,15 @@ public class PubSubTest {
             }
         }
 
-        @Override
-        public void onReady() {
+        /**
+         * Called with each new connection, responses go out on the latest one
+         */
+        private void onReady(DesktopConnection connection) {
+            this.desktopConnection = connection;
             try {
                 logger.info("Connected to Runtime, waiting for messages");
-                this.desktopConnection.getInterApplicationBus().subscribe("*", TOPIC, (String sourceUuid, String receivingTopic, Object payload) -> {
+                ListenerTracker.getInstance(this.desktopConnection).subscribe(this.desktopConnection.getInterApplicationBus(),
+                        "*", TOPIC, JfrEvents.busListener((String sourceUuid, String receivingTopic, Object payload) -> {
                     totalReceived++;
                     if (startTime == 0) {
                         startTime = System.currentTimeMillis();
@@ -235,34 +236,14 @@ public class PubSubTest {
                     } catch (Exception e) {
                         logger.error("Error", e);
                     }
-                });
+                }));
             } catch (Exception e) {
                 logger.error("Error subscribing", e);
             }
         }
 
         void launch() {
-            startRuntime(this.desktopConnection, this);
-        }
-
-        @Override
-        public void onClose(String error) {
-
-        }
-
-        @Override
-        public void onError(String reason) {
-
-        }
-
-        @Override
-        public void onMessage(String message) {
-
-        }
-
-        @Override
-        public void onOutgoingMessage(String message) {
-
+            connectionManager.addReadyListener(this::onReady);
         }
     }
 
@@ -271,7 +252,14 @@ public class PubSubTest {
      * @param args
      */
     public static void main(String[] args) {
+        JfrEvents.startRecordingIfEnabled();
+        // connect while the rest is set up
+        startRuntime();
         PubSubTest test = new PubSubTest();
+        if (test.allocationSampler != null) {
+            connectionManager.addMessageListener(message -> test.allocationSampler.messageReceived(),
+                    message -> test.allocationSampler.messageSent());
+        }
         if (args[0].equals("publisher")) {
             test.startPublisher();
         }
@@ -0,0 +1,316 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import com.openfin.desktop.channel.ChannelClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Connection to Runtime that survives Runtime restarts.
+ *
+ * Reconnects through WarmConnectionManager with jittered exponential backoff.  After every reconnect, bus
+ * subscriptions made through this class are subscribed again and channels connected through it are connected again,
+ * then messages published while the connection was down are published in their original order.  At most
+ * replayCapacity messages are kept; when the buffer is full the oldest message is dropped.
+ *
+ * A connection can drop some time before it is found lost, so each publish is kept until Runtime acks it.  Publishes
+ * not acked when the connection is found lost are put back in front of the buffer and replayed too.  A message whose
+ * ack was lost with the connection can therefore be delivered twice.
+ *
+ * <pre>
+ *     ResilientConnection connection = new ResilientConnection(uuid, configuration, 10000);
+ *     connection.subscribe("*", "prices", listener);
+ *     connection.connectChannel("blotter", client -&gt; client.register("update", action));
+ *     connection.start();
+ *     connection.publish("orders", order);
+ * </pre>
+ */
+public class ResilientConnection {
+    private final static Logger logger = LoggerFactory.getLogger(ResilientConnection.class.getName());
+
+    private final WarmConnectionManager manager;
+    private final int replayCapacity;
+    private final Map<String, ChannelClient> channelClients = new ConcurrentHashMap<>();
+    private final AtomicLong reconnectCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong replayedCount = new AtomicLong();
+
+    // guarded by this
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final Map<String, Consumer<ChannelClient>> channels = new LinkedHashMap<>();
+    private final Deque<Object[]> buffer = new ArrayDeque<>();  // topic, payload
+    private final Set<Object[]> inFlight = new LinkedHashSet<>();  // published, not acked yet, in publish order
+    private DesktopConnection desktopConnection;
+    private boolean connectedOnce;
+    private volatile DesktopConnection latest;  // set as soon as a connection is ready, before replay
+
+    private static class Subscription {
+        final String sourceUuid;
+        final String topic;
+        final BusListener listener;
+
+        Subscription(String sourceUuid, String topic, BusListener listener) {
+            this.sourceUuid = sourceUuid;
+            this.topic = topic;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * @param uuid uuid of the connection
+     * @param configuration configuration of Runtime to connect to
+     * @param replayCapacity maximum number of publishes buffered while disconnected
+     */
+    public ResilientConnection(String uuid, RuntimeConfiguration configuration, int replayCapacity) {
+        this.manager = new WarmConnectionManager(uuid, configuration);
+        this.replayCapacity = replayCapacity;
+        manager.addReadyListener(this::onReady);
+        manager.addLostListener(this::onLost);
+    }
+
+    /**
+     * @return manager of the underlying connection, to change heartbeat and reconnect delays
+     */
+    public WarmConnectionManager getManager() {
+        return manager;
+    }
+
+    public void start() {
+        manager.start();
+    }
+
+    public void stop() {
+        manager.stop();
+    }
+
+    /**
+     * @return current connection, or null while disconnected or replaying after a reconnect
+     */
+    public synchronized DesktopConnection getDesktopConnection() {
+        return desktopConnection;
+    }
+
+    /**
+     * Subscribe to a topic now if connected, and again after every reconnect
+     */
+    public void subscribe(String sourceUuid, String topic, BusListener listener) throws DesktopException {
+        // onReady subscribes everything added before it sets latest, anything added after is subscribed here
+        DesktopConnection current;
+        synchronized (this) {
+            subscriptions.add(new Subscription(sourceUuid, topic, listener));
+            current = latest;
+        }
+        if (current != null) {
+            ListenerTracker.getInstance(current).subscribe(current.getInterApplicationBus(), sourceUuid, topic, listener);
+        }
+    }
+
+    public void unsubscribe(String sourceUuid, String topic, BusListener listener) throws DesktopException {
+        DesktopConnection current;
+        synchronized (this) {
+            subscriptions.removeIf(subscription -> subscription.listener == listener
+                    && subscription.sourceUuid.equals(sourceUuid) && subscription.topic.equals(topic));
+            current = latest;
+        }
+        if (current != null) {
+            ListenerTracker.getInstance(current).unsubscribe(current.getInterApplicationBus(), sourceUuid, topic, listener);
+        }
+    }
+
+    /**
+     * Connect to a channel now if connected, and again after every reconnect
+     *
+     * @param channelName name of the channel
+     * @param onConnect called with each new client, to register its actions
+     */
+    public void connectChannel(String channelName, Consumer<ChannelClient> onConnect) {
+        DesktopConnection current;
+        synchronized (this) {
+            channels.put(channelName, onConnect);
+            current = latest;
+        }
+        if (current != null) {
+            connectChannel(current, channelName, onConnect);
+        }
+    }
+
+    /**
+     * @return client of a channel for the current connection, or null while disconnected
+     */
+    public ChannelClient getChannelClient(String channelName) {
+        return channelClients.get(channelName);
+    }
+
+    /**
+     * Publish a message, or buffer it for replay if disconnected
+     */
+    public synchronized void publish(String topic, Object payload) {
+        Object[] message = new Object[] { topic, payload };
+        if (desktopConnection != null) {
+            try {
+                send(desktopConnection.getInterApplicationBus(), message);
+                return;
+            } catch (DesktopException e) {
+                logger.warn(String.format("Error publishing to %s, buffering for replay", topic), e);
+            }
+        }
+        if (replayCapacity <= 0) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        if (buffer.size() >= replayCapacity) {
+            buffer.poll();
+            droppedCount.incrementAndGet();
+        }
+        buffer.add(message);
+    }
+
+    /**
+     * Publish with the lock held, the message is kept in flight until acked
+     */
+    private void send(InterApplicationBus bus, Object[] message) throws DesktopException {
+        inFlight.add(message);
+        try {
+            bus.publish((String) message[0], message[1], new AckListener() {
+                @Override
+                public void onSuccess(Ack ack) {
+                    acked(message);
+                }
+
+                @Override
+                public void onError(Ack ack) {
+                    logger.warn(String.format("Error publishing to %s: %s", message[0], ack.getReason()));
+                    acked(message);
+                }
+            });
+        } catch (DesktopException e) {
+            inFlight.remove(message);
+            throw e;
+        }
+    }
+
+    private synchronized void acked(Object[] message) {
+        if (!inFlight.remove(message)) {
+            // acked after the connection was found lost, delivered, so don't replay it
+            buffer.remove(message);
+        }
+    }
+
+    /**
+     * Put publishes not acked on a lost connection in front of the buffer, in their original order
+     */
+    private void requeueInFlight() {
+        List<Object[]> unacked = new ArrayList<>(inFlight);
+        inFlight.clear();
+        for (int i = unacked.size() - 1; i >= 0; i--) {
+            buffer.addFirst(unacked.get(i));
+        }
+        while (buffer.size() > Math.max(replayCapacity, 0)) {
+            buffer.poll();
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    public synchronized int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /**
+     * @return number of buffered publishes dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getReplayedCount() {
+        return replayedCount.get();
+    }
+
+    public long getReconnectCount() {
+        return reconnectCount.get();
+    }
+
+    private void onReady(DesktopConnection connection) {
+        boolean reconnect;
+        List<Subscription> subscribing;
+        Map<String, Consumer<ChannelClient>> connecting;
+        synchronized (this) {
+            reconnect = connectedOnce;
+            connectedOnce = true;
+            // subscribe and connectChannel called from now on see latest and act themselves
+            latest = connection;
+            subscribing = new ArrayList<>(subscriptions);
+            connecting = new LinkedHashMap<>(channels);
+        }
+        if (reconnect) {
+            reconnectCount.incrementAndGet();
+        }
+        InterApplicationBus bus = connection.getInterApplicationBus();
+        ListenerTracker tracker = ListenerTracker.getInstance(connection);
+        for (Subscription subscription : subscribing) {
+            try {
+                tracker.subscribe(bus, subscription.sourceUuid, subscription.topic, subscription.listener);
+            } catch (DesktopException e) {
+                logger.error(String.format("Error subscribing to %s", subscription.topic), e);
+            }
+        }
+        connecting.forEach((channelName, onConnect) -> connectChannel(connection, channelName, onConnect));
+
+        // replay before accepting new publishes, so order is kept
+        synchronized (this) {
+            if (latest != connection) {
+                return;  // lost again meanwhile
+            }
+            // publishes of a previous connection never found lost
+            requeueInFlight();
+            List<Object[]> pending = new ArrayList<>(buffer);
+            buffer.clear();
+            for (Object[] message : pending) {
+                try {
+                    send(bus, message);
+                    replayedCount.incrementAndGet();
+                } catch (DesktopException e) {
+                    logger.error(String.format("Error replaying message to %s", message[0]), e);
+                    buffer.add(message);
+                }
+            }
+            this.desktopConnection = connection;
+            if (!pending.isEmpty()) {
+                logger.info(String.format("Replayed %d messages, %d dropped while disconnected", pending.size() - buffer.size(),
+                        droppedCount.get()));
+            }
+        }
+    }
+
+    private void onLost(String reason) {
+        synchronized (this) {
+            this.desktopConnection = null;
+            latest = null;
+            requeueInFlight();
+        }
+        channelClients.clear();
+    }
+
+    private void connectChannel(DesktopConnection connection, String channelName, Consumer<ChannelClient> onConnect) {
+        connection.getChannel(channelName).connectAsync().whenComplete((client, error) -> {
+            if (error != null) {
+                logger.error(String.format("Error connecting to channel %s", channelName), error);
+            } else if (connection == latest) {
+                channelClients.put(channelName, client);
+                onConnect.accept(client);
+            }
+        });
+    }
+}
@@ -0,0 +1,261 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import com.openfin.desktop.channel.ChannelClient;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * One desktop snapshot made of the snapshots of many SnapshotSource providers.
+ *
+ * getSnapshotAsync asks every registered provider at the same time and applySnapshotAsync applies back to all of them
+ * at the same time, each with its own timeout, so one slow or missing provider neither holds up nor fails the rest.
+ * The desktop snapshot keeps the snapshot of each provider under its uuid:
+ * <pre>
+ *     {"type": "desktop-snapshot", "timestamp": 1600000000000, "snapshots": {"uuid": {...}, ...}}
+ * </pre>
+ * Results report the time each provider took and the providers that failed.  Clients of providers are created once
+ * and reused.  A provider that times out keeps its client, it is only slow; after any other failure the client is
+ * disconnected and created again on the next call, since the provider may have restarted.
+ *
+ * The aggregator talks to the channel of each SnapshotSource provider itself rather than through
+ * SnapshotSourceClient, which has no way to disconnect; the channel name and actions are those of SnapshotSource.
+ *
+ * <pre>
+ *     SnapshotAggregator aggregator = new SnapshotAggregator(desktopConnection, 2000);
+ *     aggregator.add("blotter").add("chart");
+ *     aggregator.getSnapshotAsync().thenAccept(result -&gt; store.save("desktop", result.getSnapshot()));
+ * </pre>
+ */
+public class SnapshotAggregator {
+    private final static Logger logger = LoggerFactory.getLogger(SnapshotAggregator.class.getName());
+
+    public static final String TYPE = "desktop-snapshot";
+    private static final String CHANNEL = "snapshot-source-provider-%s";
+
+    private final DesktopConnection desktopConnection;
+    private final long timeoutMillis;
+    private final Set<String> uuids = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final Map<String, CompletableFuture<ChannelClient>> clients = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Outcome of getting or applying snapshots of all providers
+     */
+    public static class Result {
+        private final JSONObject snapshot;
+        private final Map<String, Long> millis;
+        private final Map<String, Throwable> failures;
+
+        Result(JSONObject snapshot, Map<String, Long> millis, Map<String, Throwable> failures) {
+            this.snapshot = snapshot;
+            this.millis = millis;
+            this.failures = failures;
+        }
+
+        /**
+         * @return desktop snapshot of the providers that succeeded, null for apply
+         */
+        public JSONObject getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * @return milliseconds each provider took, including the ones that failed
+         */
+        public Map<String, Long> getMillis() {
+            return millis;
+        }
+
+        /**
+         * @return error of each provider that failed or timed out
+         */
+        public Map<String, Throwable> getFailures() {
+            return failures;
+        }
+
+        public boolean isComplete() {
+            return failures.isEmpty();
+        }
+
+        public void log() {
+            millis.forEach((uuid, ms) -> {
+                Throwable error = failures.get(uuid);
+                if (error == null) {
+                    logger.info(String.format("  %-40s %6dms", uuid, ms));
+                } else {
+                    logger.warn(String.format("  %-40s %6dms failed: %s", uuid, ms, error.getMessage()));
+                }
+            });
+        }
+    }
+
+    /**
+     * @param desktopConnection connection to Runtime
+     * @param timeoutMillis time each provider has to answer
+     */
+    public SnapshotAggregator(DesktopConnection desktopConnection, long timeoutMillis) {
+        this.desktopConnection = desktopConnection;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Register the provider of an application
+     */
+    public SnapshotAggregator add(String uuid) {
+        uuids.add(uuid);
+        return this;
+    }
+
+    public SnapshotAggregator remove(String uuid) {
+        uuids.remove(uuid);
+        CompletableFuture<ChannelClient> client = clients.remove(uuid);
+        if (client != null) {
+            disconnect(client);
+        }
+        return this;
+    }
+
+    /**
+     * Disconnect the clients of all providers
+     */
+    public void close() {
+        for (String uuid : new ArrayList<>(clients.keySet())) {
+            CompletableFuture<ChannelClient> client = clients.remove(uuid);
+            if (client != null) {
+                disconnect(client);
+            }
+        }
+    }
+
+    public List<String> getUuids() {
+        synchronized (uuids) {
+            return new ArrayList<>(uuids);
+        }
+    }
+
+    /**
+     * @return latency of each operation of each provider over all calls, keyed by operation and uuid such as
+     * "getSnapshot blotter"
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        return new LinkedHashMap<>(latencies);
+    }
+
+    /**
+     * Get snapshots of all registered providers in parallel
+     *
+     * @return future completed with the desktop snapshot once every provider has answered, failed or timed out
+     */
+    public CompletableFuture<Result> getSnapshotAsync() {
+        List<String> targets = getUuids();
+        Map<String, JSONObject> snapshots = new ConcurrentHashMap<>();
+        return fanOut(targets, "getSnapshot", (uuid, client) -> client.dispatchAsync("get-snapshot", JSONObject.NULL)
+                .thenApply(ack -> ((JSONObject) successful(ack).getData()).getJSONObject("result")),
+                (uuid, snapshot) -> snapshots.put(uuid, snapshot))
+                .thenApply(result -> {
+                    JSONObject combined = new JSONObject();
+                    combined.put("type", TYPE);
+                    combined.put("timestamp", java.lang.System.currentTimeMillis());
+                    JSONObject list = new JSONObject();
+                    // keep the order providers were registered in
+                    targets.stream().filter(snapshots::containsKey).forEach(uuid -> list.put(uuid, snapshots.get(uuid)));
+                    combined.put("snapshots", list);
+                    return new Result(combined, result.millis, result.failures);
+                });
+    }
+
+    /**
+     * Apply a desktop snapshot, in parallel, to the providers it has a snapshot of
+     *
+     * @return future completed once every provider has applied, failed or timed out
+     */
+    public CompletableFuture<Result> applySnapshotAsync(JSONObject desktopSnapshot) {
+        JSONObject list = desktopSnapshot.optJSONObject("snapshots");
+        if (!TYPE.equals(desktopSnapshot.optString("type")) || list == null) {
+            CompletableFuture<Result> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalArgumentException("Not a " + TYPE));
+            return future;
+        }
+        List<String> targets = new ArrayList<>(list.keySet());
+        return fanOut(targets, "applySnapshot", (uuid, client) -> client.dispatchAsync("apply-snapshot", list.getJSONObject(uuid))
+                .thenApply(SnapshotAggregator::successful), (uuid, ack) -> { });
+    }
+
+    private <T> CompletableFuture<Result> fanOut(List<String> targets, String operation,
+                                                 BiFunction<String, ChannelClient, CompletableFuture<T>> call,
+                                                 BiConsumer<String, T> onResult) {
+        Map<String, Long> millis = new ConcurrentHashMap<>();
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> calls = new ArrayList<>(targets.size());
+        for (String uuid : targets) {
+            long start = java.lang.System.nanoTime();
+            CompletableFuture<ChannelClient> client = client(uuid);
+            CompletableFuture<T> future = client.thenCompose(connected -> call.apply(uuid, connected));
+            calls.add(OpenFinFutures.withTimeout(future, timeoutMillis, operation + " " + uuid)
+                    .handle((result, error) -> {
+                        long nanos = java.lang.System.nanoTime() - start;
+                        millis.put(uuid, nanos / 1000000);
+                        latencies.computeIfAbsent(operation + " " + uuid, LatencyHistogram::new).record(nanos);
+                        if (error == null) {
+                            onResult.accept(uuid, result);
+                        } else {
+                            failures.put(uuid, error);
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                            // a slow provider keeps its client, after anything else the provider may have restarted,
+                            // so the client is replaced next time unless another call already replaced it
+                            if (!(cause instanceof TimeoutException) && clients.remove(uuid, client)) {
+                                disconnect(client);
+                            }
+                        }
+                        return null;
+                    }));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<String, Long> ordered = new LinkedHashMap<>();
+            targets.forEach(uuid -> ordered.put(uuid, millis.get(uuid)));
+            if (!failures.isEmpty()) {
+                logger.warn(String.format("%s failed for %d of %d providers: %s", operation, failures.size(),
+                        targets.size(), failures.keySet()));
+            }
+            return new Result(null, ordered, new LinkedHashMap<>(failures));
+        });
+    }
+
+    private CompletableFuture<ChannelClient> client(String uuid) {
+        try {
+            return clients.computeIfAbsent(uuid, key ->
+                    desktopConnection.getChannel(String.format(CHANNEL, key)).connectAsync().toCompletableFuture());
+        } catch (RuntimeException e) {
+            CompletableFuture<ChannelClient> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static void disconnect(CompletableFuture<ChannelClient> client) {
+        client.thenAccept(connected -> connected.disconnect(null));
+    }
+
+    private static Ack successful(Ack ack) {
+        if (!ack.isSuccessful()) {
+            throw new CompletionException(new DesktopException(ack.getReason()));
+        }
+        return ack;
+    }
+}
@@ -0,0 +1,195 @@
+package com.openfin.desktop.demo;
+
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterOutputStream;
+
+/**
+ * DEFLATE compression and chunking of large snapshot messages.
+ *
+ * encode compresses the JSON text of a message and cuts the compressed bytes into Base64 chunks of at most chunkSize
+ * bytes; decode inflates chunks as they arrive.  Chunking bounds the size of each channel message, not memory: encode
+ * holds the text, its UTF-8 bytes and all the chunks it returns, and decode builds the whole text before parsing it.
+ * Messages shorter than the threshold are better sent as they are, see shouldEncode.
+ *
+ *  1. to specify the length of JSON text, in chars, from which messages are compressed
+ *      -Dcom.openfin.demo.snapshot.compressThreshold=65536
+ *  2. to specify compressed bytes per chunk
+ *      -Dcom.openfin.demo.snapshot.chunkSize=262144
+ *
+ * Sizes and times of every encode and decode are recorded, see toString.
+ */
+public class SnapshotCodec {
+
+    private final int level;
+    private final int chunkSize;
+    private final int threshold;
+    private final LatencyHistogram encodeLatency = new LatencyHistogram("encode");
+    private final LatencyHistogram decodeLatency = new LatencyHistogram("decode");
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong encodedBytes = new AtomicLong();
+    private final AtomicLong chunkCount = new AtomicLong();
+
+    public SnapshotCodec() {
+        this(Deflater.BEST_SPEED, Integer.getInteger("com.openfin.demo.snapshot.chunkSize", 256 * 1024),
+                Integer.getInteger("com.openfin.demo.snapshot.compressThreshold", 64 * 1024));
+    }
+
+    /**
+     * @param level DEFLATE level, 1 to 9
+     * @param chunkSize compressed bytes per chunk
+     * @param threshold length of JSON text from which messages are compressed
+     */
+    public SnapshotCodec(int level, int chunkSize, int threshold) {
+        this.level = level;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param text JSON text of a message
+     * @return true if the message is long enough to be worth compressing
+     */
+    public boolean shouldEncode(String text) {
+        return text.length() >= threshold;
+    }
+
+    public List<String> encode(JSONObject message) {
+        return encode(message.toString());
+    }
+
+    /**
+     * @param text JSON text of a message
+     * @return Base64 chunks of the compressed text
+     */
+    public List<String> encode(String text) {
+        long start = java.lang.System.nanoTime();
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        ChunkOutputStream out = new ChunkOutputStream();
+        Deflater deflater = new Deflater(level);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater, 64 * 1024)) {
+            deflate.write(raw);
+        } catch (IOException e) {
+            // ChunkOutputStream does not throw
+            throw new IllegalStateException(e);
+        } finally {
+            deflater.end();
+        }
+        encodeLatency.recordSince(start);
+        rawBytes.addAndGet(raw.length);
+        encodedBytes.addAndGet(out.total);
+        chunkCount.addAndGet(out.chunks.size());
+        return out.chunks;
+    }
+
+    /**
+     * @param encoded Base64 chunks made by encode, in order
+     * @return the message
+     */
+    public JSONObject decode(Iterator<?> encoded) {
+        long start = java.lang.System.nanoTime();
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (InflaterOutputStream inflate = new InflaterOutputStream(raw)) {
+            while (encoded.hasNext()) {
+                inflate.write(Base64.getDecoder().decode((String) encoded.next()));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt snapshot chunks", e);
+        }
+        JSONObject message = new JSONObject(new String(raw.toByteArray(), StandardCharsets.UTF_8));
+        decodeLatency.recordSince(start);
+        return message;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public long getRawBytes() {
+        return rawBytes.get();
+    }
+
+    public long getEncodedBytes() {
+        return encodedBytes.get();
+    }
+
+    public long getChunkCount() {
+        return chunkCount.get();
+    }
+
+    /**
+     * @return compressed size over raw size of everything encoded so far
+     */
+    public double getRatio() {
+        long raw = rawBytes.get();
+        return raw == 0 ? 1 : (double) encodedBytes.get() / raw;
+    }
+
+    public LatencyHistogram getEncodeLatency() {
+        return encodeLatency;
+    }
+
+    public LatencyHistogram getDecodeLatency() {
+        return decodeLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("raw=%dKB encoded=%dKB ratio=%.3f chunks=%d %s %s", rawBytes.get() / 1024,
+                encodedBytes.get() / 1024, getRatio(), chunkCount.get(), encodeLatency, decodeLatency);
+    }
+
+    /**
+     * Cuts what is written into Base64 chunks of chunkSize bytes
+     */
+    private class ChunkOutputStream extends OutputStream {
+        final List<String> chunks = new ArrayList<>();
+        final byte[] buffer = new byte[chunkSize];
+        int length;
+        long total;
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - length);
+                java.lang.System.arraycopy(b, off, buffer, length, n);
+                length += n;
+                off += n;
+                len -= n;
+                if (length == buffer.length) {
+                    flushChunk();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (length > 0 || chunks.isEmpty()) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() {
+            chunks.add(Base64.getEncoder().encodeToString(Arrays.copyOf(buffer, length)));
+            total += length;
+            length = 0;
+        }
+    }
+}
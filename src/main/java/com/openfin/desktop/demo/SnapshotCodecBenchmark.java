@@ -0,0 +1,89 @@
+package com.openfin.desktop.demo;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+/**
+ * Measures SnapshotCodec on grid-like snapshots of several sizes, without Runtime.
+ *
+ *  1. to specify snapshot sizes, in KB of JSON text
+ *      -Dcom.openfin.demo.snapshot.benchmark.sizes=16,256,1024,8192
+ *  2. to specify number of measured rounds per size, after as many warm up rounds
+ *      -Dcom.openfin.demo.snapshot.benchmark.rounds=20
+ *  3. to specify DEFLATE level
+ *      -Dcom.openfin.demo.snapshot.benchmark.level=1
+ *
+ * For each size prints the compressed size, the number of chunks and the mean times to serialize a snapshot to
+ * JSON text, encode the text, decode the chunks back into a snapshot, and parse the text without compression.
+ * decode minus parse is what compression adds on the receiving side.
+ */
+public class SnapshotCodecBenchmark {
+
+    private static final String[] SYMBOLS = { "AAPL", "MSFT", "GOOG", "AMZN", "IBM", "ORCL", "INTC", "CSCO" };
+
+    /**
+     * @return snapshot of a blotter with about kb KB of JSON text
+     */
+    static JSONObject grid(int kb, Random random) {
+        JSONArray rows = new JSONArray();
+        JSONObject snapshot = new JSONObject();
+        snapshot.put("columns", new JSONArray().put("id").put("symbol").put("side").put("qty").put("price").put("time"));
+        snapshot.put("sort", new JSONObject().put("column", "time").put("descending", true));
+        snapshot.put("rows", rows);
+        long time = 1600000000000L;
+        // a row is about 100 chars
+        for (int i = 0; i < kb * 10; i++) {
+            rows.put(new JSONObject()
+                    .put("id", "T" + (100000 + i))
+                    .put("symbol", SYMBOLS[random.nextInt(SYMBOLS.length)])
+                    .put("side", random.nextBoolean() ? "BUY" : "SELL")
+                    .put("qty", 100 * (1 + random.nextInt(50)))
+                    .put("price", Math.round(random.nextDouble() * 100000) / 100.0)
+                    .put("time", time += random.nextInt(1000)));
+        }
+        return snapshot;
+    }
+
+    public static void main(String[] args) {
+        String[] sizes = java.lang.System.getProperty("com.openfin.demo.snapshot.benchmark.sizes", "16,256,1024,8192").split(",");
+        int rounds = Integer.getInteger("com.openfin.demo.snapshot.benchmark.rounds", 20);
+        int level = Integer.getInteger("com.openfin.demo.snapshot.benchmark.level", Deflater.BEST_SPEED);
+        int chunkSize = Integer.getInteger("com.openfin.demo.snapshot.chunkSize", 256 * 1024);
+
+        java.lang.System.out.println(String.format("%8s %10s %10s %7s %7s %12s %12s %12s %12s", "size", "json", "encoded",
+                "ratio", "chunks", "serialize", "encode", "decode", "parse"));
+        for (String size : sizes) {
+            int kb = Integer.parseInt(size.trim());
+            JSONObject snapshot = grid(kb, new Random(kb));
+            LatencyHistogram serialize = new LatencyHistogram("serialize");
+            LatencyHistogram parse = new LatencyHistogram("parse");
+            // first rounds only warm up, their codec and histograms are dropped
+            SnapshotCodec codec = new SnapshotCodec(level, chunkSize, 0);
+            String text = null;
+            List<String> chunks = null;
+            for (int round = 0; round < rounds * 2; round++) {
+                if (round == rounds) {
+                    codec = new SnapshotCodec(level, chunkSize, 0);
+                    serialize.reset();
+                    parse.reset();
+                }
+                long start = java.lang.System.nanoTime();
+                text = snapshot.toString();
+                serialize.recordSince(start);
+                chunks = codec.encode(text);
+                codec.decode(chunks.iterator());
+                start = java.lang.System.nanoTime();
+                new JSONObject(text);
+                parse.recordSince(start);
+            }
+            java.lang.System.out.println(String.format("%6dKB %8dKB %8dKB %7.3f %7d %10.2fms %10.2fms %10.2fms %10.2fms",
+                    kb, text.length() / 1024, codec.getEncodedBytes() / rounds / 1024, codec.getRatio(), chunks.size(),
+                    serialize.getMeanMillis(), codec.getEncodeLatency().getMeanMillis(),
+                    codec.getDecodeLatency().getMeanMillis(), parse.getMeanMillis()));
+        }
+    }
+}
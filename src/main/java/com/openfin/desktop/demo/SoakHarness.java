@@ -0,0 +1,309 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import com.openfin.desktop.channel.ChannelClient;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long running soak of the Java adapter with a weighted mix of API calls, for finding slow leaks.
+ *
+ *  1. to specify how long to run, in minutes
+ *      -Dcom.openfin.demo.soak.duration=240
+ *  2. to specify number of API calls per second
+ *      -Dcom.openfin.demo.soak.rate=50
+ *  3. to specify weight of each API in the mix, APIs not listed are not called
+ *      -Dcom.openfin.demo.soak.weights=bounds=3,publish=5,channel=3,processList=1,listener=2
+ *  4. to specify how often to sample heap, GC, threads and direct buffers, in seconds
+ *      -Dcom.openfin.demo.soak.sampleInterval=60
+ *
+ * At most 100 calls are in flight at a time, calls beyond that are skipped and counted so a slow Runtime does not
+ * turn into a growing backlog on the Java side.  A call whose ack hasn't arrived after 30 seconds is counted as timed
+ * out and gives up its slot, so lost acks don't lower the concurrency for the rest of the run.  The soak window is
+ * closed when the run ends.
+ */
+public class SoakHarness {
+    private final static Logger logger = LoggerFactory.getLogger(SoakHarness.class.getName());
+
+    private static final String TOPIC = "MemoryProfileSoak";
+    private static final String CHANNEL_NAME = "MemoryProfileSoak";
+    private static final long CALL_TIMEOUT_SECONDS = 30;
+
+    private final DesktopConnection desktopConnection;
+    private final long durationMinutes = Long.getLong("com.openfin.demo.soak.duration", 240L);
+    private final int rate = Integer.getInteger("com.openfin.demo.soak.rate", 50);
+    private final long sampleInterval = Long.getLong("com.openfin.demo.soak.sampleInterval", 60L);
+    private final Map<String, Integer> weights = new LinkedHashMap<>();
+    private final Map<String, AtomicLong[]> counters = new LinkedHashMap<>();  // calls, errors
+    private final Semaphore inFlight = new Semaphore(100);
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final JvmResourceSampler sampler = new JvmResourceSampler(10000);
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final ListenerTracker tracker;
+    private StartupTracer startupTracer;
+
+    private OpenFinRuntime runtime;
+    private Application application;
+    private Window window;
+    private ChannelClient channelClient;
+    private String[] mix;
+    private int[] cumulativeWeights;
+
+    public SoakHarness(DesktopConnection desktopConnection) {
+        this.desktopConnection = desktopConnection;
+        this.tracker = ListenerTracker.getInstance(desktopConnection);
+        // a timeout is scheduled for every call, don't keep the cancelled ones until they are due
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        String value = java.lang.System.getProperty("com.openfin.demo.soak.weights", "bounds=3,publish=5,channel=3,processList=1,listener=2");
+        for (String item : value.split(",")) {
+            String[] pair = item.trim().split("=");
+            weights.put(pair[0], Integer.parseInt(pair[1]));
+            counters.put(pair[0], new AtomicLong[] { new AtomicLong(), new AtomicLong() });
+        }
+    }
+
+    /**
+     * @param startupTracer tracer of the connection, the startup of the soak window is added to it and logged
+     */
+    public void setStartupTracer(StartupTracer startupTracer) {
+        this.startupTracer = startupTracer;
+    }
+
+    /**
+     * Set up the window, bus subscription and channel used by the mix, then run until the duration expires
+     */
+    public void start() throws Exception {
+        this.runtime = new OpenFinRuntime(desktopConnection);
+        setupWindow();
+        setupBus();
+        setupChannel();
+
+        List<String> names = new ArrayList<>(weights.keySet());
+        // leave out the APIs whose setup failed rather than fail every call to them
+        if (window == null) {
+            skipApis(names, "no soak window", "bounds", "listener");
+        }
+        if (channelClient == null) {
+            skipApis(names, "no soak channel", "channel");
+        }
+        if (names.isEmpty()) {
+            throw new IllegalStateException("No soak APIs left to call");
+        }
+        this.mix = names.toArray(new String[0]);
+        this.cumulativeWeights = new int[mix.length];
+        int total = 0;
+        for (int i = 0; i < mix.length; i++) {
+            total += weights.get(mix[i]);
+            cumulativeWeights[i] = total;
+        }
+
+        logger.info(String.format("Starting soak for %d minutes at %d calls per second with %s", durationMinutes, rate, weights));
+        sampler.start(sampleInterval);
+        // issue a tenth of the rate every 100ms, carrying the fraction over so rates not divisible by 10 are kept
+        double callsPerTick = rate / 10.0;
+        double[] due = new double[1];
+        scheduler.scheduleAtFixedRate(() -> {
+            due[0] += callsPerTick;
+            int calls = (int) due[0];
+            due[0] -= calls;
+            for (int i = 0; i < calls; i++) {
+                callNext();
+            }
+        }, 0, 100, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(this::logCounters, sampleInterval, sampleInterval, TimeUnit.SECONDS);
+        scheduler.schedule(this::stop, durationMinutes, TimeUnit.MINUTES);
+    }
+
+    private void skipApis(List<String> names, String reason, String... apis) {
+        for (String api : apis) {
+            if (names.remove(api)) {
+                logger.warn(String.format("Skipping %s in soak mix, %s", api, reason));
+            }
+        }
+    }
+
+    public void stop() {
+        logCounters();
+        sampler.logSample();
+        sampler.stop();
+        scheduler.shutdownNow();
+        if (application != null) {
+            try {
+                application.close(true, null);
+            } catch (DesktopException e) {
+                logger.error("Error closing soak window", e);
+            }
+        }
+        finished.countDown();
+    }
+
+    public void awaitFinished() throws InterruptedException {
+        finished.await();
+    }
+
+    public JvmResourceSampler getSampler() {
+        return sampler;
+    }
+
+    private void setupWindow() throws Exception {
+        String uuid = "MemoryProfileSoak-" + UUID.randomUUID();
+        ApplicationOptions options = new ApplicationOptions(uuid, uuid, "about:blank");
+        WindowOptions windowOptions = new WindowOptions();
+        windowOptions.setAutoShow(true);
+        windowOptions.setDefaultWidth(300);
+        windowOptions.setDefaultHeight(200);
+        options.setMainWindowOptions(windowOptions);
+        CountDownLatch latch = new CountDownLatch(1);
+        DemoUtils.runApplication(options, desktopConnection, startupTracer, new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+                application = (Application) ack.getSource();
+                window = application.getWindow();
+                latch.countDown();
+            }
+            @Override
+            public void onError(Ack ack) {
+                logger.error(String.format("Error starting soak window %s", ack.getReason()));
+                latch.countDown();
+            }
+        });
+        latch.await(60, TimeUnit.SECONDS);
+        if (startupTracer != null) {
+            logger.info(startupTracer.waterfall());
+        }
+    }
+
+    private void setupBus() throws Exception {
+        tracker.subscribe(desktopConnection.getInterApplicationBus(), "*", TOPIC, (sourceUuid, topic, payload) -> {
+        });
+    }
+
+    private void setupChannel() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        desktopConnection.getChannel(CHANNEL_NAME).createAsync().thenAccept(provider -> {
+            provider.register("echo", (action, payload, senderIdentity) -> payload);
+            desktopConnection.getChannel(CHANNEL_NAME).connectAsync().thenAccept(client -> {
+                channelClient = client;
+                latch.countDown();
+            });
+        });
+        latch.await(30, TimeUnit.SECONDS);
+    }
+
+    private void callNext() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (cumulativeWeights[index] <= pick) {
+            index++;
+        }
+        String api = mix[index];
+        if (!inFlight.tryAcquire()) {
+            skipped.incrementAndGet();
+            return;
+        }
+        AtomicLong[] counter = counters.get(api);
+        counter[0].incrementAndGet();
+        // the permit goes back once, on the ack or on the timeout, whichever comes first
+        AtomicBoolean done = new AtomicBoolean();
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (done.compareAndSet(false, true)) {
+                timedOut.incrementAndGet();
+                inFlight.release();
+            }
+        }, CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Runnable finish = () -> {
+            if (done.compareAndSet(false, true)) {
+                timeout.cancel(false);
+                inFlight.release();
+            }
+        };
+        // acks the adapter never calls show up as live listeners of the tracker
+        AckListener ackListener = tracker.trackAck(api, new AckListener() {
+            @Override
+            public void onSuccess(Ack ack) {
+                finish.run();
+            }
+            @Override
+            public void onError(Ack ack) {
+                counter[1].incrementAndGet();
+                finish.run();
+            }
+        });
+        try {
+            call(api, ackListener);
+        } catch (Exception ex) {
+            logger.error(String.format("Error calling %s", api), ex);
+            counter[1].incrementAndGet();
+            finish.run();
+        }
+    }
+
+    private void call(String api, AckListener ackListener) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (api) {
+            case "bounds":
+                JfrEvents.setBounds(window, 100 + random.nextInt(200), 100 + random.nextInt(200), 300, 200, ackListener);
+                break;
+            case "publish":
+                JSONObject msg = new JSONObject();
+                msg.put("value", random.nextLong());
+                desktopConnection.getInterApplicationBus().publish(TOPIC, msg, ackListener);
+                break;
+            case "channel":
+                JSONObject payload = new JSONObject();
+                payload.put("value", random.nextLong());
+                JfrEvents.dispatch(channelClient, "echo", payload, ackListener);
+                break;
+            case "processList":
+                runtime.getProcessList(ackListener);
+                break;
+            case "listener":
+                EventListener listener = actionEvent -> { };
+                tracker.addEventListener(window, "bounds-changed", listener, new AckListener() {
+                    @Override
+                    public void onSuccess(Ack ack) {
+                        try {
+                            tracker.removeEventListener(window, "bounds-changed", listener, ackListener);
+                        } catch (DesktopException e) {
+                            logger.error("Error removing soak listener", e);
+                            ackListener.onError(ack);
+                        }
+                    }
+                    @Override
+                    public void onError(Ack ack) {
+                        ackListener.onError(ack);
+                    }
+                });
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown soak API " + api);
+        }
+    }
+
+    private void logCounters() {
+        StringBuilder sb = new StringBuilder("soak calls");
+        counters.forEach((api, counter) -> sb.append(String.format(" %s=%d/%d", api, counter[0].get(), counter[1].get())));
+        sb.append(String.format(" skipped=%d timedOut=%d inFlight=%d", skipped.get(), timedOut.get(),
+                100 - inFlight.availablePermits()));
+        // steady growth of live listeners over the run is a leak
+        sb.append(String.format(" listeners=%d", tracker.sampleCount()));
+        logger.info(sb.toString());
+    }
+}
@@ -0,0 +1,272 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timeline of one startup, from DesktopConnection.connect until the main window of an application has connected.
+ *
+ * Phases are timestamped the first time they happen.  Connect through connect or wrap, and run the application with
+ * DemoUtils.runApplication or OpenFinFutures.runApplication with the tracer:
+ * <pre>
+ *     connect-called            DesktopConnection.connect called
+ *     first-outgoing-message    first message to Runtime, RVM and Runtime have been launched and the websocket is open
+ *     first-incoming-message    first message from Runtime
+ *     onReady                   connection authorized
+ *     create-called, created    Application created
+ *     run-called, run-acked     Application run
+ *     started                   started event of the application
+ *     app-connected             app-connected event of the main window
+ * </pre>
+ *
+ * Run main to trace repeated startups and aggregate them
+ *      -Dcom.openfin.demo.runtime.version=stable
+ *      -Dcom.openfin.demo.startup.runs=5
+ *      -Dcom.openfin.demo.startup.url=https://cdn.openfin.co/examples/junit/SimpleOpenFinApp.html
+ *      -Dcom.openfin.demo.startup.export=startup.jsonl      (appends one JSON timeline per run)
+ *      -Dcom.openfin.demo.startup.exitRuntime=true         (exit Runtime after each run, so every run is a cold start)
+ */
+public class StartupTracer {
+    private final static Logger logger = LoggerFactory.getLogger(StartupTracer.class.getName());
+
+    public static final String CONNECT_CALLED = "connect-called";
+    public static final String FIRST_OUTGOING_MESSAGE = "first-outgoing-message";
+    public static final String FIRST_INCOMING_MESSAGE = "first-incoming-message";
+    public static final String READY = "onReady";
+    public static final String CREATE_CALLED = "create-called";
+    public static final String CREATED = "created";
+    public static final String RUN_CALLED = "run-called";
+    public static final String RUN_ACKED = "run-acked";
+    public static final String STARTED = "started";
+    public static final String APP_CONNECTED = "app-connected";
+
+    private static final int BAR_WIDTH = 50;
+
+    private final String name;
+    private final Map<String, Long> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile long startNanos;
+
+    /**
+     * Startup phases of repeated runs
+     */
+    public static class Aggregate {
+        private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+
+        public synchronized void add(StartupTracer tracer) {
+            tracer.getPhaseMillis().forEach((phase, millis) ->
+                    histograms.computeIfAbsent(phase, LatencyHistogram::new).record(TimeUnit.MILLISECONDS.toNanos(millis)));
+        }
+
+        public synchronized Map<String, LatencyHistogram> getHistograms() {
+            return new LinkedHashMap<>(histograms);
+        }
+
+        public synchronized void log() {
+            histograms.values().forEach(histogram -> logger.info(histogram.toString()));
+        }
+    }
+
+    public StartupTracer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Start the timeline, marks connect-called
+     */
+    public void start() {
+        phases.clear();
+        startNanos = java.lang.System.nanoTime();
+        phases.put(CONNECT_CALLED, startNanos);
+    }
+
+    /**
+     * Timestamp a phase, only its first occurrence is kept
+     */
+    public void mark(String phase) {
+        phases.putIfAbsent(phase, java.lang.System.nanoTime());
+    }
+
+    /**
+     * @return milliseconds from start to each phase, in the order they happened
+     */
+    public Map<String, Long> getPhaseMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        synchronized (phases) {
+            phases.forEach((phase, nanos) -> millis.put(phase, TimeUnit.NANOSECONDS.toMillis(nanos - startNanos)));
+        }
+        return millis;
+    }
+
+    /**
+     * Mark first-outgoing-message, first-incoming-message and onReady as the connection comes up
+     */
+    public DesktopStateListener wrap(DesktopStateListener listener) {
+        return new DesktopStateListener() {
+            @Override
+            public void onReady() {
+                mark(READY);
+                listener.onReady();
+            }
+            @Override
+            public void onClose(String error) {
+                listener.onClose(error);
+            }
+            @Override
+            public void onError(String reason) {
+                listener.onError(reason);
+            }
+            @Override
+            public void onMessage(String message) {
+                mark(FIRST_INCOMING_MESSAGE);
+                listener.onMessage(message);
+            }
+            @Override
+            public void onOutgoingMessage(String message) {
+                mark(FIRST_OUTGOING_MESSAGE);
+                listener.onOutgoingMessage(message);
+            }
+        };
+    }
+
+    /**
+     * Start the timeline and connect
+     */
+    public void connect(DesktopConnection desktopConnection, RuntimeConfiguration configuration, DesktopStateListener listener,
+                        int timeout) throws DesktopIOException, IOException {
+        start();
+        desktopConnection.connect(configuration, wrap(listener), timeout);
+    }
+
+    /**
+     * @return waterfall of the phases, one line each with offset, time since the previous phase and a bar
+     */
+    public String waterfall() {
+        Map<String, Long> millis = getPhaseMillis();
+        long total = Math.max(1, millis.values().stream().mapToLong(Long::longValue).max().orElse(1));
+        StringBuilder sb = new StringBuilder(String.format("startup of %s, %dms%n", name, total));
+        long previous = 0;
+        for (Map.Entry<String, Long> entry : millis.entrySet()) {
+            long offset = entry.getValue();
+            int from = (int) (previous * BAR_WIDTH / total);
+            int to = Math.max(from + 1, (int) (offset * BAR_WIDTH / total));
+            StringBuilder bar = new StringBuilder();
+            for (int i = 0; i < BAR_WIDTH; i++) {
+                bar.append(i < from ? ' ' : i < to ? '#' : ' ');
+            }
+            sb.append(String.format("  %-24s %6dms %+6dms |%s|%n", entry.getKey(), offset, offset - previous, bar));
+            previous = offset;
+        }
+        return sb.toString();
+    }
+
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("name", name);
+        JSONArray list = new JSONArray();
+        getPhaseMillis().forEach((phase, millis) -> {
+            JSONObject item = new JSONObject();
+            item.put("phase", phase);
+            item.put("millis", millis);
+            list.put(item);
+        });
+        json.put("phases", list);
+        return json;
+    }
+
+    /**
+     * Append the timeline as one line of JSON
+     */
+    public void export(Path file) throws IOException {
+        Files.write(file, (toJson().toString() + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("com.openfin.demo.startup.runs", 5);
+        String url = java.lang.System.getProperty("com.openfin.demo.startup.url", "https://cdn.openfin.co/examples/junit/SimpleOpenFinApp.html");
+        String export = java.lang.System.getProperty("com.openfin.demo.startup.export");
+        boolean exitRuntime = Boolean.parseBoolean(java.lang.System.getProperty("com.openfin.demo.startup.exitRuntime", "true"));
+        RuntimeConfiguration configuration = new RuntimeConfiguration();
+        configuration.setRuntimeVersion(java.lang.System.getProperty("com.openfin.demo.runtime.version", "stable"));
+        Aggregate aggregate = new Aggregate();
+
+        for (int run = 1; run <= runs; run++) {
+            StartupTracer tracer = new StartupTracer("run " + run);
+            DesktopConnection desktopConnection = new DesktopConnection(StartupTracer.class.getName() + "-" + run);
+            CountDownLatch done = new CountDownLatch(1);
+            CountDownLatch closed = new CountDownLatch(1);
+            tracer.connect(desktopConnection, configuration, new DesktopStateListener() {
+                @Override
+                public void onReady() {
+                    String uuid = "StartupTracer-" + UUID.randomUUID();
+                    ApplicationOptions options = new ApplicationOptions(uuid, uuid, url);
+                    WindowOptions windowOptions = new WindowOptions();
+                    windowOptions.setAutoShow(true);
+                    options.setMainWindowOptions(windowOptions);
+                    try {
+                        DemoUtils.runApplication(options, desktopConnection, tracer, new AckListener() {
+                            @Override
+                            public void onSuccess(Ack ack) {
+                                OpenFinFutures.closeApplication((Application) ack.getSource(), true);
+                                done.countDown();
+                            }
+                            @Override
+                            public void onError(Ack ack) {
+                                logger.error(String.format("Error starting %s: %s", uuid, ack.getReason()));
+                                done.countDown();
+                            }
+                        });
+                    } catch (Exception ex) {
+                        logger.error(String.format("Error starting %s", uuid), ex);
+                        done.countDown();
+                    }
+                }
+                @Override
+                public void onClose(String error) {
+                    closed.countDown();
+                }
+                @Override
+                public void onError(String reason) {
+                    logger.error(String.format("onError %s", reason));
+                }
+                @Override
+                public void onMessage(String message) {
+                }
+                @Override
+                public void onOutgoingMessage(String message) {
+                }
+            }, 60);
+            done.await(120, TimeUnit.SECONDS);
+
+            logger.info(tracer.waterfall());
+            aggregate.add(tracer);
+            if (export != null) {
+                tracer.export(Paths.get(export));
+            }
+            if (exitRuntime) {
+                desktopConnection.exit();
+            } else {
+                desktopConnection.disconnect();
+            }
+            closed.await(30, TimeUnit.SECONDS);
+        }
+        aggregate.log();
+        java.lang.System.exit(0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.openfin.desktop.demo;
+
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Lines of a status log, newest first, shown in a JTextArea at a fixed frame rate.
+ *
+ * append can be called from any thread and only adds the line to a bounded buffer; the oldest line is dropped when
+ * the buffer is full.  A Swing timer refreshes the text area at most once per frame, and only if lines were added,
+ * so a burst of messages costs one setText instead of one per message.
+ *
+ *      -Dcom.openfin.demo.status.maxLines=1000     (lines kept)
+ *      -Dcom.openfin.demo.status.fps=30            (refreshes per second)
+ */
+public class StatusLogModel {
+    private final int maxLines;
+    private final int frameMillis;
+
+    // guarded by this
+    private final Deque<String> lines = new ArrayDeque<>();
+    private long droppedCount;
+    private long appendedCount;
+    private boolean dirty;
+
+    private Timer timer;
+
+    public StatusLogModel() {
+        this(Integer.getInteger("com.openfin.demo.status.maxLines", 1000),
+                Integer.getInteger("com.openfin.demo.status.fps", 30));
+    }
+
+    /**
+     * @param maxLines lines kept, older ones are dropped
+     * @param fps refreshes of the text area per second
+     */
+    public StatusLogModel(int maxLines, int fps) {
+        this.maxLines = Math.max(1, maxLines);
+        this.frameMillis = 1000 / Math.max(1, fps);
+    }
+
+    /**
+     * Add a line, from any thread
+     */
+    public synchronized void append(String line) {
+        if (lines.size() >= maxLines) {
+            lines.pollLast();
+            droppedCount++;
+        }
+        lines.addFirst(line);
+        appendedCount++;
+        dirty = true;
+    }
+
+    /**
+     * @return lines kept, newest first, one per line
+     */
+    public synchronized String getText() {
+        StringBuilder sb = new StringBuilder();
+        for (Iterator<String> it = lines.iterator(); it.hasNext(); ) {
+            sb.append(it.next()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public synchronized int getLineCount() {
+        return lines.size();
+    }
+
+    /**
+     * @return lines dropped because more than maxLines were added
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public synchronized long getAppendedCount() {
+        return appendedCount;
+    }
+
+    /**
+     * Show the log in a text area, refreshed at the frame rate until detach
+     */
+    public void attach(JTextArea textArea) {
+        SwingUtilities.invokeLater(() -> {
+            detach();
+            timer = new Timer(frameMillis, e -> refresh(textArea));
+            timer.setCoalesce(true);
+            timer.start();
+            refresh(textArea);
+        });
+    }
+
+    public void detach() {
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+    }
+
+    /**
+     * @return text if lines were added since the last call, otherwise null
+     */
+    private synchronized String takeText() {
+        if (!dirty) {
+            return null;
+        }
+        dirty = false;
+        return getText();
+    }
+
+    private void refresh(JTextArea textArea) {
+        String text = takeText();
+        if (text != null) {
+            textArea.setText(text);
+            textArea.setCaretPosition(0);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.openfin.desktop.demo;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * UiDispatcher that applies updates on the Swing event dispatch thread
+ */
+public class SwingUiDispatcher extends UiDispatcher {
+    private static final SwingUiDispatcher instance = new SwingUiDispatcher();
+
+    private SwingUiDispatcher() {
+        super("Swing");
+    }
+
+    public static SwingUiDispatcher getInstance() {
+        return instance;
+    }
+
+    @Override
+    public boolean isUiThread() {
+        return SwingUtilities.isEventDispatchThread();
+    }
+
+    @Override
+    protected void schedule(Runnable batch) {
+        SwingUtilities.invokeLater(batch);
+    }
+}
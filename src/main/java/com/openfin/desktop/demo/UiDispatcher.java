@@ -0,0 +1,145 @@
+package com.openfin.desktop.demo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves work from adapter threads onto a UI thread, in batches.
+ *
+ * Work dispatched before the UI thread gets to it is run together in one batch, in the order it was dispatched.
+ * Work dispatched with a key replaces work with the same key still waiting, so when many events update the same
+ * component only the latest update is applied.  Latency from dispatch to apply is recorded for every applied update.
+ *
+ * <pre>
+ *     SwingUiDispatcher.getInstance().dispatch(btnUndock, () -&gt; btnUndock.setEnabled(docked));
+ * </pre>
+ *
+ * Subclasses schedule the batch on their UI thread, see SwingUiDispatcher and FxUiDispatcher.
+ */
+public abstract class UiDispatcher {
+    private final static Logger logger = LoggerFactory.getLogger(UiDispatcher.class.getName());
+
+    private final String name;
+    private final LatencyHistogram latency;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    // guarded by this
+    private Map<Object, Task> pending = new LinkedHashMap<>();
+
+    private static class Task {
+        final Runnable work;
+        final long receivedNanos;
+
+        Task(Runnable work, long receivedNanos) {
+            this.work = work;
+            this.receivedNanos = receivedNanos;
+        }
+    }
+
+    protected UiDispatcher(String name) {
+        this.name = name;
+        this.latency = new LatencyHistogram(name + " dispatch to apply");
+    }
+
+    /**
+     * Run work on the UI thread once the current batch is applied
+     *
+     * @param key work waiting with the same key is replaced, null to never replace
+     * @param work work to run
+     */
+    public void dispatch(Object key, Runnable work) {
+        received.incrementAndGet();
+        Task task = new Task(work, java.lang.System.nanoTime());
+        Object slot = key != null ? key : task;
+        boolean schedule;
+        synchronized (this) {
+            schedule = pending.isEmpty();
+            // remove first, so the replacement takes the place of the latest dispatch
+            if (pending.remove(slot) != null) {
+                coalesced.incrementAndGet();
+            }
+            pending.put(slot, task);
+        }
+        if (schedule) {
+            schedule(this::drain);
+        }
+    }
+
+    /**
+     * Run work on the UI thread, never replaced by later work
+     */
+    public void dispatch(Runnable work) {
+        dispatch(null, work);
+    }
+
+    /**
+     * @return true if called on the UI thread of this dispatcher
+     */
+    public abstract boolean isUiThread();
+
+    /**
+     * Run the batch later on the UI thread
+     */
+    protected abstract void schedule(Runnable batch);
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return time from dispatch to apply
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    public long getAppliedCount() {
+        return applied.get();
+    }
+
+    /**
+     * @return work replaced by later work with the same key before it was applied
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: received %d, applied %d, coalesced %d, batches %d, %s", name, received.get(),
+                applied.get(), coalesced.get(), batches.get(), latency);
+    }
+
+    private void drain() {
+        Map<Object, Task> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        batches.incrementAndGet();
+        for (Task task : batch.values()) {
+            try {
+                task.work.run();
+            } catch (RuntimeException e) {
+                logger.error(String.format("Error applying update on %s", name), e);
+            }
+            latency.recordSince(task.receivedNanos);
+            applied.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a connection to Runtime ready in the background, so code that needs it does not wait for Runtime to launch.
+ *
+ * Start it as early as possible, typically first thing in main, and get the connection when it is needed.  While
+ * connected the manager calls getVersion as a heartbeat; if the connection closes, fails or misses a heartbeat, a new
+ * connection is made after a jittered delay that doubles on each failed attempt, see Backoff.
+ *
+ * <pre>
+ *     WarmConnectionManager manager = new WarmConnectionManager(uuid, configuration);
+ *     manager.start();
+ *     ...
+ *     manager.getConnection().thenAccept(desktopConnection -&gt; ...);
+ * </pre>
+ */
+public class WarmConnectionManager {
+    private final static Logger logger = LoggerFactory.getLogger(WarmConnectionManager.class.getName());
+
+    private final String uuid;
+    private final RuntimeConfiguration configuration;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "WarmConnectionManager");
+        t.setDaemon(true);
+        return t;
+    });
+    private final List<Consumer<DesktopConnection>> readyListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> lostListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> messageListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> outgoingMessageListeners = new CopyOnWriteArrayList<>();
+    private long heartbeatSeconds = 10;
+    private long heartbeatTimeoutMillis = 5000;
+    private Backoff backoff = new Backoff(500, 30000);
+
+    // guarded by this
+    private CompletableFuture<DesktopConnection> connection = new CompletableFuture<>();
+    private DesktopConnection current;
+    private ScheduledFuture<?> heartbeat;
+    private int generation;
+    private boolean stopped;
+
+    /**
+     * @param uuid uuid of the connection
+     * @param configuration configuration of Runtime to connect to
+     */
+    public WarmConnectionManager(String uuid, RuntimeConfiguration configuration) {
+        this.uuid = uuid;
+        this.configuration = configuration;
+    }
+
+    /**
+     * @param heartbeatSeconds seconds between heartbeats
+     * @param heartbeatTimeoutMillis time to wait for a heartbeat before reconnecting
+     */
+    public void setHeartbeat(long heartbeatSeconds, long heartbeatTimeoutMillis) {
+        this.heartbeatSeconds = heartbeatSeconds;
+        this.heartbeatTimeoutMillis = heartbeatTimeoutMillis;
+    }
+
+    /**
+     * @param initialMillis delay before the first reconnect attempt
+     * @param maxMillis maximum delay between reconnect attempts
+     */
+    public synchronized void setReconnectDelay(long initialMillis, long maxMillis) {
+        this.backoff = new Backoff(initialMillis, maxMillis);
+    }
+
+    /**
+     * Called with the new connection every time one becomes ready, including after a reconnect, and right away if the
+     * connection is ready now
+     */
+    public void addReadyListener(Consumer<DesktopConnection> listener) {
+        DesktopConnection ready;
+        synchronized (this) {
+            readyListeners.add(listener);
+            ready = isReady() ? connection.join() : null;
+        }
+        if (ready != null) {
+            listener.accept(ready);
+        }
+    }
+
+    /**
+     * Called with the reason every time the connection is lost, before reconnecting
+     */
+    public void addLostListener(Consumer<String> listener) {
+        lostListeners.add(listener);
+    }
+
+    /**
+     * Called with every message received and sent on the connections the manager makes, for counting them
+     */
+    public void addMessageListener(Consumer<String> onMessage, Consumer<String> onOutgoingMessage) {
+        messageListeners.add(onMessage);
+        outgoingMessageListeners.add(onOutgoingMessage);
+    }
+
+    /**
+     * Connect in the background
+     */
+    public synchronized void start() {
+        stopped = false;
+        backoff.reset();
+        scheduler.execute(this::connect);
+    }
+
+    /**
+     * @return future completed with the connection once it is ready, the same future until the connection is lost
+     */
+    public synchronized CompletableFuture<DesktopConnection> getConnection() {
+        return connection;
+    }
+
+    /**
+     * @return true if the connection is ready now
+     */
+    public synchronized boolean isReady() {
+        return connection.isDone() && !connection.isCompletedExceptionally();
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+        if (current != null) {
+            try {
+                current.disconnect();
+            } catch (DesktopException e) {
+                logger.error("Error disconnecting", e);
+            }
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Stop and exit Runtime
+     */
+    public synchronized void exitRuntime() {
+        stopped = true;
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+        if (current != null) {
+            try {
+                current.exit();
+            } catch (DesktopException e) {
+                logger.error("Error exiting Runtime", e);
+            }
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Runs on the scheduler thread without holding the lock, connect can block while Runtime is launched
+     */
+    private void connect() {
+        int attempt;
+        DesktopConnection desktopConnection;
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            attempt = ++generation;
+            try {
+                desktopConnection = new DesktopConnection(uuid);
+            } catch (DesktopException e) {
+                logger.error("Error creating connection", e);
+                scheduleReconnect(attempt);
+                return;
+            }
+            current = desktopConnection;
+        }
+        long start = java.lang.System.nanoTime();
+        try {
+            JfrEvents.connect(desktopConnection, configuration, new DesktopStateListener() {
+                @Override
+                public void onReady() {
+                    logger.info(String.format("Connection %s ready after %dms", uuid,
+                            TimeUnit.NANOSECONDS.toMillis(java.lang.System.nanoTime() - start)));
+                    ready(attempt, desktopConnection);
+                }
+                @Override
+                public void onClose(String error) {
+                    lost(attempt, "closed " + error);
+                }
+                @Override
+                public void onError(String reason) {
+                    lost(attempt, reason);
+                }
+                @Override
+                public void onMessage(String message) {
+                    messageListeners.forEach(listener -> listener.accept(message));
+                }
+                @Override
+                public void onOutgoingMessage(String message) {
+                    outgoingMessageListeners.forEach(listener -> listener.accept(message));
+                }
+            }, 60);
+        } catch (Exception e) {
+            logger.error("Error connecting", e);
+            scheduleReconnect(attempt);
+        }
+    }
+
+    private void ready(int attempt, DesktopConnection desktopConnection) {
+        List<Consumer<DesktopConnection>> listeners;
+        synchronized (this) {
+            if (attempt != generation || stopped) {
+                return;
+            }
+            backoff.reset();
+            if (connection.isDone()) {
+                connection = new CompletableFuture<>();
+            }
+            connection.complete(desktopConnection);
+            OpenFinRuntime runtime = new OpenFinRuntime(desktopConnection);
+            heartbeat = scheduler.scheduleWithFixedDelay(() -> {
+                OpenFinFutures.ack("heartbeat", runtime::getVersion, heartbeatTimeoutMillis)
+                        .whenComplete((ack, error) -> {
+                            if (error != null) {
+                                lost(attempt, "heartbeat failed: " + error.getMessage());
+                            }
+                        });
+            }, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+            // taken with the connection completed, so a listener added now is called by addReadyListener or here, not both
+            listeners = new ArrayList<>(readyListeners);
+        }
+        listeners.forEach(listener -> listener.accept(desktopConnection));
+    }
+
+    private void lost(int attempt, String reason) {
+        synchronized (this) {
+            if (attempt != generation || stopped) {
+                return;
+            }
+            logger.warn(String.format("Connection %s lost: %s", uuid, reason));
+            if (heartbeat != null) {
+                heartbeat.cancel(false);
+                heartbeat = null;
+            }
+            if (connection.isDone()) {
+                connection = new CompletableFuture<>();
+            }
+            // reschedule first, so callbacks of the connection being dropped are ignored
+            scheduleReconnect(attempt);
+            try {
+                current.disconnect();
+            } catch (Exception e) {
+                logger.debug("Error disconnecting lost connection", e);
+            }
+        }
+        lostListeners.forEach(listener -> listener.accept(reason));
+    }
+
+    private synchronized void scheduleReconnect(int attempt) {
+        if (attempt != generation || stopped) {
+            return;
+        }
+        // a newer attempt supersedes callbacks of this one
+        generation++;
+        long delay = backoff.nextDelayMillis();
+        logger.info(String.format("Reconnecting %s in %dms", uuid, delay));
+        scheduler.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,113 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounds changes for many windows, applied together.
+ *
+ * Runtime has no message that sets bounds of several windows, so apply sends one setBounds or moveBy per window
+ * back to back, without waiting for acks in between, and returns one future for all of them.  That saves the round
+ * trips of applying changes one after another; Runtime still applies each message on its own, so windows are not
+ * guaranteed to move in the same frame.  A window added more than once only gets its last change.
+ *
+ * <pre>
+ *     new WindowBoundsBatch()
+ *             .setBounds(left, new WindowBounds(0, 0, 800, 600))       // top, left, width, height
+ *             .setBounds(right, new WindowBounds(0, 800, 800, 600))
+ *             .apply()
+ *             .thenAccept(count -&gt; ...);
+ * </pre>
+ */
+public class WindowBoundsBatch {
+    private final static Logger logger = LoggerFactory.getLogger(WindowBoundsBatch.class.getName());
+
+    private final Map<String, Change> changes = new LinkedHashMap<>();
+
+    private static class Change {
+        final Window window;
+        final WindowBounds bounds;
+        final int deltaLeft, deltaTop;
+
+        Change(Window window, WindowBounds bounds, int deltaLeft, int deltaTop) {
+            this.window = window;
+            this.bounds = bounds;
+            this.deltaLeft = deltaLeft;
+            this.deltaTop = deltaTop;
+        }
+
+        CompletableFuture<Ack> apply() {
+            if (bounds != null) {
+                return OpenFinFutures.setBounds(window, bounds.getLeft(), bounds.getTop(), bounds.getWidth(), bounds.getHeight());
+            } else {
+                return OpenFinFutures.ack("moveBy " + window.getName(), ackListener -> window.moveBy(deltaLeft, deltaTop, ackListener));
+            }
+        }
+    }
+
+    /**
+     * Set left, top, width and height of a window, all four are required
+     */
+    public WindowBoundsBatch setBounds(Window window, WindowBounds bounds) {
+        if (bounds.getLeft() == null || bounds.getTop() == null || bounds.getWidth() == null || bounds.getHeight() == null) {
+            throw new IllegalArgumentException("Incomplete bounds for " + window.getName());
+        }
+        changes.put(key(window), new Change(window, bounds, 0, 0));
+        return this;
+    }
+
+    /**
+     * Move a window relative to its current position
+     */
+    public WindowBoundsBatch moveBy(Window window, int deltaLeft, int deltaTop) {
+        changes.put(key(window), new Change(window, null, deltaLeft, deltaTop));
+        return this;
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * Send all changes
+     *
+     * @return future completed with the number of windows changed once every change is acked, or exceptionally with
+     * a DesktopException naming the windows that failed.  Every change is sent even if some fail.
+     */
+    public CompletableFuture<Integer> apply() {
+        List<Change> batch = new ArrayList<>(changes.values());
+        List<CompletableFuture<Ack>> acks = new ArrayList<>(batch.size());
+        long start = java.lang.System.nanoTime();
+        for (Change change : batch) {
+            acks.add(change.apply());
+        }
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        CompletableFuture.allOf(acks.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            List<String> failed = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (acks.get(i).isCompletedExceptionally()) {
+                    failed.add(batch.get(i).window.getName());
+                }
+            }
+            logger.debug(String.format("Bounds of %d windows applied in %dms", batch.size(),
+                    (java.lang.System.nanoTime() - start) / 1000000));
+            if (failed.isEmpty()) {
+                result.complete(batch.size());
+            } else {
+                result.completeExceptionally(new DesktopException(String.format("Error applying bounds of %s", failed)));
+            }
+        });
+        return result;
+    }
+
+    private static String key(Window window) {
+        return window.getUuid() + "/" + window.getName();
+    }
+}
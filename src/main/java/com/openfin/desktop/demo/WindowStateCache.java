@@ -0,0 +1,256 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds, options and state of windows, cached per DesktopConnection and kept current by window events.
+ *
+ * The first read of a window registers listeners for bounds-changed, minimized, maximized, restored, options-changed
+ * and closed, then fetches the value from Runtime; later reads are answered locally.  bounds-changed and the state
+ * events update the cache in place, options-changed drops cached options so the next read fetches them again, and
+ * closed forgets the window and removes the listeners.
+ *
+ * Windows are cached per connection; getInstance returns a handle on the cache of a connection, and the cache itself
+ * is dropped once it has no windows left, so it holds no reference to the connection after that.  Call clear when the
+ * connection goes away with windows still cached.
+ *
+ * <pre>
+ *     WindowStateCache.getInstance(desktopConnection).getBounds(window).thenAccept(bounds -&gt; ...);
+ * </pre>
+ */
+public class WindowStateCache {
+    private final static Logger logger = LoggerFactory.getLogger(WindowStateCache.class.getName());
+
+    // windows of each connection by owner, guarded by itself; a connection with no windows has no map
+    private static final Map<DesktopConnection, Map<String, Entry>> caches = new HashMap<>();
+    private static final String[] EVENTS = { "bounds-changed", "minimized", "maximized", "restored", "options-changed", "closed" };
+
+    private final DesktopConnection desktopConnection;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static class Entry implements EventListener {
+        final DesktopConnection desktopConnection;
+        final Window window;
+        volatile CompletableFuture<WindowBounds> bounds;
+        volatile CompletableFuture<WindowOptions> options;
+        volatile CompletableFuture<String> state;
+
+        Entry(DesktopConnection desktopConnection, Window window) {
+            this.desktopConnection = desktopConnection;
+            this.window = window;
+        }
+
+        @Override
+        public void eventReceived(ActionEvent actionEvent) {
+            JSONObject event = actionEvent.getEventObject();
+            switch (actionEvent.getType()) {
+                case "bounds-changed":
+                    bounds = CompletableFuture.completedFuture(new WindowBounds(event.optInt("top"), event.optInt("left"),
+                            event.optInt("width"), event.optInt("height")));
+                    break;
+                case "minimized":
+                case "maximized":
+                    state = CompletableFuture.completedFuture(actionEvent.getType());
+                    break;
+                case "restored":
+                    state = CompletableFuture.completedFuture("normal");
+                    break;
+                case "options-changed":
+                    options = null;
+                    break;
+                case "closed":
+                    evict(desktopConnection, window);
+                    break;
+            }
+        }
+
+        void removeListeners() {
+            ListenerTracker tracker = ListenerTracker.getInstance(desktopConnection);
+            for (String type : EVENTS) {
+                try {
+                    tracker.removeEventListener(window, type, this, null);
+                } catch (DesktopException e) {
+                    logger.debug(String.format("Error removing %s listener of %s", type, window.getName()), e);
+                }
+            }
+        }
+    }
+
+    private WindowStateCache(DesktopConnection desktopConnection) {
+        this.desktopConnection = desktopConnection;
+    }
+
+    /**
+     * @return handle on the cache of a connection, hit and miss counts are kept per handle
+     */
+    public static WindowStateCache getInstance(DesktopConnection desktopConnection) {
+        return new WindowStateCache(desktopConnection);
+    }
+
+    /**
+     * @return bounds of a window, from the cache if it has them
+     */
+    public CompletableFuture<WindowBounds> getBounds(Window window) {
+        Entry entry = entry(window);
+        CompletableFuture<WindowBounds> bounds = entry.bounds;
+        if (bounds == null) {
+            bounds = fetch(entry, OpenFinFutures.getBounds(window));
+            entry.bounds = bounds;
+        } else {
+            hits.incrementAndGet();
+        }
+        return bounds;
+    }
+
+    /**
+     * @return options of a window, from the cache if it has them
+     */
+    public CompletableFuture<WindowOptions> getOptions(Window window) {
+        Entry entry = entry(window);
+        CompletableFuture<WindowOptions> options = entry.options;
+        if (options == null) {
+            options = fetch(entry, OpenFinFutures.getOptions(window));
+            entry.options = options;
+        } else {
+            hits.incrementAndGet();
+        }
+        return options;
+    }
+
+    /**
+     * @return state of a window, normal, minimized or maximized, from the cache if it has it
+     */
+    public CompletableFuture<String> getState(Window window) {
+        Entry entry = entry(window);
+        CompletableFuture<String> state = entry.state;
+        if (state == null) {
+            state = fetch(entry, OpenFinFutures.ack("getState " + window.getName(), window::getState)
+                    .thenApply(ack -> String.valueOf(ack.getData())));
+            entry.state = state;
+        } else {
+            hits.incrementAndGet();
+        }
+        return state;
+    }
+
+    /**
+     * Update options of a window and drop its cached options once Runtime has applied them
+     */
+    public CompletableFuture<Ack> updateOptions(Window window, WindowOptions options) {
+        return OpenFinFutures.updateOptions(window, options).whenComplete((ack, error) -> {
+            Entry entry;
+            synchronized (caches) {
+                Map<String, Entry> entries = caches.get(desktopConnection);
+                entry = entries != null ? entries.get(ListenerTracker.ownerOf(window)) : null;
+            }
+            if (entry != null) {
+                entry.options = null;
+            }
+        });
+    }
+
+    /**
+     * Forget a window and remove its listeners
+     */
+    public void evict(Window window) {
+        evict(desktopConnection, window);
+    }
+
+    private static void evict(DesktopConnection desktopConnection, Window window) {
+        Entry entry;
+        synchronized (caches) {
+            Map<String, Entry> entries = caches.get(desktopConnection);
+            entry = entries != null ? entries.remove(ListenerTracker.ownerOf(window)) : null;
+            if (entries != null && entries.isEmpty()) {
+                caches.remove(desktopConnection);
+            }
+        }
+        if (entry != null) {
+            entry.removeListeners();
+        }
+    }
+
+    /**
+     * Forget all windows and remove their listeners
+     */
+    public void clear() {
+        Map<String, Entry> entries;
+        synchronized (caches) {
+            entries = caches.remove(desktopConnection);
+        }
+        if (entries != null) {
+            entries.values().forEach(Entry::removeListeners);
+        }
+    }
+
+    /**
+     * @return number of windows cached for the connection
+     */
+    public int size() {
+        synchronized (caches) {
+            Map<String, Entry> entries = caches.get(desktopConnection);
+            return entries != null ? entries.size() : 0;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private Entry entry(Window window) {
+        String owner = ListenerTracker.ownerOf(window);
+        synchronized (caches) {
+            Map<String, Entry> entries = caches.computeIfAbsent(desktopConnection, key -> new HashMap<>());
+            Entry entry = entries.get(owner);
+            if (entry == null) {
+                entry = new Entry(desktopConnection, window);
+                // listeners go out before the first fetch, so no change after the fetch is missed; adding them under
+                // the lock keeps an evict of the same window from running in between
+                ListenerTracker tracker = ListenerTracker.getInstance(desktopConnection);
+                for (String type : EVENTS) {
+                    try {
+                        tracker.addEventListener(window, type, entry, null);
+                    } catch (DesktopException e) {
+                        logger.error(String.format("Error adding %s listener of %s", type, window.getName()), e);
+                    }
+                }
+                entries.put(owner, entry);
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Count a miss, and forget the value if fetching fails so the next read tries again
+     */
+    private <T> CompletableFuture<T> fetch(Entry entry, CompletableFuture<T> future) {
+        misses.incrementAndGet();
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                if (entry.bounds == future) {
+                    entry.bounds = null;
+                }
+                if (entry.options == future) {
+                    entry.options = null;
+                }
+                if (entry.state == future) {
+                    entry.state = null;
+                }
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,313 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import com.openfin.desktop.channel.LayoutClient;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Saves the workspace to a WorkspaceStore a little after windows move, regroup, open or close.
+ *
+ * Every trigger restarts the debounce delay, so a drag or a regroup of many windows leads to one capture once things
+ * settle; a capture still happens after maxDelayMillis if triggers never stop.  One capture runs at a time, triggers
+ * during a capture start another one after it.  Captures whose JSON hashes the same as the last save, or as the
+ * latest revision already in the store, are not written.  Everything runs on a background thread, never on the EDT.
+ *
+ * <pre>
+ *     WorkspaceAutosave autosave = new WorkspaceAutosave(layoutClient, store, "default", 2000);
+ *     autosave.watch(new OpenFinRuntime(desktopConnection));
+ * </pre>
+ */
+public class WorkspaceAutosave {
+    private final static Logger logger = LoggerFactory.getLogger(WorkspaceAutosave.class.getName());
+
+    /**
+     * System events that mean the workspace may have changed
+     */
+    public static final List<String> EVENTS = Arrays.asList("application-started", "application-closed",
+            "window-bounds-changed", "window-group-changed", "window-closed");
+    private static final List<String> WINDOW_EVENTS = Arrays.asList("group-changed", "bounds-changed");
+
+    private final Supplier<CompletableFuture<JSONObject>> source;
+    private final WorkspaceStore store;
+    private final String name;
+    private final long debounceMillis;
+    private final long maxDelayMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "WorkspaceAutosave");
+        t.setDaemon(true);
+        return t;
+    });
+    private final EventListener listener = actionEvent -> trigger();
+    private final List<OpenFinRuntime> watched = new ArrayList<>();
+    private final List<Window> watchedWindows = new ArrayList<>();
+    private final AtomicLong triggers = new AtomicLong();
+    private final AtomicLong captures = new AtomicLong();
+    private final AtomicLong saves = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+
+    // guarded by this
+    private ScheduledFuture<?> pending;
+    private long firstTriggerMillis;
+    private boolean capturing;
+    private boolean dirty;
+    private byte[] lastHash;
+    private boolean stopped;
+
+    /**
+     * @param layoutClient client of the layout service, used to generate the workspace
+     * @param store store to save to
+     * @param name name of the workspace in the store
+     * @param debounceMillis quiet time after the last trigger before capturing
+     */
+    public WorkspaceAutosave(LayoutClient layoutClient, WorkspaceStore store, String name, long debounceMillis) {
+        this(() -> OpenFinFutures.callback("generateWorkspace", layoutClient::generateWorkspace), store, name,
+                debounceMillis, debounceMillis * 5);
+    }
+
+    /**
+     * @param source generates the workspace to save
+     * @param store store to save to
+     * @param name name of the workspace in the store
+     * @param debounceMillis quiet time after the last trigger before capturing
+     * @param maxDelayMillis longest time from the first trigger to a capture
+     */
+    public WorkspaceAutosave(Supplier<CompletableFuture<JSONObject>> source, WorkspaceStore store, String name,
+                             long debounceMillis, long maxDelayMillis) {
+        this.source = source;
+        this.store = store;
+        this.name = name;
+        this.debounceMillis = debounceMillis;
+        this.maxDelayMillis = Math.max(debounceMillis, maxDelayMillis);
+        // runs before any capture, the scheduler has one thread
+        scheduler.execute(this::loadLastHash);
+    }
+
+    /**
+     * Trigger on system events of a Runtime
+     */
+    public void watch(OpenFinRuntime runtime) throws DesktopException {
+        for (String type : EVENTS) {
+            runtime.addEventListener(type, listener, null);
+        }
+        synchronized (this) {
+            watched.add(runtime);
+        }
+    }
+
+    /**
+     * Trigger on group changes and moves of one window, such as a Java window registered with the layout service
+     */
+    public void watch(Window window) throws DesktopException {
+        ListenerTracker tracker = ListenerTracker.getInstance(window.getConnection());
+        for (String type : WINDOW_EVENTS) {
+            tracker.addEventListener(window, type, listener, null);
+        }
+        synchronized (this) {
+            watchedWindows.add(window);
+        }
+    }
+
+    /**
+     * Capture once the debounce delay passes without another trigger
+     */
+    public synchronized void trigger() {
+        if (stopped) {
+            return;
+        }
+        triggers.incrementAndGet();
+        if (capturing) {
+            dirty = true;
+            return;
+        }
+        long now = java.lang.System.currentTimeMillis();
+        if (pending == null) {
+            firstTriggerMillis = now;
+        } else {
+            pending.cancel(false);
+        }
+        long delay = Math.min(debounceMillis, Math.max(0, firstTriggerMillis + maxDelayMillis - now));
+        pending = scheduler.schedule(this::capture, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop listening and capturing
+     */
+    public void stop() {
+        List<OpenFinRuntime> runtimes;
+        List<Window> windows;
+        synchronized (this) {
+            stopped = true;
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            runtimes = new ArrayList<>(watched);
+            watched.clear();
+            windows = new ArrayList<>(watchedWindows);
+            watchedWindows.clear();
+        }
+        for (Window window : windows) {
+            for (String type : WINDOW_EVENTS) {
+                try {
+                    ListenerTracker.getInstance(window.getConnection()).removeEventListener(window, type, listener, null);
+                } catch (DesktopException e) {
+                    logger.debug(String.format("Error removing %s listener of %s", type, window.getName()), e);
+                }
+            }
+        }
+        for (OpenFinRuntime runtime : runtimes) {
+            for (String type : EVENTS) {
+                try {
+                    runtime.removeEventListener(type, listener, null);
+                } catch (DesktopException e) {
+                    logger.debug(String.format("Error removing %s listener", type), e);
+                }
+            }
+        }
+        scheduler.shutdown();
+    }
+
+    /**
+     * @return true while a capture is generating or saving the workspace
+     */
+    public synchronized boolean isCapturing() {
+        return capturing;
+    }
+
+    public long getTriggerCount() {
+        return triggers.get();
+    }
+
+    public long getCaptureCount() {
+        return captures.get();
+    }
+
+    public long getSaveCount() {
+        return saves.get();
+    }
+
+    /**
+     * @return captures not written because nothing changed since the last save
+     */
+    public long getUnchangedCount() {
+        return unchanged.get();
+    }
+
+    private void capture() {
+        synchronized (this) {
+            pending = null;
+            if (stopped) {
+                return;
+            }
+            if (capturing) {
+                // a trigger replaced this capture as it started running
+                dirty = true;
+                return;
+            }
+            capturing = true;
+        }
+        captures.incrementAndGet();
+        CompletableFuture<JSONObject> workspace;
+        try {
+            workspace = source.get();
+        } catch (RuntimeException e) {
+            workspace = new CompletableFuture<>();
+            workspace.completeExceptionally(e);
+        }
+        // save on the scheduler thread, never on the adapter thread that completes the future
+        workspace.whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                logger.error(String.format("Error capturing workspace %s", name), error);
+            } else {
+                save(result);
+            }
+            boolean again;
+            synchronized (this) {
+                capturing = false;
+                again = dirty;
+                dirty = false;
+            }
+            if (again) {
+                trigger();
+            }
+        }, this::executeOrDrop);
+    }
+
+    /**
+     * Run on the scheduler, or drop the capture if stop shut the scheduler down while it was running
+     */
+    private void executeOrDrop(Runnable task) {
+        try {
+            scheduler.execute(task);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                capturing = false;
+                dirty = false;
+            }
+            logger.debug(String.format("Workspace %s captured after stop, not saved", name));
+        }
+    }
+
+    /**
+     * Start from the latest saved revision, so a restart does not save the same workspace again
+     */
+    private void loadLastHash() {
+        try {
+            JSONObject latest = store.load(name);
+            if (latest != null) {
+                byte[] hash = hash(latest);
+                synchronized (this) {
+                    if (lastHash == null) {
+                        lastHash = hash;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn(String.format("Error loading workspace %s, the next capture is saved", name), e);
+        }
+    }
+
+    private void save(JSONObject workspace) {
+        byte[] hash = hash(workspace);
+        synchronized (this) {
+            if (Arrays.equals(hash, lastHash)) {
+                unchanged.incrementAndGet();
+                return;
+            }
+        }
+        try {
+            WorkspaceStore.Revision revision = store.save(name, workspace);
+            synchronized (this) {
+                lastHash = hash;
+            }
+            saves.incrementAndGet();
+            logger.debug(String.format("Autosaved workspace %s %s", name, revision));
+        } catch (Exception e) {
+            logger.error(String.format("Error saving workspace %s", name), e);
+        }
+    }
+
+    private static byte[] hash(JSONObject workspace) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(workspace.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.openfin.desktop.demo;
+
+import com.openfin.desktop.*;
+import com.openfin.desktop.channel.LayoutClient;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Difference between a saved workspace of the layout service and the live one, so restoring only touches what changed.
+ *
+ * Both workspaces are the JSON returned by LayoutClient.generateWorkspace.  Applications only in the saved workspace
+ * are launched, applications only in the live one are closed unless protected, and windows of applications in both
+ * are moved if their bounds differ.  Child windows are opened by their application, so a running application missing
+ * a saved child window is restored by the layout service, like a launch, rather than moved window by window.
+ * Launches and such restores go to the layout service as a workspace holding just those applications and no tab
+ * groups, bounds go out together as a WindowBoundsBatch.  If tab groups differ, the layout service has to rebuild
+ * them, so the whole saved workspace is restored instead.
+ *
+ * <pre>
+ *     layoutClient.generateWorkspace(current -&gt; {
+ *         WorkspaceDiff diff = WorkspaceDiff.compute(saved, current, Collections.singleton(myUuid));
+ *         diff.apply(desktopConnection, layoutClient);
+ *     }, null);
+ * </pre>
+ */
+public class WorkspaceDiff {
+    private final static Logger logger = LoggerFactory.getLogger(WorkspaceDiff.class.getName());
+
+    private final JSONObject saved;
+    private final List<JSONObject> launches = new ArrayList<>();
+    private final List<JSONObject> restores = new ArrayList<>();
+    private final List<String> closes = new ArrayList<>();
+    private final Map<String, WindowBounds> boundsChanges = new LinkedHashMap<>();
+    private final List<String> missingWindows = new ArrayList<>();
+    private int unchangedWindows;
+    private boolean fullRestore;
+
+    private WorkspaceDiff(JSONObject saved) {
+        this.saved = saved;
+    }
+
+    /**
+     * @param saved workspace to restore
+     * @param current live workspace
+     * @param protectedUuids applications never closed, such as the one doing the restore
+     */
+    public static WorkspaceDiff compute(JSONObject saved, JSONObject current, Collection<String> protectedUuids) {
+        WorkspaceDiff diff = new WorkspaceDiff(saved);
+        Map<String, JSONObject> savedApps = apps(saved);
+        Map<String, JSONObject> currentApps = apps(current);
+
+        savedApps.forEach((uuid, app) -> {
+            JSONObject live = currentApps.get(uuid);
+            if (live == null) {
+                diff.launches.add(app);
+            } else {
+                Map<String, WindowBounds> liveWindows = windows(live);
+                Map<String, WindowBounds> savedWindows = windows(app);
+                List<String> missing = new ArrayList<>(savedWindows.keySet());
+                missing.removeAll(liveWindows.keySet());
+                if (!missing.isEmpty()) {
+                    // only the application can open its child windows, the layout service asks it to on restore
+                    diff.missingWindows.addAll(missing);
+                    diff.restores.add(app);
+                    return;
+                }
+                savedWindows.forEach((key, bounds) -> {
+                    WindowBounds liveBounds = liveWindows.get(key);
+                    if (bounds != null && (liveBounds == null || !sameBounds(bounds, liveBounds))) {
+                        diff.boundsChanges.put(key, bounds);
+                    } else {
+                        diff.unchangedWindows++;
+                    }
+                });
+            }
+        });
+        currentApps.keySet().forEach(uuid -> {
+            if (!savedApps.containsKey(uuid) && !protectedUuids.contains(uuid)) {
+                diff.closes.add(uuid);
+            }
+        });
+        diff.fullRestore = !tabGroups(saved).equals(tabGroups(current));
+        return diff;
+    }
+
+    /**
+     * @return saved applications that are not running
+     */
+    public List<JSONObject> getLaunches() {
+        return Collections.unmodifiableList(launches);
+    }
+
+    /**
+     * @return running applications missing saved child windows, restored through the layout service
+     */
+    public List<JSONObject> getRestores() {
+        return Collections.unmodifiableList(restores);
+    }
+
+    /**
+     * @return uuids of running applications that are not in the saved workspace
+     */
+    public List<String> getCloses() {
+        return Collections.unmodifiableList(closes);
+    }
+
+    /**
+     * @return saved bounds of windows that are somewhere else, by uuid/name
+     */
+    public Map<String, WindowBounds> getBoundsChanges() {
+        return Collections.unmodifiableMap(boundsChanges);
+    }
+
+    /**
+     * @return saved windows, by uuid/name, of running applications that do not have them open
+     */
+    public List<String> getMissingWindows() {
+        return Collections.unmodifiableList(missingWindows);
+    }
+
+    public int getUnchangedWindows() {
+        return unchangedWindows;
+    }
+
+    /**
+     * @return true if tab groups differ and the whole workspace has to be restored
+     */
+    public boolean isFullRestore() {
+        return fullRestore;
+    }
+
+    public boolean isEmpty() {
+        return !fullRestore && launches.isEmpty() && restores.isEmpty() && closes.isEmpty() && boundsChanges.isEmpty();
+    }
+
+    /**
+     * @return workspace for the layout service holding the launches and restores without tab groups, which are the
+     * same as the live ones, or null if there are none
+     */
+    public JSONObject getPartialWorkspace() {
+        if (launches.isEmpty() && restores.isEmpty()) {
+            return null;
+        }
+        List<JSONObject> apps = new ArrayList<>(launches);
+        apps.addAll(restores);
+        JSONObject partial = new JSONObject(saved.toString());
+        partial.put("apps", new JSONArray(apps));
+        partial.put("tabGroups", new JSONArray());
+        return partial;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d launches, %d restores, %d closes, %d bounds changes, %d windows unchanged, %d missing%s",
+                launches.size(), restores.size(), closes.size(), boundsChanges.size(), unchangedWindows, missingWindows.size(),
+                fullRestore ? ", tab groups changed" : "");
+    }
+
+    /**
+     * Close, move, launch and restore what differs
+     *
+     * @return future completed once every change is acked
+     */
+    public CompletableFuture<Void> apply(DesktopConnection desktopConnection, LayoutClient layoutClient) {
+        logger.info(String.format("Restoring workspace: %s", this));
+        if (fullRestore) {
+            return restore(layoutClient, saved);
+        }
+        List<CompletableFuture<?>> steps = new ArrayList<>();
+        for (String uuid : closes) {
+            steps.add(OpenFinFutures.closeApplication(Application.wrap(uuid, desktopConnection), true));
+        }
+        if (!boundsChanges.isEmpty()) {
+            WindowBoundsBatch batch = new WindowBoundsBatch();
+            boundsChanges.forEach((key, bounds) -> {
+                int slash = key.indexOf('/');
+                batch.setBounds(Window.wrap(key.substring(0, slash), key.substring(slash + 1), desktopConnection), bounds);
+            });
+            steps.add(batch.apply());
+        }
+        JSONObject partial = getPartialWorkspace();
+        if (partial != null) {
+            steps.add(restore(layoutClient, partial));
+        }
+        return CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static CompletableFuture<Void> restore(LayoutClient layoutClient, JSONObject workspace) {
+        return OpenFinFutures.ack("restoreWorkspace", ackListener -> layoutClient.retoreWorkspace(workspace, ackListener))
+                .thenApply(ack -> null);
+    }
+
+    private static Map<String, JSONObject> apps(JSONObject workspace) {
+        Map<String, JSONObject> apps = new LinkedHashMap<>();
+        JSONArray list = workspace.optJSONArray("apps");
+        if (list != null) {
+            for (int i = 0; i < list.length(); i++) {
+                JSONObject app = list.getJSONObject(i);
+                apps.put(app.getString("uuid"), app);
+            }
+        }
+        return apps;
+    }
+
+    /**
+     * @return bounds of the main and child windows of an application, by uuid/name, null if a window has none
+     */
+    private static Map<String, WindowBounds> windows(JSONObject app) {
+        Map<String, WindowBounds> windows = new LinkedHashMap<>();
+        List<JSONObject> list = new ArrayList<>();
+        if (app.has("mainWindow")) {
+            list.add(app.getJSONObject("mainWindow"));
+        }
+        JSONArray children = app.optJSONArray("childWindows");
+        if (children != null) {
+            for (int i = 0; i < children.length(); i++) {
+                list.add(children.getJSONObject(i));
+            }
+        }
+        for (JSONObject window : list) {
+            String uuid = window.optString("uuid", app.getString("uuid"));
+            windows.put(uuid + "/" + window.getString("name"), bounds(window));
+        }
+        return windows;
+    }
+
+    /**
+     * Bounds are either in a bounds object or on the window itself, depending on the version of the layout service
+     */
+    private static WindowBounds bounds(JSONObject window) {
+        JSONObject source = window.optJSONObject("bounds");
+        if (source == null) {
+            source = window;
+        }
+        if (!source.has("left") || !source.has("top") || !source.has("width") || !source.has("height")) {
+            return null;
+        }
+        return new WindowBounds(source.getInt("top"), source.getInt("left"), source.getInt("width"), source.getInt("height"));
+    }
+
+    private static boolean sameBounds(WindowBounds a, WindowBounds b) {
+        return Objects.equals(a.getLeft(), b.getLeft()) && Objects.equals(a.getTop(), b.getTop())
+                && Objects.equals(a.getWidth(), b.getWidth()) && Objects.equals(a.getHeight(), b.getHeight());
+    }
+
+    /**
+     * @return each tab group as the set of its tabs, uuid/name
+     */
+    private static Set<Set<String>> tabGroups(JSONObject workspace) {
+        Set<Set<String>> groups = new HashSet<>();
+        JSONArray list = workspace.optJSONArray("tabGroups");
+        if (list != null) {
+            for (int i = 0; i < list.length(); i++) {
+                JSONArray tabs = list.getJSONObject(i).optJSONArray("tabs");
+                Set<String> group = new HashSet<>();
+                if (tabs != null) {
+                    for (int j = 0; j < tabs.length(); j++) {
+                        JSONObject tab = tabs.getJSONObject(j);
+                        group.add(tab.optString("uuid") + "/" + tab.optString("name"));
+                    }
+                }
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+}
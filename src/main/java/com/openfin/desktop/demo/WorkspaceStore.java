@@ -0,0 +1,370 @@
+package com.openfin.desktop.demo;
+
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Named workspaces saved on local disk, with a history of revisions for rollback.
+ *
+ * Each revision is one file in the directory of its workspace:
+ * <pre>
+ *     int    magic "OFWS"
+ *     short  format version
+ *     long   time saved, milliseconds since epoch
+ *     int    length of the workspace JSON, UTF-8
+ *     int    CRC32 of the workspace JSON
+ *     int    length of the compressed JSON
+ *     byte[] workspace JSON compressed with DEFLATE
+ * </pre>
+ * An index file lists every workspace with its revisions, so listing does not read the directories.  Revisions are
+ * written to a temporary file and moved into place, then the index is replaced the same way, so a crash never leaves
+ * a partly written file behind.  Revisions dropped from the history are deleted only once the index without them is
+ * written, so the index never lists a deleted revision.  Revisions are read whole and checked against the CRC.  Only
+ * the newest revisions are kept.
+ *
+ *      -Dcom.openfin.demo.workspace.dir=~/.openfin-demo/workspaces
+ *      -Dcom.openfin.demo.workspace.history=10       (revisions kept per workspace)
+ */
+public class WorkspaceStore {
+    private final static Logger logger = LoggerFactory.getLogger(WorkspaceStore.class.getName());
+
+    public static final int MAGIC = 0x4F465753;         // OFWS
+    public static final int INDEX_MAGIC = 0x4F465749;   // OFWI
+    public static final short FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = 4 + 2 + 8 + 4 + 4 + 4;
+    private static final String INDEX_FILE = "index.bin";
+    private static final String REVISION_SUFFIX = ".ws";
+
+    private final Path directory;
+    private final int history;
+
+    // guarded by this, workspace name to revisions, oldest first
+    private final Map<String, List<Revision>> index = new TreeMap<>();
+
+    /**
+     * One saved revision of a workspace
+     */
+    public static class Revision {
+        private final int number;
+        private final long timestamp;
+        private final int length;
+
+        Revision(int number, long timestamp, int length) {
+            this.number = number;
+            this.timestamp = timestamp;
+            this.length = length;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return size of the revision file in bytes
+         */
+        public int getLength() {
+            return length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("revision %d, %d bytes, saved at %d", number, length, timestamp);
+        }
+    }
+
+    public WorkspaceStore() throws IOException {
+        this(Paths.get(java.lang.System.getProperty("com.openfin.demo.workspace.dir",
+                        java.lang.System.getProperty("user.home") + "/.openfin-demo/workspaces")),
+                Integer.getInteger("com.openfin.demo.workspace.history", 10));
+    }
+
+    /**
+     * @param directory directory of the store, created if missing
+     * @param history revisions kept per workspace
+     */
+    public WorkspaceStore(Path directory, int history) throws IOException {
+        this.directory = directory;
+        this.history = Math.max(1, history);
+        Files.createDirectories(directory);
+        readIndex();
+    }
+
+    /**
+     * Save a new revision of a workspace
+     *
+     * @return the new revision
+     */
+    public synchronized Revision save(String name, JSONObject workspace) throws IOException {
+        long start = java.lang.System.nanoTime();
+        // the index is only changed once the revision is written, so a failed save leaves no trace in it
+        List<Revision> previous = index.get(name);
+        List<Revision> revisions = previous == null ? new ArrayList<>() : new ArrayList<>(previous);
+        int number = revisions.isEmpty() ? 1 : revisions.get(revisions.size() - 1).getNumber() + 1;
+        long timestamp = java.lang.System.currentTimeMillis();
+        byte[] encoded = encode(workspace, timestamp);
+
+        Path workspaceDirectory = directory.resolve(fileName(name));
+        Files.createDirectories(workspaceDirectory);
+        writeAtomically(workspaceDirectory.resolve(number + REVISION_SUFFIX), encoded);
+        Revision revision = new Revision(number, timestamp, encoded.length);
+        revisions.add(revision);
+        List<Revision> dropped = new ArrayList<>(revisions.subList(0, Math.max(0, revisions.size() - history)));
+        revisions.removeAll(dropped);
+        index.put(name, revisions);
+        try {
+            writeIndex();
+        } catch (IOException e) {
+            if (previous == null) {
+                index.remove(name);
+            } else {
+                index.put(name, previous);
+            }
+            throw e;
+        }
+        for (Revision oldest : dropped) {
+            try {
+                Files.deleteIfExists(workspaceDirectory.resolve(oldest.getNumber() + REVISION_SUFFIX));
+            } catch (IOException e) {
+                // Windows refuses to delete a file another process has open, it is no longer in the index anyway
+                logger.warn(String.format("Unable to delete workspace %s revision %d", name, oldest.getNumber()), e);
+            }
+        }
+        logger.debug(String.format("Saved workspace %s %s in %dus", name, revision,
+                (java.lang.System.nanoTime() - start) / 1000));
+        return revision;
+    }
+
+    /**
+     * @return latest revision of a workspace, or null if there is none
+     */
+    public synchronized JSONObject load(String name) throws IOException {
+        List<Revision> revisions = index.get(name);
+        if (revisions == null || revisions.isEmpty()) {
+            return null;
+        }
+        return load(name, revisions.get(revisions.size() - 1).getNumber());
+    }
+
+    /**
+     * @return a revision of a workspace
+     * @throws IOException if the revision does not exist or is corrupt
+     */
+    public synchronized JSONObject load(String name, int revision) throws IOException {
+        long start = java.lang.System.nanoTime();
+        Path file = directory.resolve(fileName(name)).resolve(revision + REVISION_SUFFIX);
+        // decode copies the compressed bytes out anyway, so mapping the file would only add the cost of the mapping
+        JSONObject workspace = decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+        logger.debug(String.format("Loaded workspace %s revision %d in %dus", name, revision,
+                (java.lang.System.nanoTime() - start) / 1000));
+        return workspace;
+    }
+
+    /**
+     * Make an earlier revision the latest, by saving it again
+     *
+     * @return the new revision
+     */
+    public synchronized Revision rollback(String name, int revision) throws IOException {
+        return save(name, load(name, revision));
+    }
+
+    /**
+     * @return names of the saved workspaces, sorted
+     */
+    public synchronized List<String> list() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    /**
+     * @return revisions kept of a workspace, oldest first
+     */
+    public synchronized List<Revision> getRevisions(String name) {
+        List<Revision> revisions = index.get(name);
+        return revisions == null ? Collections.emptyList() : new ArrayList<>(revisions);
+    }
+
+    /**
+     * Delete a workspace and all its revisions
+     */
+    public synchronized void delete(String name) throws IOException {
+        List<Revision> revisions = index.remove(name);
+        if (revisions != null) {
+            Path workspaceDirectory = directory.resolve(fileName(name));
+            for (Revision revision : revisions) {
+                Files.deleteIfExists(workspaceDirectory.resolve(revision.getNumber() + REVISION_SUFFIX));
+            }
+            Files.deleteIfExists(workspaceDirectory);
+            writeIndex();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return a workspace in the revision file format
+     */
+    public static byte[] encode(JSONObject workspace, long timestamp) {
+        byte[] json = workspace.toString().getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(json);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(json);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + compressed.size());
+        buffer.putInt(MAGIC).putShort(FORMAT_VERSION).putLong(timestamp).putInt(json.length)
+                .putInt((int) crc.getValue()).putInt(compressed.size());
+        buffer.put(compressed.toByteArray());
+        return buffer.array();
+    }
+
+    /**
+     * @return workspace read from a buffer in the revision file format
+     * @throws IOException if the buffer is not a workspace of a known version, or is corrupt
+     */
+    public static JSONObject decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a workspace file");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported workspace format version " + version);
+        }
+        buffer.getLong();  // timestamp
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        int compressedLength = buffer.getInt();
+        if (length < 0 || compressedLength < 0 || compressedLength > buffer.remaining()) {
+            throw new IOException("Truncated workspace file");
+        }
+        byte[] compressed = new byte[compressedLength];
+        buffer.get(compressed);
+
+        byte[] json = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            byte[] extra = new byte[1];
+            // inflate until the end of the stream, so the checksum of the stream itself is verified too
+            while (!inflater.finished()) {
+                int n = read < length ? inflater.inflate(json, read, length - read) : inflater.inflate(extra);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated workspace file");
+                }
+                if (read == length && n > 0) {
+                    throw new IOException("Workspace longer than its header says");
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IOException("Truncated workspace file");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt workspace file", e);
+        } finally {
+            inflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Workspace file failed CRC check");
+        }
+        return new JSONObject(new String(json, StandardCharsets.UTF_8));
+    }
+
+    private void readIndex() throws IOException {
+        Path file = directory.resolve(INDEX_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(file); DataInputStream data = new DataInputStream(in)) {
+            if (data.readInt() != INDEX_MAGIC || data.readShort() != FORMAT_VERSION) {
+                throw new IOException("Unsupported workspace index " + file);
+            }
+            int workspaces = data.readInt();
+            for (int i = 0; i < workspaces; i++) {
+                String name = data.readUTF();
+                int count = data.readInt();
+                List<Revision> revisions = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    revisions.add(new Revision(data.readInt(), data.readLong(), data.readInt()));
+                }
+                index.put(name, revisions);
+            }
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(bytes)) {
+            data.writeInt(INDEX_MAGIC);
+            data.writeShort(FORMAT_VERSION);
+            data.writeInt(index.size());
+            for (Map.Entry<String, List<Revision>> entry : index.entrySet()) {
+                data.writeUTF(entry.getKey());
+                data.writeInt(entry.getValue().size());
+                for (Revision revision : entry.getValue()) {
+                    data.writeInt(revision.getNumber());
+                    data.writeLong(revision.getTimestamp());
+                    data.writeInt(revision.getLength());
+                }
+            }
+        }
+        writeAtomically(directory.resolve(INDEX_FILE), bytes.toByteArray());
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return name of a workspace that is safe to use as a file name
+     */
+    private static String fileName(String name) {
+        try {
+            return URLEncoder.encode(name, "UTF-8").replace("*", "%2A").replace(".", "%2E");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.openfin.desktop.demo;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+import java.nio.file.Paths;
+
+/**
+ * Java Flight Recorder events of JfrEvents.
+ *
+ * Compiled by the "jfr" Maven profile only, since jdk.jfr is not in Java 8.  JfrEvents loads this class by name and
+ * sets the fields of an event through Span.set with the names below.
+ */
+class JfrRecorder implements JfrEvents.Recorder {
+
+    @Override
+    public JfrEvents.Span begin(String type) {
+        OpenFinEvent event;
+        switch (type) {
+            case "Connect":
+                event = new ConnectEvent();
+                break;
+            case "Publish":
+                event = new PublishEvent();
+                break;
+            case "BusMessage":
+                event = new BusMessageEvent();
+                break;
+            case "ChannelDispatch":
+                event = new ChannelDispatchEvent();
+                break;
+            case "ChannelInvoke":
+                event = new ChannelInvokeEvent();
+                break;
+            case "WindowBounds":
+                event = new WindowBoundsEvent();
+                break;
+            case "Ack":
+                event = new AckEvent();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event " + type);
+        }
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void startRecording(String file) throws Exception {
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("OpenFin");
+        recording.setToDisk(true);
+        recording.setDestination(Paths.get(file));
+        recording.setDumpOnExit(true);
+        recording.start();
+    }
+
+    static abstract class OpenFinEvent extends Event implements JfrEvents.Span {
+        @Override
+        public void set(String field, Object value) {
+            if (!setField(field, value)) {
+                throw new IllegalArgumentException(String.format("%s has no field %s", getClass().getSimpleName(), field));
+            }
+        }
+
+        /**
+         * @return false if the event has no such field
+         */
+        abstract boolean setField(String field, Object value);
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    @Name("com.openfin.desktop.Connect")
+    @Label("Connect")
+    @Category("OpenFin")
+    static class ConnectEvent extends OpenFinEvent {
+        @Label("Connection UUID")
+        String uuid;
+        @Label("Success")
+        boolean success;
+        @Label("Reason")
+        String reason;
+
+        @Override
+        boolean setField(String field, Object value) {
+            switch (field) {
+                case "uuid": uuid = string(value); return true;
+                case "success": success = (Boolean) value; return true;
+                case "reason": reason = string(value); return true;
+                default: return false;
+            }
+        }
+    }
+
+    @Name("com.openfin.desktop.Publish")
+    @Label("Bus Publish")
+    @Category({"OpenFin", "InterApplicationBus"})
+    @StackTrace(false)
+    static class PublishEvent extends OpenFinEvent {
+        @Label("Topic")
+        String topic;
+        @Label("Payload Size")
+        int payloadSize;
+        @Label("Success")
+        boolean success;
+
+        @Override
+        boolean setField(String field, Object value) {
+            switch (field) {
+                case "topic": topic = string(value); return true;
+                case "payloadSize": payloadSize = (Integer) value; return true;
+                case "success": success = (Boolean) value; return true;
+                default: return false;
+            }
+        }
+    }
+
+    @Name("com.openfin.desktop.BusMessage")
+    @Label("Bus Message Received")
+    @Category({"OpenFin", "InterApplicationBus"})
+    @StackTrace(false)
+    static class BusMessageEvent extends OpenFinEvent {
+        @Label("Source UUID")
+        String sourceUuid;
+        @Label("Topic")
+        String topic;
+        @Label("Payload Size")
+        int payloadSize;
+
+        @Override
+        boolean setField(String field, Object value) {
+            switch (field) {
+                case "sourceUuid": sourceUuid = string(value); return true;
+                case "topic": topic = string(value); return true;
+                case "payloadSize": payloadSize = (Integer) value; return true;
+                default: return false;
+            }
+        }
+    }
+
+    @Name("com.openfin.desktop.ChannelDispatch")
+    @Label("Channel Dispatch")
+    @Category({"OpenFin", "Channel"})
+    @StackTrace(false)
+    static class ChannelDispatchEvent extends OpenFinEvent {
+        @Label("Action")
+        String action;
+        @Label("Payload Size")
+        int payloadSize;
+        @Label("Success")
+        boolean success;
+
+        @Override
+        boolean setField(String field, Object value) {
+            switch (field) {
+                case "action": action = string(value); return true;
+                case "payloadSize": payloadSize = (Integer) value; return true;
+                case "success": success = (Boolean) value; return true;
+                default: return false;
+            }
+        }
+    }
+
+    @Name("com.openfin.desktop.ChannelInvoke")
+    @Label("Channel Action Invoked")
+    @Category({"OpenFin", "Channel"})
+    @StackTrace(false)
+    static class ChannelInvokeEvent extends OpenFinEvent {
+        @Label("Action")
+        String action;
+        @Label("Sender UUID")
+        String senderUuid;
+        @Label("Payload Size")
+        int payloadSize;
+        @Label("Result Size")
+        int resultSize;
+        @Label("Success")
+        boolean success;
+
+        @Override
+        boolean setField(String field, Object value) {
+            switch (field) {
+                case "action": action = string(value); return true;
+                case "senderUuid": senderUuid = string(value); return true;
+                case "payloadSize": payloadSize = (Integer) value; return true;
+                case "resultSize": resultSize = (Integer) value; return true;
+                case "success": success = (Boolean) value; return true;
+                default: return false;
+            }
+        }
+    }
+
+    @Name("com.openfin.desktop.WindowBounds")
+    @Label("Window Bounds")
+    @Category({"OpenFin", "Window"})
+    @StackTrace(false)
+    static class WindowBoundsEvent extends OpenFinEvent {
+        @Label("Operation")
+        String operation;
+        @Label("UUID")
+        String uuid;
+        @Label("Name")
+        String name;
+        @Label("Success")
+        boolean success;
+
+        @Override
+        boolean setField(String field, Object value) {
+            switch (field) {
+                case "operation": operation = string(value); return true;
+                case "uuid": uuid = string(value); return true;
+                case "name": name = string(value); return true;
+                case "success": success = (Boolean) value; return true;
+                default: return false;
+            }
+        }
+    }
+
+    @Name("com.openfin.desktop.Ack")
+    @Label("Ack")
+    @Category("OpenFin")
+    @StackTrace(false)
+    static class AckEvent extends OpenFinEvent {
+        @Label("Operation")
+        String operation;
+        @Label("Success")
+        boolean success;
+        @Label("Reason")
+        String reason;
+
+        @Override
+        boolean setField(String field, Object value) {
+            switch (field) {
+                case "operation": operation = string(value); return true;
+                case "success": success = (Boolean) value; return true;
+                case "reason": reason = string(value); return true;
+                default: return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.openfin.desktop.demo.Backoff;
+import org.junit.Test;
+
+/**
+ * JUnit tests for reconnect delays of Backoff
+ */
+public class BackoffTest {
+
+	@Test
+	public void delaysDoubleUpToMax() throws Exception {
+		Backoff backoff = new Backoff(100, 1000);
+		long ceiling = 100;
+		for (int i = 0; i < 10; i++) {
+			long delay = backoff.nextDelayMillis();
+			assertTrue("delay " + delay + " below " + ceiling / 2, delay >= ceiling / 2);
+			assertTrue("delay " + delay + " above " + ceiling, delay <= ceiling);
+			ceiling = Math.min(1000, ceiling * 2);
+		}
+		assertEquals(10, backoff.getAttempts());
+	}
+
+	@Test
+	public void resetStartsOver() throws Exception {
+		Backoff backoff = new Backoff(100, 1000);
+		for (int i = 0; i < 5; i++) {
+			backoff.nextDelayMillis();
+		}
+		backoff.reset();
+		assertEquals(0, backoff.getAttempts());
+		assertTrue(backoff.nextDelayMillis() <= 100);
+	}
+}
@@ -0,0 +1,159 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.openfin.desktop.demo.BulkLauncher;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+/**
+ * JUnit tests for dependency ordering and launching of BulkLauncher
+ */
+public class BulkLauncherTest {
+
+	private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+
+	@AfterClass
+	public static void teardown() {
+		scheduler.shutdownNow();
+	}
+
+	private static ApplicationOptions options(String uuid) {
+		return new ApplicationOptions(uuid, uuid, TestUtils.openfin_app_url);
+	}
+
+	/**
+	 * Starter that takes 20ms per application, records the order of starts and finishes and fails the given uuids
+	 */
+	private static class StubStarter implements BulkLauncher.Starter {
+		final List<String> started = new CopyOnWriteArrayList<>();
+		final Set<String> running = ConcurrentHashMap.newKeySet();
+		final Set<String> failing = ConcurrentHashMap.newKeySet();
+		final List<String> violations = new CopyOnWriteArrayList<>();
+		final AtomicInteger starting = new AtomicInteger();
+		final AtomicInteger maxStarting = new AtomicInteger();
+		final Map<String, List<String>> dependencies = new ConcurrentHashMap<>();
+
+		StubStarter dependsOn(String uuid, String... deps) {
+			dependencies.put(uuid, Arrays.asList(deps));
+			return this;
+		}
+
+		@Override
+		public CompletableFuture<Application> start(ApplicationOptions options) {
+			String uuid = options.getUUID();
+			started.add(uuid);
+			for (String dependency : dependencies.getOrDefault(uuid, Collections.emptyList())) {
+				if (!running.contains(dependency)) {
+					violations.add(uuid + " started before " + dependency);
+				}
+			}
+			maxStarting.accumulateAndGet(starting.incrementAndGet(), Math::max);
+			CompletableFuture<Application> future = new CompletableFuture<>();
+			scheduler.schedule(() -> {
+				starting.decrementAndGet();
+				if (failing.contains(uuid)) {
+					future.completeExceptionally(new IllegalStateException(uuid + " failed on purpose"));
+				} else {
+					running.add(uuid);
+					future.complete(null);
+				}
+			}, 20, TimeUnit.MILLISECONDS);
+			return future;
+		}
+	}
+
+	@Test
+	public void dependenciesLaunchFirst() throws Exception {
+		BulkLauncher launcher = new BulkLauncher(null, 4, true)
+				.add(options("blotter"), "marketData", "auth")
+				.add(options("marketData"), "auth")
+				.add(options("auth"))
+				.add(options("news"));
+		List<String> order = launcher.getLaunchOrder();
+		assertEquals(4, order.size());
+		assertTrue(order.indexOf("auth") < order.indexOf("marketData"));
+		assertTrue(order.indexOf("marketData") < order.indexOf("blotter"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void cycleRejected() throws Exception {
+		new BulkLauncher(null, 4, true)
+				.add(options("a"), "c")
+				.add(options("b"), "a")
+				.add(options("c"), "b")
+				.launch();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void unknownDependencyRejected() throws Exception {
+		new BulkLauncher(null, 4, true)
+				.add(options("a"), "missing")
+				.getLaunchOrder();
+	}
+
+	@Test
+	public void parallelismCapped() throws Exception {
+		StubStarter starter = new StubStarter();
+		BulkLauncher launcher = new BulkLauncher(3, starter);
+		for (int i = 0; i < 12; i++) {
+			launcher.add(options("app" + i));
+		}
+		BulkLauncher.Result result = launcher.launch().get(10, TimeUnit.SECONDS);
+		assertEquals(12, result.getStartupMillis().size());
+		assertTrue(result.getFailures().isEmpty());
+		assertEquals(3, starter.maxStarting.get());
+	}
+
+	@Test
+	public void dependentsStartAfterDependencies() throws Exception {
+		StubStarter starter = new StubStarter()
+				.dependsOn("blotter", "marketData", "auth")
+				.dependsOn("marketData", "auth");
+		BulkLauncher.Result result = new BulkLauncher(4, starter)
+				.add(options("blotter"), "marketData", "auth")
+				.add(options("marketData"), "auth")
+				.add(options("auth"))
+				.add(options("news"))
+				.launch().get(10, TimeUnit.SECONDS);
+		assertEquals(4, result.getStartupMillis().size());
+		assertTrue(starter.violations.toString(), starter.violations.isEmpty());
+		assertTrue(starter.started.indexOf("auth") < starter.started.indexOf("marketData"));
+		assertTrue(starter.started.indexOf("marketData") < starter.started.indexOf("blotter"));
+	}
+
+	@Test
+	public void failedLaunchSkipsDependents() throws Exception {
+		StubStarter starter = new StubStarter();
+		starter.failing.add("auth");
+		BulkLauncher.Result result = new BulkLauncher(4, starter)
+				.add(options("blotter"), "marketData")
+				.add(options("marketData"), "auth")
+				.add(options("auth"))
+				.add(options("news"))
+				.launch().get(10, TimeUnit.SECONDS);
+		assertEquals(3, result.getFailures().size());
+		assertTrue(result.getFailures().keySet().containsAll(Arrays.asList("auth", "marketData", "blotter")));
+		assertEquals(1, result.getStartupMillis().size());
+		assertTrue(result.getStartupMillis().containsKey("news"));
+		// dependents of the failed launch were never handed to the starter
+		assertEquals(2, starter.started.size());
+		assertFalse(starter.started.contains("marketData"));
+		assertFalse(starter.started.contains("blotter"));
+	}
+}
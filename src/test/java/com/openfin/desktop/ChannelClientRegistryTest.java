@@ -0,0 +1,100 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.openfin.desktop.channel.ChannelClientConnectEvent;
+import com.openfin.desktop.channel.ChannelProviderListener;
+import com.openfin.desktop.demo.ChannelClientRegistry;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JUnit tests for sharing channel clients through ChannelClientRegistry
+ */
+public class ChannelClientRegistryTest {
+	private static Logger logger = LoggerFactory.getLogger(ChannelClientRegistryTest.class.getName());
+
+	private static final String DESKTOP_UUID = ChannelClientRegistryTest.class.getName();
+	private static DesktopConnection desktopConnection;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		logger.debug("starting");
+		desktopConnection = TestUtils.setupConnection(DESKTOP_UUID);
+	}
+
+	@AfterClass
+	public static void teardown() throws Exception {
+		TestUtils.teardownDesktopConnection(desktopConnection);
+	}
+
+	@Test
+	public void connectCountConstantAsWindowsAdded() throws Exception {
+		final String channelName = "registryConnectCount";
+		final int windowCount = 50;
+		AtomicInteger providerConnects = new AtomicInteger();
+		CountDownLatch providerLatch = new CountDownLatch(1);
+		CountDownLatch disconnectLatch = new CountDownLatch(1);
+
+		desktopConnection.getChannel(channelName).createAsync().thenAccept(provider -> {
+			provider.addProviderListener(new ChannelProviderListener() {
+				@Override
+				public void onClientConnect(ChannelClientConnectEvent connectionEvent) throws Exception {
+					providerConnects.incrementAndGet();
+				}
+				@Override
+				public void onClientDisconnect(ChannelClientConnectEvent connectionEvent) {
+					disconnectLatch.countDown();
+				}
+			});
+			providerLatch.countDown();
+		});
+		providerLatch.await(10, TimeUnit.SECONDS);
+		assertEquals(0, providerLatch.getCount());
+
+		long connectsBefore = ChannelClientRegistry.getConnectCount();
+		int registriesBefore = ChannelClientRegistry.getRegistryCount();
+		CountDownLatch clientLatch = new CountDownLatch(windowCount);
+		// each simulated window acquires the layout channel on the shared connection the way LayoutFrame does
+		for (int i = 0; i < windowCount; i++) {
+			ChannelClientRegistry.getInstance(desktopConnection).acquire(channelName).thenAccept(client -> clientLatch.countDown());
+		}
+		clientLatch.await(10, TimeUnit.SECONDS);
+		ChannelClientRegistry registry = ChannelClientRegistry.getInstance(desktopConnection);
+
+		assertEquals(0, clientLatch.getCount());
+		assertEquals(1, ChannelClientRegistry.getConnectCount() - connectsBefore);
+		assertEquals(registriesBefore + 1, ChannelClientRegistry.getRegistryCount());
+		assertEquals(1, providerConnects.get());
+		assertEquals(windowCount, registry.getReferenceCount(channelName));
+
+		for (int i = 0; i < windowCount - 1; i++) {
+			registry.release(channelName);
+		}
+		assertEquals(1, registry.getReferenceCount(channelName));
+		assertEquals(1, disconnectLatch.getCount());
+
+		registry.release(channelName);
+		disconnectLatch.await(10, TimeUnit.SECONDS);
+		assertEquals(0, registry.getReferenceCount(channelName));
+		assertEquals(0, disconnectLatch.getCount());
+		// nothing is kept for the connection once every client is released
+		assertEquals(registriesBefore, ChannelClientRegistry.getRegistryCount());
+	}
+
+	@Test
+	public void lookupKeepsNothing() throws Exception {
+		int registriesBefore = ChannelClientRegistry.getRegistryCount();
+		ChannelClientRegistry registry = ChannelClientRegistry.getInstance(desktopConnection);
+		assertEquals(0, registry.getReferenceCount("registryLookup"));
+		registry.release("registryLookup");
+		assertEquals(registriesBefore, ChannelClientRegistry.getRegistryCount());
+	}
+}
@@ -0,0 +1,125 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.openfin.desktop.channel.ChannelClientConnectEvent;
+import com.openfin.desktop.channel.ChannelProviderListener;
+import com.openfin.desktop.demo.ChannelConnectAdmission;
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stress tests for ChannelConnectAdmission with hundreds of concurrent channel connects
+ */
+public class ChannelConnectAdmissionTest {
+	private static Logger logger = LoggerFactory.getLogger(ChannelConnectAdmissionTest.class.getName());
+
+	private static final String DESKTOP_UUID = ChannelConnectAdmissionTest.class.getName();
+	private static final int CLIENT_COUNT = 300;
+	private static final int INBOUND_THREADS = 16;
+	private static DesktopConnection desktopConnection;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		logger.debug("starting");
+		// connects reach the admission pipeline on the adapter's inbound threads, only one by default
+		desktopConnection = ChannelConnectAdmission.withInboundThreads(INBOUND_THREADS,
+				() -> TestUtils.setupConnection(DESKTOP_UUID));
+	}
+
+	@AfterClass
+	public static void teardown() throws Exception {
+		TestUtils.teardownDesktopConnection(desktopConnection);
+	}
+
+	private ChannelProviderListener createValidator(long validationMillis) {
+		return new ChannelProviderListener() {
+			@Override
+			public void onClientConnect(ChannelClientConnectEvent connectionEvent) throws Exception {
+				// simulate a validation that has to look something up
+				Thread.sleep(validationMillis);
+				JSONObject payload = (JSONObject) connectionEvent.getPayload();
+				if (payload != null && "Invalid Client".equals(payload.optString("name"))) {
+					throw new Exception("request rejected");
+				}
+			}
+			@Override
+			public void onClientDisconnect(ChannelClientConnectEvent connectionEvent) {
+			}
+		};
+	}
+
+	@Test
+	public void concurrentConnects() throws Exception {
+		final String channelName = "admissionConcurrentConnects";
+		ChannelConnectAdmission admission = new ChannelConnectAdmission(createValidator(20), 8, CLIENT_COUNT, 10000);
+		CountDownLatch latch = new CountDownLatch(CLIENT_COUNT);
+		AtomicInteger connected = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+
+		desktopConnection.getChannel(channelName).createAsync().thenAccept(provider -> {
+			provider.addProviderListener(admission);
+			for (int i = 0; i < CLIENT_COUNT; i++) {
+				JSONObject payload = new JSONObject();
+				payload.put("name", i % 10 == 0 ? "Invalid Client" : "client" + i);
+				desktopConnection.getChannel(channelName).connectAsync(false, payload).thenAccept(client -> {
+					connected.incrementAndGet();
+					latch.countDown();
+				}).exceptionally(ex -> {
+					rejected.incrementAndGet();
+					latch.countDown();
+					return null;
+				});
+			}
+		});
+
+		latch.await(120, TimeUnit.SECONDS);
+		logger.info(String.format("concurrentConnects %s", admission.getStats()));
+		admission.shutdown();
+
+		assertEquals(0, latch.getCount());
+		assertEquals(CLIENT_COUNT - CLIENT_COUNT / 10, connected.get());
+		assertEquals(CLIENT_COUNT / 10, rejected.get());
+		assertEquals(CLIENT_COUNT, admission.getConnectLatency().getCount());
+	}
+
+	@Test
+	public void shedExcessConnects() throws Exception {
+		final String channelName = "admissionShedExcessConnects";
+		final int clientCount = 100;
+		final int maxPending = 4;
+		// 2 validations of 200ms at a time admit about 10 connects a second, the rest of the burst has to be shed
+		ChannelConnectAdmission admission = new ChannelConnectAdmission(createValidator(200), 2, maxPending, 10000);
+		CountDownLatch latch = new CountDownLatch(clientCount);
+
+		desktopConnection.getChannel(channelName).createAsync().thenAccept(provider -> {
+			provider.addProviderListener(admission);
+			for (int i = 0; i < clientCount; i++) {
+				JSONObject payload = new JSONObject();
+				payload.put("name", "client" + i);
+				desktopConnection.getChannel(channelName).connectAsync(false, payload).whenComplete((client, ex) -> {
+					latch.countDown();
+				});
+			}
+		});
+
+		latch.await(60, TimeUnit.SECONDS);
+		logger.info(String.format("shedExcessConnects %s", admission.getStats()));
+		admission.shutdown();
+
+		assertEquals(0, latch.getCount());
+		assertEquals(clientCount, admission.getAdmittedCount() + admission.getRejectedCount());
+		assertTrue(admission.getShedCount() > 0);
+		assertTrue(admission.getAdmittedCount() >= maxPending);
+		assertEquals(admission.getShedCount(), admission.getRejectedCount());
+	}
+}
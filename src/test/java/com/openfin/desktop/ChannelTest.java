@@ -6,8 +6,13 @@ import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.openfin.desktop.channel.*;
+import com.openfin.desktop.demo.ChannelMiddlewareChain;
+import com.openfin.desktop.demo.ChannelMiddlewares;
+import com.openfin.desktop.demo.ChannelStreamClient;
+import com.openfin.desktop.demo.ChannelStreamProvider;
 import org.json.JSONObject;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -392,6 +397,163 @@ public class ChannelTest {
 		assertEquals(initValue + 3, resultValue.get());
 	}
 
+	@Test
+	public void middlewareChain() throws Exception {
+		final String channelName = "middlewareChainTest";
+		final String actionName = "increment";
+		final int initValue = 10;
+		final AtomicInteger resultValue = new AtomicInteger(-1);
+		final ChannelMiddlewares.TimingInterceptor timing = new ChannelMiddlewares.TimingInterceptor();
+
+		CountDownLatch latch = new CountDownLatch(1);
+		desktopConnection.getChannel(channelName).createAsync().thenAccept(provider -> {
+			new ChannelMiddlewareChain()
+					.add(timing)
+					.add(new ChannelMiddlewareChain.Interceptor() {
+						@Override
+						public Object beforeAction(String action, Object payload, JSONObject senderIdentity) {
+							int value = ((JSONObject) payload).getInt("value");
+							return ((JSONObject) payload).put("value", value + 2);
+						}
+					})
+					.install(provider);
+
+			provider.register(actionName, new ChannelAction() {
+				@Override
+				public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+					int currentValue = ((JSONObject)payload).getInt("value");
+					return ((JSONObject) payload).put("value", currentValue + 1);
+				}
+			});
+
+			desktopConnection.getChannel(channelName).connectAsync().thenAccept(client -> {
+				JSONObject payload = new JSONObject();
+				payload.put("value", initValue);
+				client.dispatchAsync(actionName, payload).thenAccept(ack -> {
+					resultValue.set(ack.getJsonObject().getJSONObject("data").getJSONObject("result").getInt("value"));
+					latch.countDown();
+				});
+			});
+		});
+
+		latch.await(10, TimeUnit.SECONDS);
+
+		assertEquals(0, latch.getCount());
+		assertEquals(initValue + 3, resultValue.get());
+		assertEquals(1, timing.getHistogram(actionName).getCount());
+	}
+
+	@Test
+	public void middlewareChainError() throws Exception {
+		final String channelName = "middlewareChainErrorTest";
+		final String actionName = "fail";
+		final AtomicReference<Object> errorPayload = new AtomicReference<>();
+		final AtomicReference<Exception> error = new AtomicReference<>();
+
+		CountDownLatch latch = new CountDownLatch(1);
+		desktopConnection.getChannel(channelName).createAsync().thenAccept(provider -> {
+			ChannelMiddlewareChain chain = new ChannelMiddlewareChain()
+					.add(new ChannelMiddlewareChain.Interceptor() {
+						@Override
+						public void onError(String action, Object payload, Exception e, JSONObject senderIdentity, long elapsedNanos) {
+							errorPayload.set(payload);
+							error.set(e);
+							latch.countDown();
+						}
+					})
+					.install(provider);
+
+			provider.register(actionName, chain.wrap(new ChannelAction() {
+				@Override
+				public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+					throw new IllegalStateException("failing on purpose");
+				}
+			}));
+
+			desktopConnection.getChannel(channelName).connectAsync().thenAccept(client -> {
+				client.dispatchAsync(actionName, new JSONObject().put("value", 1));
+			});
+		});
+
+		latch.await(10, TimeUnit.SECONDS);
+
+		assertEquals(0, latch.getCount());
+		assertEquals(1, ((JSONObject) errorPayload.get()).getInt("value"));
+		assertEquals("failing on purpose", error.get().getMessage());
+	}
+
+	@Test
+	public void streamingAction() throws Exception {
+		final String channelName = "streamingActionTest";
+		final int rowCount = 1000;
+		final AtomicInteger received = new AtomicInteger();
+
+		CountDownLatch latch = new CountDownLatch(1);
+		desktopConnection.getChannel(channelName).createAsync().thenAccept(provider -> {
+			new ChannelStreamProvider(provider, 50).register("rows", (payload, senderIdentity) ->
+					java.util.stream.IntStream.range(0, rowCount).boxed().iterator());
+
+			desktopConnection.getChannel(channelName).connectAsync().thenAccept(client -> {
+				ChannelStreamClient.Stream rows = new ChannelStreamClient(client).open("rows", null, 2);
+				new Thread(() -> {
+					while (rows.hasNext()) {
+						if (((Number) rows.next()).intValue() == received.get()) {
+							received.incrementAndGet();
+						}
+					}
+					latch.countDown();
+				}).start();
+			});
+		});
+
+		latch.await(10, TimeUnit.SECONDS);
+
+		assertEquals(0, latch.getCount());
+		assertEquals(rowCount, received.get());
+	}
+
+	@Test
+	public void streamingActionOutOfOrder() throws Exception {
+		final String channelName = "streamingActionOutOfOrderTest";
+		final int chunkCount = 5;
+		final AtomicInteger received = new AtomicInteger();
+
+		CountDownLatch latch = new CountDownLatch(1);
+		desktopConnection.getChannel(channelName).createAsync().thenAccept(provider -> {
+			// sends the end first and the chunks last to first, as a connection with several inbound threads may deliver them
+			provider.register("rows", new ChannelAction() {
+				@Override
+				public JSONObject invoke(String action, Object payload, JSONObject senderIdentity) {
+					String streamId = ((JSONObject) payload).getString("streamId");
+					provider.dispatch(senderIdentity, "stream-end",
+							new JSONObject().put("streamId", streamId).put("chunks", chunkCount), null);
+					for (int seq = chunkCount - 1; seq >= 0; seq--) {
+						provider.dispatch(senderIdentity, "stream-chunk", new JSONObject().put("streamId", streamId)
+								.put("seq", seq).put("rows", new org.json.JSONArray().put(seq * 2).put(seq * 2 + 1)), null);
+					}
+					return new JSONObject().put("streamId", streamId);
+				}
+			});
+
+			desktopConnection.getChannel(channelName).connectAsync().thenAccept(client -> {
+				ChannelStreamClient.Stream rows = new ChannelStreamClient(client).open("rows", null, chunkCount);
+				new Thread(() -> {
+					while (rows.hasNext()) {
+						if (((Number) rows.next()).intValue() == received.get()) {
+							received.incrementAndGet();
+						}
+					}
+					latch.countDown();
+				}).start();
+			});
+		});
+
+		latch.await(10, TimeUnit.SECONDS);
+
+		assertEquals(0, latch.getCount());
+		assertEquals(chunkCount * 2, received.get());
+	}
+
 	@Test
 	public void rejectConnection() throws Exception {
 		final String channelName = "rejectConnectionTest";
@@ -0,0 +1,138 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.openfin.desktop.demo.JsonMergePatch;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * JUnit tests for JSON merge patches made by JsonMergePatch
+ */
+public class JsonMergePatchTest {
+
+	private static JSONObject grid(int rows) {
+		JSONArray data = new JSONArray();
+		for (int i = 0; i < rows; i++) {
+			data.put(new JSONObject().put("id", i).put("price", i * 1.5));
+		}
+		return new JSONObject().put("columns", new JSONObject().put("id", 80).put("price", 120))
+				.put("sort", "id").put("rows", data);
+	}
+
+	private static void assertSimilar(JSONObject expected, JSONObject actual) {
+		// through text, so 1.0 and 1 compare equal
+		assertTrue(new JSONObject(expected.toString()).similar(new JSONObject(actual.toString())));
+	}
+
+	@Test
+	public void equalObjectsGiveEmptyPatch() throws Exception {
+		JSONObject base = grid(10);
+		assertEquals(0, JsonMergePatch.diff(base, new JSONObject(base.toString())).length());
+	}
+
+	@Test
+	public void patchHasOnlyChangedMembers() throws Exception {
+		JSONObject base = grid(1000);
+		JSONObject target = new JSONObject(base.toString());
+		target.getJSONObject("columns").put("price", 200);
+		target.put("sort", "price");
+
+		JSONObject patch = JsonMergePatch.diff(base, target);
+		assertEquals(2, patch.length());
+		assertEquals(1, patch.getJSONObject("columns").length());
+		assertFalse(patch.has("rows"));
+		assertTrue(patch.toString().length() < target.toString().length() / 100);
+		assertSimilar(target, JsonMergePatch.apply(base, patch));
+	}
+
+	@Test
+	public void removedMembersAreNull() throws Exception {
+		JSONObject base = grid(2);
+		JSONObject target = new JSONObject(base.toString());
+		target.getJSONObject("columns").remove("price");
+		target.remove("sort");
+
+		JSONObject patch = JsonMergePatch.diff(base, target);
+		assertEquals(JSONObject.NULL, patch.get("sort"));
+		assertSimilar(target, JsonMergePatch.apply(base, patch));
+	}
+
+	@Test
+	public void applyLeavesBaseUnchanged() throws Exception {
+		JSONObject base = grid(2);
+		String before = base.toString();
+		JsonMergePatch.apply(base, new JSONObject().put("columns", new JSONObject().put("id", JSONObject.NULL)).put("sort", "price"));
+		assertEquals(before, base.toString());
+	}
+
+	@Test
+	public void changedRowPatchedByIndex() throws Exception {
+		JSONObject base = grid(1000);
+		JSONObject target = new JSONObject(base.toString());
+		target.getJSONArray("rows").getJSONObject(500).put("price", -1);
+
+		JSONObject patch = JsonMergePatch.diff(base, target);
+		JSONObject rows = patch.getJSONObject("rows");
+		assertEquals(1000, rows.getInt(JsonMergePatch.ARRAY));
+		assertEquals(2, rows.length());
+		assertEquals(1, rows.getJSONObject("500").length());
+		assertTrue(patch.toString().length() < 100);
+		assertSimilar(target, JsonMergePatch.apply(base, patch));
+	}
+
+	@Test
+	public void rowsAddedAndRemoved() throws Exception {
+		JSONObject base = grid(10);
+		JSONObject shorter = new JSONObject(base.toString());
+		shorter.getJSONArray("rows").remove(9);
+		JSONObject patch = JsonMergePatch.diff(base, shorter);
+		assertEquals(1, patch.getJSONObject("rows").length());
+		assertSimilar(shorter, JsonMergePatch.apply(base, patch));
+
+		JSONObject longer = new JSONObject(base.toString());
+		longer.getJSONArray("rows").put(new JSONObject().put("id", 10).put("price", 15)).put(new JSONArray().put(1));
+		patch = JsonMergePatch.diff(base, longer);
+		assertEquals(3, patch.getJSONObject("rows").length());
+		assertSimilar(longer, JsonMergePatch.apply(base, patch));
+	}
+
+	@Test
+	public void nestedArraysPatchedByIndex() throws Exception {
+		JSONObject base = new JSONObject().put("cells", new JSONArray().put(new JSONArray().put(1).put(2)).put(new JSONArray().put(3).put(4)));
+		JSONObject target = new JSONObject(base.toString());
+		target.getJSONArray("cells").getJSONArray(1).put(1, 5);
+
+		JSONObject patch = JsonMergePatch.diff(base, target);
+		assertEquals(5, patch.getJSONObject("cells").getJSONObject("1").getInt("1"));
+		assertSimilar(target, JsonMergePatch.apply(base, patch));
+	}
+
+	@Test
+	public void arrayReplacedWholeWhenNoElementKept() throws Exception {
+		JSONObject base = grid(3);
+		JSONObject target = new JSONObject(base.toString()).put("rows", new JSONArray().put(7).put(JSONObject.NULL));
+
+		JSONObject patch = JsonMergePatch.diff(base, target);
+		assertTrue(patch.get("rows") instanceof JSONArray);
+		assertSimilar(target, JsonMergePatch.apply(base, patch));
+	}
+
+	@Test
+	public void arrayMarkerInTargetCannotBePatched() throws Exception {
+		JSONObject base = grid(2);
+		JSONObject target = new JSONObject(base.toString()).put("sort", new JSONObject().put(JsonMergePatch.ARRAY, 1));
+		assertNull(JsonMergePatch.diff(base, target));
+	}
+
+	@Test
+	public void nullInTargetCannotBePatched() throws Exception {
+		JSONObject base = grid(2);
+		JSONObject target = new JSONObject(base.toString()).put("sort", JSONObject.NULL);
+		assertNull(JsonMergePatch.diff(base, target));
+	}
+}
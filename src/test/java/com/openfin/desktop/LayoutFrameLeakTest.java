@@ -0,0 +1,109 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import com.openfin.desktop.demo.ChannelClientRegistry;
+import com.openfin.desktop.demo.LayoutFrame;
+import com.openfin.desktop.demo.ListenerTracker;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JUnit tests for listeners and channel clients released by LayoutFrame
+ */
+public class LayoutFrameLeakTest {
+	private static Logger logger = LoggerFactory.getLogger(LayoutFrameLeakTest.class.getName());
+
+	private static final String DESKTOP_UUID = LayoutFrameLeakTest.class.getName();
+	private static DesktopConnection desktopConnection;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		logger.debug("starting");
+		desktopConnection = TestUtils.setupConnection(DESKTOP_UUID);
+	}
+
+	@AfterClass
+	public static void teardown() throws Exception {
+		TestUtils.teardownDesktopConnection(desktopConnection);
+	}
+
+	/**
+	 * Count the event listeners the adapter holds for a connection.  Unlike ListenerTracker this also sees listeners
+	 * added without the tracker, and ones the tracker forgot while the adapter kept them.
+	 */
+	private static int adapterListenerCount(DesktopConnection connection) throws Exception {
+		int count = 0;
+		for (String name : new String[] { "applicationEventCallbackMap", "systemEventCallbackMap", "webContentEventCallbackMap" }) {
+			Field field = DesktopConnection.class.getDeclaredField(name);
+			field.setAccessible(true);
+			count += countListeners(field.get(connection));
+		}
+		return count;
+	}
+
+	private static int countListeners(Object value) {
+		if (value instanceof Map) {
+			int count = 0;
+			for (Object nested : ((Map<?, ?>) value).values()) {
+				count += countListeners(nested);
+			}
+			return count;
+		}
+		return value instanceof Collection ? ((Collection<?>) value).size() : 0;
+	}
+
+	@Test
+	public void openCloseFrames() throws Exception {
+		final int frameCount = 1000;
+		ListenerTracker tracker = ListenerTracker.getInstance(desktopConnection);
+		int listenersBefore = tracker.getActiveCount();
+		int adapterListenersBefore = adapterListenerCount(desktopConnection);
+		int registriesBefore = ChannelClientRegistry.getRegistryCount();
+		long leaksBefore = tracker.getLeakCount();
+
+		for (int i = 0; i < frameCount; i++) {
+			String windowName = "LayoutFrameLeakTest-" + i;
+			AtomicReference<LayoutFrame> frameRef = new AtomicReference<>();
+			SwingUtilities.invokeAndWait(() -> {
+				try {
+					frameRef.set(new LayoutFrame(desktopConnection, DESKTOP_UUID, windowName));
+				} catch (DesktopException e) {
+					logger.error("Error creating frame", e);
+				}
+			});
+			SwingUtilities.invokeAndWait(() -> {
+				frameRef.get().cleanup();
+				frameRef.get().dispose();
+			});
+			if (i % 100 == 0) {
+				tracker.sampleCount();
+			}
+		}
+		tracker.sampleCount();
+
+		for (long[] count : tracker.getCounts()) {
+			assertEquals(listenersBefore, count[1]);
+		}
+		assertEquals(listenersBefore, tracker.getActiveCount());
+		assertEquals(leaksBefore, tracker.getLeakCount());
+		// removes are sent without waiting for their acks, give the adapter time to drop the last ones
+		long deadline = java.lang.System.currentTimeMillis() + 10000;
+		while (adapterListenerCount(desktopConnection) > adapterListenersBefore && java.lang.System.currentTimeMillis() < deadline) {
+			Thread.sleep(100);
+		}
+		assertEquals(adapterListenersBefore, adapterListenerCount(desktopConnection));
+		// every frame's layout service client was released along with its registry
+		assertEquals(registriesBefore, ChannelClientRegistry.getRegistryCount());
+	}
+}
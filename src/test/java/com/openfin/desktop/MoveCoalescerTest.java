@@ -0,0 +1,75 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.SwingUtilities;
+
+import com.openfin.desktop.demo.MoveCoalescer;
+import org.junit.Test;
+
+/**
+ * JUnit tests for coalescing and flush of MoveCoalescer
+ */
+public class MoveCoalescerTest {
+
+	private final List<Integer> moved = new CopyOnWriteArrayList<>();  // left of each forwarded move
+
+	private static WindowBounds bounds(int left) {
+		return new WindowBounds(0, left, 100, 100);
+	}
+
+	@Test
+	public void latestMoveForwardedOnFlush() throws Exception {
+		MoveCoalescer coalescer = new MoveCoalescer(10000, (bounds, point) -> moved.add(bounds.getLeft()));
+		SwingUtilities.invokeAndWait(() -> {
+			for (int i = 0; i < 50; i++) {
+				coalescer.offer(bounds(i), new Point(i, 0));
+			}
+			coalescer.flush();
+		});
+
+		assertEquals(2, moved.size());
+		assertEquals(0, (int) moved.get(0));
+		assertEquals(49, (int) moved.get(1));
+		assertEquals(50, coalescer.getReceivedCount());
+		assertEquals(2, coalescer.getForwardedCount());
+	}
+
+	@Test
+	public void flushWithoutPendingMoveForwardsNothing() throws Exception {
+		MoveCoalescer coalescer = new MoveCoalescer(10000, (bounds, point) -> moved.add(bounds.getLeft()));
+		SwingUtilities.invokeAndWait(() -> {
+			coalescer.offer(bounds(1), new Point());
+			coalescer.flush();
+			coalescer.flush();
+		});
+
+		assertEquals(1, moved.size());
+		assertEquals(1, coalescer.getForwardedCount());
+	}
+
+	@Test
+	public void latestMoveForwardedWhenIntervalEnds() throws Exception {
+		MoveCoalescer coalescer = new MoveCoalescer(20, (bounds, point) -> moved.add(bounds.getLeft()));
+		SwingUtilities.invokeAndWait(() -> {
+			coalescer.offer(bounds(1), new Point());
+			coalescer.offer(bounds(2), new Point());
+			coalescer.offer(bounds(3), new Point());
+		});
+		for (int i = 0; i < 100 && moved.size() < 2; i++) {
+			Thread.sleep(10);
+		}
+		// an idle interval stops the timer, so the next move goes out right away
+		Thread.sleep(200);
+		SwingUtilities.invokeAndWait(() -> coalescer.offer(bounds(4), new Point()));
+
+		assertEquals(3, moved.size());
+		assertEquals(1, (int) moved.get(0));
+		assertEquals(3, (int) moved.get(1));
+		assertEquals(4, (int) moved.get(2));
+	}
+}
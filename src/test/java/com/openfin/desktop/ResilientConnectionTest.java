@@ -0,0 +1,124 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.openfin.desktop.demo.ResilientConnection;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * JUnit tests for replay and re-subscribe of ResilientConnection across a reconnect
+ */
+public class ResilientConnectionTest {
+
+	private static final String DESKTOP_UUID = ResilientConnectionTest.class.getName();
+	private static DesktopConnection desktopConnection;  // observes what the resilient connection publishes
+
+	private final String uuid = UUID.randomUUID().toString();
+	private final String topic = UUID.randomUUID().toString();
+	private ResilientConnection connection;
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		desktopConnection = TestUtils.setupConnection(DESKTOP_UUID);
+	}
+
+	@AfterClass
+	public static void teardown() throws Exception {
+		TestUtils.teardownDesktopConnection(desktopConnection);
+	}
+
+	@Before
+	public void start() throws Exception {
+		RuntimeConfiguration configuration = new RuntimeConfiguration();
+		configuration.setRuntimeVersion(TestUtils.getRuntimeVersion());
+		connection = new ResilientConnection(uuid, configuration, 100);
+		connection.getManager().setReconnectDelay(100, 1000);
+		connection.start();
+		connection.getManager().getConnection().get(60, TimeUnit.SECONDS);
+	}
+
+	@After
+	public void stop() {
+		connection.stop();
+	}
+
+	private void subscribe(DesktopConnection connection, String sourceUuid, String topic, BusListener listener) throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		connection.getInterApplicationBus().subscribe(sourceUuid, topic, listener, new AckListener() {
+			@Override
+			public void onSuccess(Ack ack) {
+				latch.countDown();
+			}
+			@Override
+			public void onError(Ack ack) {
+			}
+		});
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+	}
+
+	private void dropAndWaitForReconnect(Runnable whileDown) throws Exception {
+		long reconnects = connection.getReconnectCount();
+		connection.getDesktopConnection().disconnect();
+		whileDown.run();
+		for (int i = 0; i < 300 && connection.getReconnectCount() == reconnects; i++) {
+			Thread.sleep(100);
+		}
+		assertEquals(reconnects + 1, connection.getReconnectCount());
+	}
+
+	@Test
+	public void publishesReplayedInOrder() throws Exception {
+		List<Object> received = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(4);
+		subscribe(desktopConnection, uuid, topic, (sourceUuid, receivingTopic, payload) -> {
+			received.add(payload);
+			latch.countDown();
+		});
+		connection.publish(topic, "1");
+		// published right after the drop, before it is found lost
+		dropAndWaitForReconnect(() -> {
+			connection.publish(topic, "2");
+			connection.publish(topic, "3");
+		});
+		connection.publish(topic, "4");
+
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("1", "2", "3", "4"), received);
+		assertEquals(0, connection.getDroppedCount());
+		assertEquals(0, connection.getBufferedCount());
+	}
+
+	@Test
+	public void subscribedAgainAfterReconnect() throws Exception {
+		CountDownLatch before = new CountDownLatch(1);
+		CountDownLatch after = new CountDownLatch(1);
+		connection.subscribe(DESKTOP_UUID, topic, (sourceUuid, receivingTopic, payload) -> before.countDown());
+		TestUtils.pause(500);
+		desktopConnection.getInterApplicationBus().publish(topic, "before");
+		assertTrue(before.await(5, TimeUnit.SECONDS));
+
+		// subscribed while the connection is down
+		dropAndWaitForReconnect(() -> {
+			try {
+				connection.subscribe(DESKTOP_UUID, topic, (sourceUuid, receivingTopic, payload) -> after.countDown());
+			} catch (DesktopException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		TestUtils.pause(500);
+		desktopConnection.getInterApplicationBus().publish(topic, "after");
+		assertTrue(after.await(5, TimeUnit.SECONDS));
+	}
+}
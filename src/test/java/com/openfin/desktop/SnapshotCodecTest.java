@@ -0,0 +1,67 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.openfin.desktop.demo.SnapshotCodec;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * JUnit tests for compressing and chunking snapshots with SnapshotCodec
+ */
+public class SnapshotCodecTest {
+
+	private static JSONObject snapshot(int rows) {
+		JSONArray data = new JSONArray();
+		for (int i = 0; i < rows; i++) {
+			data.put(new JSONObject().put("id", i).put("symbol", "AAPL").put("qty", 100 * (i % 7)));
+		}
+		return new JSONObject().put("rows", data).put("title", "Blotter \u00e9\u4e2d");
+	}
+
+	@Test
+	public void roundTrip() throws Exception {
+		SnapshotCodec codec = new SnapshotCodec(1, 1024, 0);
+		JSONObject snapshot = snapshot(5000);
+		List<String> chunks = codec.encode(snapshot);
+		assertTrue(chunks.size() > 1);
+		assertEquals(snapshot.toString(), codec.decode(chunks.iterator()).toString());
+		assertEquals(snapshot.toString().getBytes("UTF-8").length, codec.getRawBytes());
+		assertTrue(codec.getRatio() < 0.5);
+		assertEquals(1, codec.getDecodeLatency().getCount());
+	}
+
+	@Test
+	public void chunksHoldAtMostChunkSizeBytes() throws Exception {
+		SnapshotCodec codec = new SnapshotCodec(9, 100, 0);
+		List<String> chunks = codec.encode(snapshot(2000));
+		long total = 0;
+		for (String chunk : chunks) {
+			int bytes = java.util.Base64.getDecoder().decode(chunk).length;
+			assertTrue(bytes <= 100);
+			total += bytes;
+		}
+		assertEquals(codec.getEncodedBytes(), total);
+		assertEquals(chunks.size(), codec.getChunkCount());
+	}
+
+	@Test
+	public void smallMessagesAreNotEncoded() throws Exception {
+		SnapshotCodec codec = new SnapshotCodec(1, 1024, 100);
+		assertFalse(codec.shouldEncode(snapshot(1).toString()));
+		assertTrue(codec.shouldEncode(snapshot(10).toString()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void corruptChunksFail() throws Exception {
+		SnapshotCodec codec = new SnapshotCodec(1, 1024, 0);
+		List<String> chunks = codec.encode(snapshot(100));
+		codec.decode(Arrays.asList("AAAAAAAA", chunks.get(0)).iterator());
+	}
+}
@@ -1,6 +1,11 @@
 package com.openfin.desktop;
 
+import com.openfin.desktop.demo.DeltaSnapshotClient;
+import com.openfin.desktop.demo.DeltaSnapshotProvider;
+import com.openfin.desktop.demo.SnapshotAggregator;
+import com.openfin.desktop.demo.SnapshotCodec;
 import com.openfin.desktop.snapshot.SnapshotSourceProvider;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -13,6 +18,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class SnapshotTest implements SnapshotSourceProvider {
 
@@ -104,6 +110,147 @@ public class SnapshotTest implements SnapshotSourceProvider {
         assertEquals("initProviderThenCreateClientThenGetSnapshot timeout", latch.getCount(), 0);
     }
 
+    @Test
+    public void aggregateSnapshotsOfProviders() throws Exception {
+        final String[] appUuids = { "aggregateSnapshotsOfProviders1", "aggregateSnapshotsOfProviders2" };
+        final String missingUuid = "aggregateSnapshotsOfProvidersMissing";
+        for (String appUuid : appUuids) {
+            SnapshotSourceProvider provider = new SnapshotSourceProvider() {
+                private JSONObject snapshot = new JSONObject().put("uuid", appUuid);
+                @Override
+                public JSONObject getSnapshot() {
+                    return snapshot;
+                }
+                @Override
+                public void applySnapshot(JSONObject snapshot) {
+                    this.snapshot = snapshot;
+                }
+            };
+            desktopConnection.getSnapshotSource().initSnapshotSourceProviderAsync(appUuid, provider)
+                    .toCompletableFuture().get(5, TimeUnit.SECONDS);
+        }
+
+        SnapshotAggregator aggregator = new SnapshotAggregator(desktopConnection, 2000);
+        aggregator.add(appUuids[0]).add(appUuids[1]).add(missingUuid);
+        SnapshotAggregator.Result result = aggregator.getSnapshotAsync().get(10, TimeUnit.SECONDS);
+        result.log();
+        JSONObject snapshots = result.getSnapshot().getJSONObject("snapshots");
+        assertEquals(2, snapshots.length());
+        for (String appUuid : appUuids) {
+            assertEquals(appUuid, snapshots.getJSONObject(appUuid).getString("uuid"));
+        }
+        assertEquals(3, result.getMillis().size());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey(missingUuid));
+
+        snapshots.getJSONObject(appUuids[0]).put("value", 1);
+        snapshots.getJSONObject(appUuids[1]).put("value", 2);
+        SnapshotAggregator.Result applied = aggregator.applySnapshotAsync(result.getSnapshot()).get(10, TimeUnit.SECONDS);
+        assertTrue(applied.isComplete());
+        JSONObject restored = aggregator.getSnapshotAsync().get(10, TimeUnit.SECONDS).getSnapshot().getJSONObject("snapshots");
+        assertEquals(1, restored.getJSONObject(appUuids[0]).getInt("value"));
+        assertEquals(2, restored.getJSONObject(appUuids[1]).getInt("value"));
+        aggregator.close();
+    }
+
+    @Test
+    public void deltaSnapshotsAfterFirst() throws Exception {
+        final String appUuid = "deltaSnapshotsAfterFirst";
+        final JSONObject rows = new JSONObject();
+        for (int i = 0; i < 1000; i++) {
+            rows.put("row" + i, new JSONObject().put("price", i));
+        }
+        final JSONObject state = new JSONObject().put("rows", rows);
+        DeltaSnapshotProvider provider = new DeltaSnapshotProvider(new SnapshotSourceProvider() {
+            @Override
+            public JSONObject getSnapshot() {
+                return state;
+            }
+            @Override
+            public void applySnapshot(JSONObject snapshot) {
+            }
+        }, 4).initAsync(desktopConnection, appUuid).get(5, TimeUnit.SECONDS);
+        DeltaSnapshotClient client = DeltaSnapshotClient.createAsync(desktopConnection, appUuid).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1000, client.getSnapshotAsync().get(5, TimeUnit.SECONDS).getJSONObject("rows").length());
+        client.getSnapshotAsync().get(5, TimeUnit.SECONDS);
+        rows.getJSONObject("row500").put("price", -1);
+        JSONObject snapshot = client.getSnapshotAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(-1, snapshot.getJSONObject("rows").getJSONObject("row500").getInt("price"));
+        assertEquals(1, provider.getFullCount());
+        assertEquals(1, provider.getUnchangedCount());
+        assertEquals(1, provider.getDeltaCount());
+        assertEquals(1, client.getDeltaCount());
+    }
+
+    @Test
+    public void deltaSnapshotsOfArrayRows() throws Exception {
+        final String appUuid = "deltaSnapshotsOfArrayRows";
+        final JSONArray rows = new JSONArray();
+        for (int i = 0; i < 1000; i++) {
+            rows.put(new JSONObject().put("id", i).put("price", i));
+        }
+        final JSONObject state = new JSONObject().put("rows", rows);
+        DeltaSnapshotProvider provider = new DeltaSnapshotProvider(new SnapshotSourceProvider() {
+            @Override
+            public JSONObject getSnapshot() {
+                return state;
+            }
+            @Override
+            public void applySnapshot(JSONObject snapshot) {
+            }
+        }, 4).initAsync(desktopConnection, appUuid).get(5, TimeUnit.SECONDS);
+        DeltaSnapshotClient client = DeltaSnapshotClient.createAsync(desktopConnection, appUuid).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1000, client.getSnapshotAsync().get(5, TimeUnit.SECONDS).getJSONArray("rows").length());
+        rows.getJSONObject(500).put("price", -1);
+        rows.put(new JSONObject().put("id", 1000).put("price", 1000));
+        JSONObject snapshot = client.getSnapshotAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1001, snapshot.getJSONArray("rows").length());
+        assertEquals(-1, snapshot.getJSONArray("rows").getJSONObject(500).getInt("price"));
+        assertEquals(1000, snapshot.getJSONArray("rows").getJSONObject(1000).getInt("id"));
+        assertEquals(1, provider.getFullCount());
+        assertEquals(1, provider.getDeltaCount());
+        assertEquals(1, client.getDeltaCount());
+    }
+
+    @Test
+    public void compressedSnapshotTransfer() throws Exception {
+        final String appUuid = "compressedSnapshotTransfer";
+        final JSONObject rows = new JSONObject();
+        for (int i = 0; i < 10000; i++) {
+            rows.put("row" + i, new JSONObject().put("symbol", "AAPL").put("price", i));
+        }
+        final JSONObject state = new JSONObject().put("rows", rows);
+        SnapshotCodec codec = new SnapshotCodec(1, 16 * 1024, 64 * 1024);
+        DeltaSnapshotProvider provider = new DeltaSnapshotProvider(new SnapshotSourceProvider() {
+            @Override
+            public JSONObject getSnapshot() {
+                return state;
+            }
+            @Override
+            public void applySnapshot(JSONObject snapshot) {
+            }
+        }, 4, codec).initAsync(desktopConnection, appUuid).get(5, TimeUnit.SECONDS);
+        DeltaSnapshotClient client = DeltaSnapshotClient.createAsync(desktopConnection, appUuid).get(5, TimeUnit.SECONDS);
+
+        JSONObject snapshot = client.getSnapshotAsync().get(10, TimeUnit.SECONDS);
+        logger.info(String.format("Compressed snapshot transfer: %s", codec));
+
+        assertEquals(10000, snapshot.getJSONObject("rows").length());
+        assertEquals(1, provider.getCompressedCount());
+        assertTrue(codec.getChunkCount() > 1);
+        assertEquals(1, client.getCodec().getDecodeLatency().getCount());
+
+        // a small patch goes as it is
+        rows.getJSONObject("row42").put("price", -1);
+        snapshot = client.getSnapshotAsync().get(10, TimeUnit.SECONDS);
+        assertEquals(-1, snapshot.getJSONObject("rows").getJSONObject("row42").getInt("price"));
+        assertEquals(1, provider.getCompressedCount());
+    }
+
     @Override
     public JSONObject getSnapshot() {
         if (this.randomSnapshot != null) {
@@ -0,0 +1,34 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+
+import com.openfin.desktop.demo.StatusLogModel;
+import org.junit.Test;
+
+/**
+ * JUnit tests for line retention of StatusLogModel
+ */
+public class StatusLogModelTest {
+
+	@Test
+	public void newestFirst() throws Exception {
+		StatusLogModel model = new StatusLogModel(10, 30);
+		model.append("one");
+		model.append("two");
+		model.append("three");
+		assertEquals("three\ntwo\none\n", model.getText());
+		assertEquals(0, model.getDroppedCount());
+	}
+
+	@Test
+	public void oldestDroppedWhenFull() throws Exception {
+		StatusLogModel model = new StatusLogModel(3, 30);
+		for (int i = 0; i < 10; i++) {
+			model.append("line" + i);
+		}
+		assertEquals(3, model.getLineCount());
+		assertEquals(7, model.getDroppedCount());
+		assertEquals(10, model.getAppendedCount());
+		assertEquals("line9\nline8\nline7\n", model.getText());
+	}
+}
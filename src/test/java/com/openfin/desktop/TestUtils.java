@@ -8,6 +8,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.openfin.desktop.demo.WindowBoundsBatch;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -366,21 +367,8 @@ public class TestUtils {
     }
 
     public static void moveWindowBy(Window window, int deltaLeft, int deltaTop) throws Exception {
-        CountDownLatch latch = new CountDownLatch(1);
-        window.moveBy(deltaLeft, deltaTop, new AckListener() {
-            @Override
-            public void onSuccess(Ack ack) {
-                if (ack.isSuccessful()) {
-                    latch.countDown();
-                }
-            }
-            @Override
-            public void onError(Ack ack) {
-                logger.error(String.format("onError %s", ack.getReason()));
-            }
-        });
-        latch.await(5, TimeUnit.SECONDS);
-        assertEquals(latch.getCount(), 0);
+        int moved = new WindowBoundsBatch().moveBy(window, deltaLeft, deltaTop).apply().get(5, TimeUnit.SECONDS);
+        assertEquals(1, moved);
     }
 
     /**
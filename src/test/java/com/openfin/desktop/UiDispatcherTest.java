@@ -0,0 +1,82 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.openfin.desktop.demo.UiDispatcher;
+import org.junit.Test;
+
+/**
+ * JUnit tests for batching and coalescing of UiDispatcher
+ */
+public class UiDispatcherTest {
+
+	/**
+	 * Dispatcher whose batches run when the test says so
+	 */
+	private static class ManualDispatcher extends UiDispatcher {
+		final List<Runnable> scheduled = new ArrayList<>();
+
+		ManualDispatcher() {
+			super("manual");
+		}
+
+		@Override
+		public boolean isUiThread() {
+			return true;
+		}
+
+		@Override
+		protected void schedule(Runnable batch) {
+			scheduled.add(batch);
+		}
+
+		void runScheduled() {
+			List<Runnable> batches = new ArrayList<>(scheduled);
+			scheduled.clear();
+			batches.forEach(Runnable::run);
+		}
+	}
+
+	@Test
+	public void latestWinsPerKey() throws Exception {
+		ManualDispatcher dispatcher = new ManualDispatcher();
+		List<String> applied = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			String value = "undock" + i;
+			dispatcher.dispatch("undock", () -> applied.add(value));
+		}
+		dispatcher.dispatch(() -> applied.add("once"));
+		assertEquals(1, dispatcher.scheduled.size());
+		dispatcher.runScheduled();
+
+		assertEquals(2, applied.size());
+		assertEquals("undock99", applied.get(0));
+		assertEquals("once", applied.get(1));
+		assertEquals(101, dispatcher.getReceivedCount());
+		assertEquals(2, dispatcher.getAppliedCount());
+		assertEquals(99, dispatcher.getCoalescedCount());
+		assertEquals(2, dispatcher.getLatency().getCount());
+	}
+
+	@Test
+	public void unkeyedWorkKeptInOrder() throws Exception {
+		ManualDispatcher dispatcher = new ManualDispatcher();
+		List<Integer> applied = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			int value = i;
+			dispatcher.dispatch(() -> applied.add(value));
+		}
+		dispatcher.runScheduled();
+		dispatcher.dispatch(() -> applied.add(10));
+		dispatcher.runScheduled();
+
+		assertEquals(11, applied.size());
+		for (int i = 0; i < applied.size(); i++) {
+			assertEquals(i, applied.get(i).intValue());
+		}
+		assertEquals(2, dispatcher.getBatchCount());
+	}
+}
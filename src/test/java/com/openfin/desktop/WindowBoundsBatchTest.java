@@ -0,0 +1,105 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.openfin.desktop.demo.LatencyHistogram;
+import com.openfin.desktop.demo.OpenFinFutures;
+import com.openfin.desktop.demo.WindowBoundsBatch;
+
+/**
+ * Benchmark of WindowBoundsBatch against one setBounds call at a time.
+ *
+ * Number of windows and rounds can be changed with
+ *      -Dcom.openfin.desktop.WindowBoundsBatchTest.windows=20
+ *      -Dcom.openfin.desktop.WindowBoundsBatchTest.rounds=20
+ *
+ * This test is not included in AllTests.java
+ */
+public class WindowBoundsBatchTest {
+	private static Logger logger = LoggerFactory.getLogger(WindowBoundsBatchTest.class.getName());
+
+	private static final String DESKTOP_UUID = WindowBoundsBatchTest.class.getName();
+	private static DesktopConnection desktopConnection;
+	private static Application application;
+	private static List<Window> windows = new ArrayList<>();
+
+	@BeforeClass
+	public static void setup() throws Exception {
+		logger.debug("starting");
+		desktopConnection = TestUtils.setupConnection(DESKTOP_UUID);
+		application = TestUtils.runApplication(TestUtils.getAppOptions(null), desktopConnection);
+		int count = Integer.getInteger("com.openfin.desktop.WindowBoundsBatchTest.windows", 20);
+		windows.add(application.getWindow());
+		for (int i = 1; i < count; i++) {
+			windows.add(TestUtils.createChildWindow(application, TestUtils.getWindowOptions("child" + i, TestUtils.openfin_app_url), desktopConnection));
+		}
+	}
+
+	@AfterClass
+	public static void teardown() throws Exception {
+		TestUtils.closeApplication(application);
+		TestUtils.teardownDesktopConnection(desktopConnection);
+	}
+
+	/**
+	 * Bounds of window i in round r, tiled in a grid that shifts every round
+	 */
+	private static WindowBounds bounds(int i, int round) {
+		return new WindowBounds(50 + (i / 5) * 160, 50 + (i % 5) * 160 + (round % 2) * 20, 150, 150);
+	}
+
+	@Test
+	public void batchVersusSequential() throws Exception {
+		int rounds = Integer.getInteger("com.openfin.desktop.WindowBoundsBatchTest.rounds", 20);
+		LatencyHistogram sequential = new LatencyHistogram("sequential setBounds x" + windows.size());
+		LatencyHistogram batched = new LatencyHistogram("WindowBoundsBatch x" + windows.size());
+
+		for (int round = 0; round < rounds; round++) {
+			long start = java.lang.System.nanoTime();
+			for (int i = 0; i < windows.size(); i++) {
+				WindowBounds b = bounds(i, round);
+				OpenFinFutures.setBounds(windows.get(i), b.getLeft(), b.getTop(), b.getWidth(), b.getHeight()).get(5, TimeUnit.SECONDS);
+			}
+			sequential.record(java.lang.System.nanoTime() - start);
+
+			start = java.lang.System.nanoTime();
+			WindowBoundsBatch batch = new WindowBoundsBatch();
+			for (int i = 0; i < windows.size(); i++) {
+				batch.setBounds(windows.get(i), bounds(i, round + 1));
+			}
+			assertEquals(windows.size(), batch.apply().get(5, TimeUnit.SECONDS).intValue());
+			batched.record(java.lang.System.nanoTime() - start);
+		}
+		logger.info(sequential.toString());
+		logger.info(batched.toString());
+
+		for (int i = 0; i < windows.size(); i++) {
+			WindowBounds expected = bounds(i, rounds);
+			WindowBounds actual = TestUtils.getBounds(windows.get(i));
+			assertEquals(expected.getLeft(), actual.getLeft());
+			assertEquals(expected.getTop(), actual.getTop());
+		}
+	}
+
+	@Test
+	public void lastChangeWins() throws Exception {
+		Window window = windows.get(0);
+		WindowBounds before = TestUtils.getBounds(window);
+		int applied = new WindowBoundsBatch()
+				.moveBy(window, 500, 500)
+				.setBounds(window, new WindowBounds(before.getTop(), before.getLeft() + 10, before.getWidth(), before.getHeight()))
+				.apply().get(5, TimeUnit.SECONDS);
+		assertEquals(1, applied);
+		assertEquals(before.getLeft() + 10, TestUtils.getBounds(window).getLeft().intValue());
+	}
+}
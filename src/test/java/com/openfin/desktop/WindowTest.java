@@ -21,6 +21,7 @@ import com.openfin.desktop.animation.AnimationTransitions;
 import com.openfin.desktop.animation.OpacityTransition;
 import com.openfin.desktop.animation.PositionTransition;
 import com.openfin.desktop.animation.SizeTransition;
+import com.openfin.desktop.demo.WindowStateCache;
 
 /**
  * Created by wche on 1/25/16.
@@ -703,4 +704,28 @@ public class WindowTest {
 		latch.await(10, TimeUnit.SECONDS);
 		assertEquals("reload test timeout", 0, latch.getCount());
 	}
+
+	@Test
+	public void stateCacheFollowsEvents() throws Exception {
+		Application application = TestUtils.runApplication(TestUtils.getAppOptions(null), desktopConnection);
+		Window window = application.getWindow();
+		WindowStateCache cache = WindowStateCache.getInstance(desktopConnection);
+		WindowBounds before = cache.getBounds(window).get(5, TimeUnit.SECONDS);
+		long misses = cache.getMissCount();
+
+		TestUtils.moveWindowBy(window, 10, 20);
+
+		// poll the cache, a listener of the test could see bounds-changed before the cache's own listener does
+		WindowBounds after = cache.getBounds(window).get(5, TimeUnit.SECONDS);
+		long deadline = java.lang.System.currentTimeMillis() + 5000;
+		while (after.getLeft().equals(before.getLeft()) && java.lang.System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			after = cache.getBounds(window).get(5, TimeUnit.SECONDS);
+		}
+		assertEquals("bounds read from cache", misses, cache.getMissCount());
+		assertEquals(before.getLeft() + 10, after.getLeft().intValue());
+		assertEquals(before.getTop() + 20, after.getTop().intValue());
+
+		TestUtils.closeApplication(application);
+	}
 }
@@ -0,0 +1,120 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.openfin.desktop.demo.WorkspaceAutosave;
+import com.openfin.desktop.demo.WorkspaceStore;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit tests for debouncing and change detection of WorkspaceAutosave
+ */
+public class WorkspaceAutosaveTest {
+
+	private Path directory;
+	private WorkspaceStore store;
+	private final AtomicInteger generated = new AtomicInteger();
+	private volatile int version = 1;
+
+	@Before
+	public void setup() throws Exception {
+		directory = Files.createTempDirectory("WorkspaceAutosaveTest");
+		store = new WorkspaceStore(directory, 5);
+	}
+
+	@After
+	public void teardown() throws Exception {
+		Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+	}
+
+	private CompletableFuture<JSONObject> generate() {
+		generated.incrementAndGet();
+		return CompletableFuture.completedFuture(new JSONObject().put("type", "workspace").put("version", version));
+	}
+
+	private static void waitFor(WorkspaceAutosave autosave, long captures) throws Exception {
+		for (int i = 0; i < 100 && autosave.getCaptureCount() < captures; i++) {
+			Thread.sleep(20);
+		}
+		Thread.sleep(100);
+	}
+
+	@Test
+	public void burstOfTriggersSavedOnce() throws Exception {
+		WorkspaceAutosave autosave = new WorkspaceAutosave(this::generate, store, "test", 100, 10000);
+		for (int i = 0; i < 20; i++) {
+			autosave.trigger();
+			Thread.sleep(5);
+		}
+		waitFor(autosave, 1);
+		assertEquals(1, generated.get());
+		assertEquals(1, autosave.getSaveCount());
+		assertEquals(1, store.getRevisions("test").size());
+		autosave.stop();
+	}
+
+	@Test
+	public void unchangedWorkspaceNotWritten() throws Exception {
+		WorkspaceAutosave autosave = new WorkspaceAutosave(this::generate, store, "test", 20, 1000);
+		autosave.trigger();
+		waitFor(autosave, 1);
+		autosave.trigger();
+		waitFor(autosave, 2);
+		assertEquals(1, autosave.getUnchangedCount());
+		assertEquals(1, store.getRevisions("test").size());
+
+		version = 2;
+		autosave.trigger();
+		waitFor(autosave, 3);
+		assertEquals(2, store.getRevisions("test").size());
+		assertEquals(2, store.load("test").getInt("version"));
+		autosave.stop();
+	}
+
+	@Test
+	public void latestSavedRevisionNotWrittenAgain() throws Exception {
+		store.save("test", generate().get());
+		WorkspaceAutosave autosave = new WorkspaceAutosave(this::generate, store, "test", 20, 1000);
+		autosave.trigger();
+		waitFor(autosave, 1);
+		assertEquals(1, autosave.getUnchangedCount());
+		assertEquals(1, store.getRevisions("test").size());
+		autosave.stop();
+	}
+
+	@Test
+	public void captureCompletedAfterStopDropped() throws Exception {
+		CompletableFuture<JSONObject> workspace = new CompletableFuture<>();
+		WorkspaceAutosave autosave = new WorkspaceAutosave(() -> workspace, store, "test", 20, 1000);
+		autosave.trigger();
+		waitFor(autosave, 1);
+		autosave.stop();
+		// completed on the adapter thread in the demo, must not throw there
+		workspace.complete(new JSONObject().put("type", "workspace"));
+		assertFalse(autosave.isCapturing());
+		assertEquals(0, autosave.getSaveCount());
+		assertTrue(store.getRevisions("test").isEmpty());
+	}
+
+	@Test
+	public void maxDelayBoundsDebounce() throws Exception {
+		WorkspaceAutosave autosave = new WorkspaceAutosave(this::generate, store, "test", 100, 200);
+		long start = java.lang.System.currentTimeMillis();
+		while (java.lang.System.currentTimeMillis() - start < 600) {
+			autosave.trigger();
+			Thread.sleep(20);
+		}
+		assertTrue("captures while triggers never stop", autosave.getCaptureCount() >= 2);
+		autosave.stop();
+	}
+}
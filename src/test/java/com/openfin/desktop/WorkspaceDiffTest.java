@@ -0,0 +1,101 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import com.openfin.desktop.demo.WorkspaceDiff;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * JUnit tests for comparing workspaces with WorkspaceDiff
+ */
+public class WorkspaceDiffTest {
+
+	private static JSONObject window(String uuid, String name, int left, int top) {
+		return new JSONObject().put("uuid", uuid).put("name", name)
+				.put("left", left).put("top", top).put("width", 300).put("height", 200);
+	}
+
+	private static JSONObject app(String uuid, int left, int top, JSONObject... children) {
+		return new JSONObject().put("uuid", uuid)
+				.put("mainWindow", window(uuid, uuid, left, top))
+				.put("childWindows", new JSONArray(children));
+	}
+
+	private static JSONObject workspace(JSONObject... apps) {
+		return new JSONObject().put("type", "workspace").put("apps", new JSONArray(apps)).put("tabGroups", new JSONArray());
+	}
+
+	@Test
+	public void identicalWorkspacesNeedNothing() throws Exception {
+		JSONObject saved = workspace(app("a", 0, 0), app("b", 300, 0, window("b", "child", 0, 200)));
+		WorkspaceDiff diff = WorkspaceDiff.compute(saved, new JSONObject(saved.toString()), Collections.emptySet());
+		assertTrue(diff.isEmpty());
+		assertEquals(3, diff.getUnchangedWindows());
+	}
+
+	@Test
+	public void onlyDifferencesApplied() throws Exception {
+		JSONObject saved = workspace(app("a", 0, 0), app("b", 300, 0, window("b", "child", 0, 200)), app("c", 600, 0));
+		JSONObject current = workspace(app("a", 0, 0), app("b", 300, 0, window("b", "child", 50, 250)), app("d", 0, 0),
+				app("launcher", 0, 0));
+		WorkspaceDiff diff = WorkspaceDiff.compute(saved, current, Collections.singleton("launcher"));
+
+		assertFalse(diff.isFullRestore());
+		assertEquals(1, diff.getLaunches().size());
+		assertEquals("c", diff.getLaunches().get(0).getString("uuid"));
+		assertEquals(Collections.singletonList("d"), diff.getCloses());
+		assertEquals(Collections.singleton("b/child"), diff.getBoundsChanges().keySet());
+		assertEquals(0, diff.getBoundsChanges().get("b/child").getLeft().intValue());
+		assertEquals(2, diff.getUnchangedWindows());
+	}
+
+	@Test
+	public void missingChildWindowRestoresItsApplication() throws Exception {
+		JSONObject saved = workspace(app("a", 0, 0), app("b", 300, 0, window("b", "child", 0, 200)), app("c", 600, 0));
+		saved.getJSONArray("tabGroups").put(new JSONObject().put("tabs", new JSONArray()
+				.put(new JSONObject().put("uuid", "a").put("name", "a"))));
+		JSONObject current = workspace(app("a", 0, 0), app("b", 350, 0));
+		current.put("tabGroups", new JSONArray(saved.getJSONArray("tabGroups").toString()));
+		WorkspaceDiff diff = WorkspaceDiff.compute(saved, current, Collections.emptySet());
+
+		assertFalse(diff.isFullRestore());
+		assertEquals(Collections.singletonList("b/child"), diff.getMissingWindows());
+		assertEquals(1, diff.getRestores().size());
+		assertEquals("b", diff.getRestores().get(0).getString("uuid"));
+		// the layout service positions the restored application's windows
+		assertTrue(diff.getBoundsChanges().isEmpty());
+
+		JSONObject partial = diff.getPartialWorkspace();
+		JSONArray apps = partial.getJSONArray("apps");
+		assertEquals(2, apps.length());
+		assertEquals("c", apps.getJSONObject(0).getString("uuid"));
+		assertEquals("b", apps.getJSONObject(1).getString("uuid"));
+		assertEquals(0, partial.getJSONArray("tabGroups").length());
+	}
+
+	@Test
+	public void nothingToLaunchOrRestoreHasNoPartialWorkspace() throws Exception {
+		JSONObject saved = workspace(app("a", 0, 0));
+		WorkspaceDiff diff = WorkspaceDiff.compute(saved, workspace(app("a", 50, 0)), Collections.emptySet());
+		assertNull(diff.getPartialWorkspace());
+		assertFalse(diff.isEmpty());
+	}
+
+	@Test
+	public void changedTabGroupsRestoreEverything() throws Exception {
+		JSONObject saved = workspace(app("a", 0, 0), app("b", 300, 0));
+		JSONObject current = new JSONObject(saved.toString());
+		saved.getJSONArray("tabGroups").put(new JSONObject().put("tabs", new JSONArray()
+				.put(new JSONObject().put("uuid", "a").put("name", "a"))
+				.put(new JSONObject().put("uuid", "b").put("name", "b"))));
+		WorkspaceDiff diff = WorkspaceDiff.compute(saved, current, Collections.emptySet());
+		assertTrue(diff.isFullRestore());
+	}
+}
@@ -0,0 +1,129 @@
+package com.openfin.desktop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.openfin.desktop.demo.WorkspaceStore;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit tests for saving, loading and rolling back workspaces with WorkspaceStore
+ */
+public class WorkspaceStoreTest {
+
+	private Path directory;
+
+	@Before
+	public void setup() throws Exception {
+		directory = Files.createTempDirectory("WorkspaceStoreTest");
+	}
+
+	@After
+	public void teardown() throws Exception {
+		Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+	}
+
+	private static JSONObject workspace(int apps) {
+		JSONArray list = new JSONArray();
+		for (int i = 0; i < apps; i++) {
+			list.put(new JSONObject().put("uuid", "app" + i).put("mainWindow",
+					new JSONObject().put("name", "app" + i).put("left", i * 10).put("top", 0).put("width", 300).put("height", 200)));
+		}
+		return new JSONObject().put("type", "workspace").put("apps", list);
+	}
+
+	@Test
+	public void saveAndLoad() throws Exception {
+		WorkspaceStore store = new WorkspaceStore(directory, 5);
+		JSONObject workspace = workspace(40);
+		WorkspaceStore.Revision revision = store.save("trading", workspace);
+		assertEquals(1, revision.getNumber());
+		assertTrue("compressed", revision.getLength() < workspace.toString().length());
+		assertEquals(workspace.toString(), store.load("trading").toString());
+		assertNull(store.load("missing"));
+	}
+
+	@Test
+	public void indexSurvivesReopen() throws Exception {
+		WorkspaceStore store = new WorkspaceStore(directory, 5);
+		store.save("b", workspace(1));
+		store.save("a", workspace(2));
+		store.save("../a", workspace(3));
+		store = new WorkspaceStore(directory, 5);
+		assertEquals(Arrays.asList("../a", "a", "b"), store.list());
+		assertEquals(3, store.load("../a").getJSONArray("apps").length());
+	}
+
+	@Test
+	public void historyTrimmedAndRolledBack() throws Exception {
+		WorkspaceStore store = new WorkspaceStore(directory, 3);
+		for (int i = 1; i <= 5; i++) {
+			store.save("trading", workspace(i));
+		}
+		assertEquals(3, store.getRevisions("trading").size());
+		assertEquals(3, store.getRevisions("trading").get(0).getNumber());
+
+		WorkspaceStore.Revision revision = store.rollback("trading", 3);
+		assertEquals(6, revision.getNumber());
+		assertEquals(3, store.load("trading").getJSONArray("apps").length());
+		try {
+			store.load("trading", 1);
+			fail("revision 1 should be trimmed");
+		} catch (IOException e) {
+		}
+	}
+
+	@Test
+	public void failedSaveLeavesNoEmptyWorkspace() throws Exception {
+		WorkspaceStore store = new WorkspaceStore(directory, 3);
+		// a file where the directory of the workspace goes
+		Files.createFile(directory.resolve("broken"));
+		try {
+			store.save("broken", workspace(1));
+			fail("save should fail");
+		} catch (IOException e) {
+		}
+		assertTrue(store.list().isEmpty());
+		assertNull(store.load("broken"));
+	}
+
+	@Test
+	public void failedIndexWriteKeepsOldRevisions() throws Exception {
+		WorkspaceStore store = new WorkspaceStore(directory, 2);
+		store.save("trading", workspace(1));
+		store.save("trading", workspace(2));
+		// a directory where the temporary index goes
+		Path temp = Files.createDirectory(directory.resolve("index.bin.tmp"));
+		try {
+			store.save("trading", workspace(3));
+			fail("save should fail");
+		} catch (IOException e) {
+		}
+		Files.delete(temp);
+
+		assertEquals(1, store.getRevisions("trading").get(0).getNumber());
+		assertEquals(1, store.load("trading", 1).getJSONArray("apps").length());
+		store = new WorkspaceStore(directory, 2);
+		assertEquals(2, store.getRevisions("trading").size());
+		assertEquals(2, store.load("trading").getJSONArray("apps").length());
+	}
+
+	@Test(expected = IOException.class)
+	public void corruptionDetected() throws Exception {
+		byte[] encoded = WorkspaceStore.encode(workspace(10), 0);
+		encoded[encoded.length / 2] ^= 0x55;
+		WorkspaceStore.decode(ByteBuffer.wrap(encoded));
+	}
+}